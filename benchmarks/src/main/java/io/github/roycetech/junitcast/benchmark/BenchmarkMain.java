@@ -0,0 +1,66 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.benchmark;
+
+import java.io.File;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.github.roycetech.junitcast.ParameterGenerator;
+
+/**
+ * Runs the benchmarks and writes the results as JSON, named after the
+ * benchmarked library version so that trends can be compared across releases.
+ * Accepts the usual JMH command line options, e.g. a benchmark regexp.
+ */
+public final class BenchmarkMain {
+
+	/**
+	 * Utility class.
+	 */
+	private BenchmarkMain()
+	{
+	}
+
+	/**
+	 * @param args JMH command line options.
+	 * @throws Exception when the options are invalid or a benchmark fails.
+	 */
+	public static void main(final String[] args) throws Exception
+	{
+		final CommandLineOptions commandLine = new CommandLineOptions(args);
+		if (commandLine.shouldHelp() || commandLine.shouldList()
+				|| commandLine.shouldListWithParams() || commandLine.shouldListProfilers()
+				|| commandLine.shouldListResultFormats()) {
+			Main.main(args);
+			return;
+		}
+
+		final String version = ParameterGenerator.class.getPackage().getImplementationVersion();
+		final File results = new File("target/jmh",
+				"junit-cast-" + (version == null ? "dev" : version) + ".json");
+		results.getParentFile().mkdirs();
+
+		final Options options = new OptionsBuilder().parent(commandLine)
+				.resultFormat(ResultFormatType.JSON).result(results.getPath()).build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,81 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.benchmark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.roycetech.junitcast.ParameterGenerator;
+import io.github.roycetech.junitcast.ResourceFixture;
+
+/**
+ * Loads the bundled example properties, from the resource bundle to the
+ * generated parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureLoadingBenchmark {
+
+	/** Example resource. */
+	@Param({ "WorkerTest", "MultiTypeTest", "PrimeNumberTest" })
+	private String example;
+
+	/**
+	 * @return the resource bundle URI of the example.
+	 */
+	private String resourceUri()
+	{
+		return "io.github.roycetech.junitcast.example." + this.example;
+	}
+
+	/**
+	 * Parses the resource bundle into case fixtures.
+	 *
+	 * @return the case fixtures.
+	 */
+	@Benchmark
+	public List<?> getFixtures()
+	{
+		return new ResourceFixture(resourceUri()).getFixtures();
+	}
+
+	/**
+	 * Parses the resource bundle and generates the parameters.
+	 *
+	 * @return the parameters.
+	 */
+	@Benchmark
+	public Collection<Object[]> genVarData()
+	{
+		return new ParameterGenerator<Object>().genVarData(resourceUri());
+	}
+}
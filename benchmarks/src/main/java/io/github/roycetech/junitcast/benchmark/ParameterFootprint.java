@@ -0,0 +1,90 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.github.roycetech.ruleengine.Rule;
+
+import io.github.roycetech.junitcast.CaseFixture;
+import io.github.roycetech.junitcast.ParameterGenerator;
+import io.github.roycetech.junitcast.util.RuleUtil;
+
+/**
+ * Prints the retained heap per generated parameter, with and without compact
+ * parameters. JMH measures time and allocation, not what stays reachable, so
+ * this runs on its own with a fixed heap from {@code target/benchmarks.jar},
+ * see {@code make footprint}. Each mode runs twice, the first run also loads
+ * the classes.
+ */
+public final class ParameterFootprint {
+
+	/** Number of variable groups of the case, 3^12 scenarios. */
+	private static final int GROUPS = 12;
+
+	/** Rule of the case. */
+	private static final String RULE = "HIGH:high0";
+
+	/** Number of full garbage collections before reading the used heap. */
+	private static final int COLLECTIONS = 3;
+
+	/**
+	 * Utility class.
+	 */
+	private ParameterFootprint()
+	{
+	}
+
+	/**
+	 * @param args not used.
+	 */
+	public static void main(final String[] args)
+	{
+		final List<List<String>> variables = new ArrayList<>();
+		for (int i = 0; i < GROUPS; i++) {
+			variables.add(List.of("low" + i, "mid" + i, "high" + i));
+		}
+		final Map<String, Object> ruleDefinition = RuleUtil.parseRuleDefinition(RULE);
+		final CaseFixture<String> fixture = new CaseFixture<>("footprint", variables,
+				new Rule(ruleDefinition), "HIGH:LOW").ruleDefinition(ruleDefinition);
+
+		for (final boolean compact : new boolean[] { false, true, false, true }) {
+			final long before = usedHeap();
+			final Collection<Object[]> parameters = new ParameterGenerator<String>().compact(compact)
+					.generateData(Collections.singletonList(fixture));
+			final long after = usedHeap();
+			System.out.printf("%-8s %,d parameters, %d bytes per parameter%n",
+					compact ? "compact" : "regular", parameters.size(),
+					(after - before) / parameters.size());
+		}
+	}
+
+	/**
+	 * @return the heap still in use after a few full collections.
+	 */
+	private static long usedHeap()
+	{
+		final Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < COLLECTIONS; i++) {
+			System.gc(); // NOPMD: measuring the retained heap.
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
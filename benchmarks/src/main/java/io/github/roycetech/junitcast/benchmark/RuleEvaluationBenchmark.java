@@ -0,0 +1,105 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.Lists;
+
+import io.github.roycetech.junitcast.CaseFixture;
+import io.github.roycetech.junitcast.ParameterGenerator;
+import io.github.roycetech.junitcast.ResourceFixture;
+
+/**
+ * Evaluates the rule of each example scenario, through the compiled rule or the
+ * rule engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleEvaluationBenchmark {
+
+	/** Example resource. */
+	@Param({ "WorkerTest", "MultiTypeTest", "PrimeNumberTest" })
+	private String example;
+
+	/** Evaluation path, the rule engine is used without a rule definition. */
+	@Param({ "compiled", "interpreted" })
+	private String mode;
+
+	/** Case fixtures of the example. */
+	private List<CaseFixture<Object>> fixtures;
+
+	/** Every scenario of each fixture. */
+	private List<List<List<Object>>> scenarios;
+
+	/** The generator under test. */
+	private final ParameterGenerator<Object> generator = new ParameterGenerator<>();
+
+	/**
+	 * Loads the fixtures and enumerates their scenarios.
+	 */
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setUp()
+	{
+		final List<CaseFixture<Object>> loaded = (List<CaseFixture<Object>>) new ResourceFixture(
+				"io.github.roycetech.junitcast.example." + this.example).getFixtures();
+		this.fixtures = new ArrayList<>();
+		this.scenarios = new ArrayList<>();
+		for (final CaseFixture<Object> fixture : loaded) {
+			if ("interpreted".equals(this.mode)) {
+				fixture.ruleDefinition(null);
+			}
+			this.fixtures.add(fixture);
+			this.scenarios.add(Lists.cartesianProduct(fixture.getVariables()));
+		}
+	}
+
+	/**
+	 * Validates the rule of every scenario.
+	 *
+	 * @param blackhole consumes the outcomes.
+	 */
+	@Benchmark
+	public void validateRule(final Blackhole blackhole)
+	{
+		for (int i = 0; i < this.fixtures.size(); i++) {
+			final CaseFixture<Object> fixture = this.fixtures.get(i);
+			for (final List<Object> scenario : this.scenarios.get(i)) {
+				blackhole.consume(this.generator.validateRule(scenario, fixture));
+			}
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.roycetech.junitcast.AbstractTestCase;
+import io.github.roycetech.junitcast.MockitoHelper;
+import io.github.roycetech.junitcast.Parameter;
+import io.github.roycetech.junitcast.ParameterGenerator;
+import io.github.roycetech.junitcast.example.MultiType;
+import io.github.roycetech.junitcast.example.Worker;
+
+/**
+ * Sets up the spied subject of a scenario, as done before every scenario, with
+ * a new spy each time or with the pooled spy of the thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubjectSetupBenchmark {
+
+	/** Example subject. */
+	@Param({ "Worker", "MultiType" })
+	private String subject;
+
+	/** Spy creation mode. */
+	@Param({ "fresh", "pooled" })
+	private String mode;
+
+	/** Test case of the subject. */
+	private AbstractTestCase<?, ?> testCase;
+
+	/** The helper under test. */
+	private MockitoHelper helper;
+
+	/**
+	 * Creates the test case of the subject.
+	 */
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setUp()
+	{
+		final Parameter<Object> parameter = (Parameter<Object>) new ParameterGenerator<Object>()
+				.genVarData("io.github.roycetech.junitcast.example." + this.subject + "Test")
+				.iterator().next()[0];
+		this.testCase = "Worker".equals(this.subject) ? new WorkerCase(parameter)
+				: new MultiTypeCase(parameter);
+		this.helper = new MockitoHelper().pooled("pooled".equals(this.mode));
+	}
+
+	/**
+	 * @return the spied subject.
+	 */
+	@Benchmark
+	public Object setupTargetObject()
+	{
+		this.helper.setupTargetObject(this.testCase, null);
+		return ((SubjectCase<?>) this.testCase).getSubject();
+	}
+
+	/**
+	 * Test case exposing its spied subject.
+	 *
+	 * @param <T> subject type.
+	 */
+	private abstract static class SubjectCase<T> extends AbstractTestCase<T, Object> {
+
+		/**
+		 * @param parameter a parameter of the example.
+		 */
+		SubjectCase(final Parameter<Object> parameter) {
+			super(parameter);
+		}
+
+		/**
+		 * @return the spied subject.
+		 */
+		T getSubject()
+		{
+			return getMockSubject();
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected void setupTargetObject(final List<Object> constructorParams)
+		{
+			new MockitoHelper().setupTargetObject(this, constructorParams);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected void prepare()
+		{
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		protected void execute()
+		{
+		}
+	}
+
+	/**
+	 * Test case of {@link Worker}.
+	 */
+	private static final class WorkerCase extends SubjectCase<Worker> {
+
+		/**
+		 * @param parameter a parameter of the example.
+		 */
+		WorkerCase(final Parameter<Object> parameter) {
+			super(parameter);
+		}
+	}
+
+	/**
+	 * Test case of {@link MultiType}.
+	 */
+	private static final class MultiTypeCase extends SubjectCase<MultiType> {
+
+		/**
+		 * @param parameter a parameter of the example.
+		 */
+		MultiTypeCase(final Parameter<Object> parameter) {
+			super(parameter);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.roycetech.ruleengine.Rule;
+
+import io.github.roycetech.junitcast.CaseFixture;
+import io.github.roycetech.junitcast.ParameterGenerator;
+import io.github.roycetech.junitcast.util.RuleUtil;
+
+/**
+ * Generates the parameters of a synthetic case, scaled by its number of groups
+ * and tokens per group.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SyntheticGenerationBenchmark {
+
+	/** Rule of the synthetic case. */
+	private static final String RULE = "LOW:t0_0&t1_0~MID:!(t0_0&t1_0)&(t2_1|t3_1)"
+			+ "~HIGH:!(t0_0&t1_0)&!(t2_1|t3_1)";
+
+	/**
+	 * Number of variable groups by number of tokens per group, up to 2^20 and 4^10
+	 * scenarios.
+	 */
+	@Param({ "10x2", "16x2", "20x2", "10x4" })
+	private String shape;
+
+	/** The synthetic case. */
+	private List<CaseFixture<String>> fixtures;
+
+	/**
+	 * Builds the synthetic case.
+	 */
+	@Setup
+	public void setUp()
+	{
+		final String[] size = this.shape.split("x");
+		final int groups = Integer.parseInt(size[0]);
+		final int tokens = Integer.parseInt(size[1]);
+
+		final List<List<String>> variables = new ArrayList<>();
+		for (int group = 0; group < groups; group++) {
+			final List<String> groupTokens = new ArrayList<>();
+			for (int token = 0; token < tokens; token++) {
+				groupTokens.add("t" + group + '_' + token);
+			}
+			variables.add(groupTokens);
+		}
+		final Map<String, Object> ruleDefinition = RuleUtil.parseRuleDefinition(RULE);
+		this.fixtures = Collections.singletonList(
+				new CaseFixture<>("synthetic", variables, new Rule(ruleDefinition))
+						.ruleDefinition(ruleDefinition));
+	}
+
+	/**
+	 * Generates the parameters in generation order.
+	 *
+	 * @return the parameters.
+	 */
+	@Benchmark
+	public Collection<Object[]> generateData()
+	{
+		return new ParameterGenerator<String>().generateData(this.fixtures);
+	}
+
+	/**
+	 * Generates the parameters then sorts them by display name.
+	 *
+	 * @return the sorted parameters.
+	 */
+	@Benchmark
+	public Collection<Object[]> generateDataSorted()
+	{
+		return new ParameterGenerator<String>().sorted(true).generateData(this.fixtures);
+	}
+
+	/**
+	 * Generates the parameters through truth table evaluation.
+	 *
+	 * @return the parameters.
+	 */
+	@Benchmark
+	public Collection<Object[]> generateDataTruthTable()
+	{
+		return new ParameterGenerator<String>().truthTable(true).generateData(this.fixtures);
+	}
+
+	/**
+	 * Generates compact parameters.
+	 *
+	 * @return the parameters.
+	 */
+	@Benchmark
+	public Collection<Object[]> generateDataCompact()
+	{
+		return new ParameterGenerator<String>().compact(true).generateData(this.fixtures);
+	}
+
+	/**
+	 * Streams the parameters without holding them.
+	 *
+	 * @return the number of parameters.
+	 */
+	@Benchmark
+	public long streamData()
+	{
+		return new ParameterGenerator<String>().streamData(this.fixtures, true).count();
+	}
+}
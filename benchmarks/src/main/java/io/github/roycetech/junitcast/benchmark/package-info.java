@@ -0,0 +1,22 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+/**
+ * JMH benchmarks of fixture loading, parameter generation and rule evaluation.
+ * Run with {@code mvn package && java -jar target/benchmarks.jar}, results are
+ * written as JSON under {@code target/jmh}. {@link ParameterFootprint} is run on
+ * its own, it measures the retained heap instead of time.
+ */
+package io.github.roycetech.junitcast.benchmark;
@@ -0,0 +1,232 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Precomputes the scenario table of each JUnit Cast resource of the tests, so
+ * that the test forks load it instead of parsing the resource and evaluating
+ * its rules. A {@code <Resource>Scenarios} class is generated for each table,
+ * its {@code parameters()} method returning the precomputed parameters.
+ *
+ * The tables are written to a generated test resource directory and the
+ * classes to a generated test source directory, both added to the project. The
+ * generation runs the junit-cast version found on the test classpath, and
+ * resources whose converters are not compiled yet are skipped with a warning.
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_TEST_RESOURCES,
+		requiresDependencyResolution = ResolutionScope.TEST, threadSafe = true)
+public class GenerateMojo extends AbstractMojo {
+
+	/** Class of the library that writes the tables. */
+	private static final String TABLES_CLASS = "io.github.roycetech.junitcast.ScenarioTables";
+
+	/** The project being built. */
+	@Parameter(defaultValue = "${project}", readonly = true, required = true)
+	private MavenProject project;
+
+	/**
+	 * Resource bundle URIs to precompute. By default, every properties file of
+	 * the test resource directories that defines a {@code casedesc0}.
+	 */
+	@Parameter
+	private List<String> resources;
+
+	/** Directory of the generated tables. */
+	@Parameter(defaultValue = "${project.build.directory}/generated-test-resources/junit-cast",
+			required = true)
+	private File outputDirectory;
+
+	/** Directory of the generated classes. */
+	@Parameter(defaultValue = "${project.build.directory}/generated-test-sources/junit-cast",
+			required = true)
+	private File sourceDirectory;
+
+	/** Precompute the parameters sorted by display name. */
+	@Parameter(property = "junitcast.sorted", defaultValue = "false")
+	private boolean sorted;
+
+	/** Skips the generation. */
+	@Parameter(property = "junitcast.generate.skip", defaultValue = "false")
+	private boolean skip;
+
+	@Override
+	public void execute() throws MojoExecutionException
+	{
+		if (this.skip) {
+			getLog().info("Skipping scenario table generation");
+			return;
+		}
+
+		final List<Path> resourceDirectories = new ArrayList<>();
+		for (final Resource resource : this.project.getTestResources()) {
+			final Path directory = new File(resource.getDirectory()).toPath();
+			if (Files.isDirectory(directory)) {
+				resourceDirectories.add(directory);
+			}
+		}
+
+		try (URLClassLoader loader = new URLClassLoader(classpath(resourceDirectories),
+				ClassLoader.getPlatformClassLoader())) {
+			final Class<?> tables = loadTables(loader);
+			final Method writeTable = tables.getMethod("writeTable", String.class, Path.class,
+					boolean.class);
+			final Method writeSource = tables.getMethod("writeSource", String.class, Path.class,
+					boolean.class);
+
+			int generated = 0;
+			for (final String resourceUri : this.resources == null || this.resources.isEmpty()
+					? findResources(resourceDirectories)
+					: this.resources) {
+				if (generate(loader, writeTable, writeSource, resourceUri)) {
+					generated++;
+				}
+			}
+			getLog().info("Precomputed " + generated + " scenario table(s) in " + this.outputDirectory);
+		} catch (final IOException | ReflectiveOperationException e) {
+			throw new MojoExecutionException("Scenario table generation failed", e);
+		}
+
+		final Resource generatedResources = new Resource();
+		generatedResources.setDirectory(this.outputDirectory.getAbsolutePath());
+		this.project.addTestResource(generatedResources);
+		this.project.addTestCompileSourceRoot(this.sourceDirectory.getAbsolutePath());
+	}
+
+	/**
+	 * @param resourceDirectories the test resource directories, searched first.
+	 * @return the URLs of the resource directories and of the test classpath.
+	 */
+	private URL[] classpath(final List<Path> resourceDirectories) throws MojoExecutionException
+	{
+		final List<URL> retval = new ArrayList<>();
+		try {
+			for (final Path directory : resourceDirectories) {
+				retval.add(directory.toUri().toURL());
+			}
+			for (final String element : this.project.getTestClasspathElements()) {
+				retval.add(new File(element).toURI().toURL());
+			}
+		} catch (final DependencyResolutionRequiredException | MalformedURLException e) {
+			throw new MojoExecutionException("Cannot resolve the test classpath", e);
+		}
+		return retval.toArray(new URL[0]);
+	}
+
+	/**
+	 * @param loader the test classpath loader.
+	 * @return the class that writes the tables.
+	 */
+	private static Class<?> loadTables(final ClassLoader loader) throws MojoExecutionException
+	{
+		try {
+			return loader.loadClass(TABLES_CLASS);
+		} catch (final ClassNotFoundException e) {
+			throw new MojoExecutionException(
+					"junit-cast 2.0.0 or later must be a test dependency of the project", e);
+		}
+	}
+
+	/**
+	 * Writes the table and the class of a resource, with the test classpath as
+	 * the context class loader.
+	 *
+	 * @param loader      the test classpath loader.
+	 * @param writeTable  ScenarioTables#writeTable.
+	 * @param writeSource ScenarioTables#writeSource.
+	 * @param resourceUri the resource bundle URI.
+	 * @return true when the table was written.
+	 */
+	private boolean generate(final ClassLoader loader, final Method writeTable,
+			final Method writeSource, final String resourceUri) throws IllegalAccessException
+	{
+		final Thread thread = Thread.currentThread();
+		final ClassLoader previous = thread.getContextClassLoader();
+		thread.setContextClassLoader(loader);
+		try {
+			final Object table = writeTable.invoke(null, resourceUri, this.outputDirectory.toPath(),
+					this.sorted);
+			if (table == null) {
+				getLog().warn("Skipped " + resourceUri + ": its tokens cannot be stored");
+				return false;
+			}
+			writeSource.invoke(null, resourceUri, this.sourceDirectory.toPath(), this.sorted);
+			getLog().debug("Precomputed " + resourceUri + " in " + table);
+			return true;
+		} catch (final InvocationTargetException e) {
+			getLog().warn("Skipped " + resourceUri + ": " + e.getCause());
+			return false;
+		} finally {
+			thread.setContextClassLoader(previous);
+		}
+	}
+
+	/**
+	 * Lists the JUnit Cast resources, the properties files defining a
+	 * {@code casedesc0}.
+	 *
+	 * @param resourceDirectories the test resource directories.
+	 * @return the sorted resource bundle URIs.
+	 */
+	/* default */ static TreeSet<String> findResources(final List<Path> resourceDirectories)
+			throws IOException
+	{
+		final TreeSet<String> retval = new TreeSet<>();
+		for (final Path directory : resourceDirectories) {
+			try (Stream<Path> files = Files.walk(directory)) {
+				for (final Path file : (Iterable<Path>) files
+						.filter(path -> path.toString().endsWith(".properties"))::iterator) {
+					final Properties properties = new Properties();
+					try (InputStream input = Files.newInputStream(file)) {
+						properties.load(input);
+					}
+					if (properties.containsKey("casedesc0")) {
+						final String relative = directory.relativize(file).toString()
+								.replace(File.separatorChar, '/');
+						retval.add(relative.substring(0, relative.length() - ".properties".length())
+								.replace('/', '.'));
+					}
+				}
+			}
+		}
+		return retval;
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * Maven goals of JUnit Cast.
+ */
+package io.github.roycetech.junitcast.maven;
@@ -0,0 +1,181 @@
+package io.github.roycetech.junitcast.maven;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GenerateMojoTest {
+
+	private static final String RESOURCE_URI = "sample.SampleTest";
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private Path resources;
+
+	private Path output;
+
+	private Path sources;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		this.resources = this.folder.newFolder("resources").toPath();
+		this.output = this.folder.getRoot().toPath().resolve("tables");
+		this.sources = this.folder.getRoot().toPath().resolve("sources");
+		Files.createDirectories(this.resources.resolve("sample"));
+		writeBundle("one:a&c~two:b|d");
+		Files.write(this.resources.resolve("sample/messages.properties"),
+				"greeting=hello\n".getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void writeBundle(final String rule) throws IOException
+	{
+		Files.write(this.resources.resolve("sample/SampleTest.properties"),
+				("casedesc0=Sample\nvar0=a, b | c, d\nrule0=" + rule + "\n")
+						.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private GenerateMojo mojo(final MavenProject project) throws ReflectiveOperationException
+	{
+		final Resource resource = new Resource();
+		resource.setDirectory(this.resources.toString());
+		project.addTestResource(resource);
+
+		final GenerateMojo retval = new GenerateMojo();
+		set(retval, "project", project);
+		set(retval, "outputDirectory", this.output.toFile());
+		set(retval, "sourceDirectory", this.sources.toFile());
+		return retval;
+	}
+
+	private static void set(final GenerateMojo mojo, final String name, final Object value)
+			throws ReflectiveOperationException
+	{
+		final Field field = GenerateMojo.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(mojo, value);
+	}
+
+	private static List<String> testClasspath()
+	{
+		return Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator));
+	}
+
+	private URLClassLoader testLoader() throws MalformedURLException
+	{
+		final List<URL> urls = new ArrayList<>();
+		urls.add(this.resources.toUri().toURL());
+		urls.add(this.output.toUri().toURL());
+		for (final String element : testClasspath()) {
+			urls.add(new File(element).toURI().toURL());
+		}
+		return new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader());
+	}
+
+	private List<String> parameters(final String method) throws Exception
+	{
+		try (URLClassLoader loader = testLoader()) {
+			final Object generator = loader
+					.loadClass("io.github.roycetech.junitcast.ParameterGenerator").getConstructor()
+					.newInstance();
+			@SuppressWarnings("unchecked")
+			final Collection<Object[]> retval = (Collection<Object[]>) generator.getClass()
+					.getMethod(method, String.class).invoke(generator, RESOURCE_URI);
+			return retval.stream().map(paramArr -> String.valueOf(paramArr[0]))
+					.collect(Collectors.toList());
+		}
+	}
+
+	private static MavenProject project()
+	{
+		return new MavenProject() {
+			@Override
+			public List<String> getTestClasspathElements()
+			{
+				return testClasspath();
+			}
+		};
+	}
+
+	@Test
+	public void testFindResources_onlyCaseBundles() throws IOException
+	{
+		assertEquals(Collections.singletonList(RESOURCE_URI),
+				new ArrayList<>(GenerateMojo.findResources(Arrays.asList(this.resources))));
+	}
+
+	@Test
+	public void testExecute_tableRoundTrips() throws Exception
+	{
+		final MavenProject project = project();
+		mojo(project).execute();
+
+		final List<String> generated = parameters("genVarData");
+		assertEquals(4, generated.size());
+		assertEquals(generated, parameters("genTableData"));
+		assertTrue(Files.isRegularFile(this.sources.resolve("sample/SampleTestScenarios.java")));
+		assertTrue(project.getTestCompileSourceRoots()
+				.contains(this.sources.toAbsolutePath().toString()));
+		assertEquals(this.output.toAbsolutePath().toString(), project.getTestResources()
+				.get(project.getTestResources().size() - 1).getDirectory());
+	}
+
+	@Test
+	public void testExecute_changedBundleIsNotRead() throws Exception
+	{
+		mojo(project()).execute();
+		writeBundle("one:a|c~two:b&d");
+
+		try {
+			parameters("genTableData");
+			fail("Expected no matching table");
+		} catch (final InvocationTargetException e) {
+			assertEquals("io.github.roycetech.junitcast.JUnitCastException",
+					e.getCause().getClass().getName());
+			assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains(RESOURCE_URI));
+		}
+	}
+
+	@Test
+	public void testExecute_skip() throws Exception
+	{
+		final GenerateMojo sut = mojo(project());
+		set(sut, "skip", true);
+		sut.execute();
+
+		assertFalse(Files.exists(this.output));
+	}
+
+	@Test(expected = MojoExecutionException.class)
+	public void testExecute_withoutJunitCast() throws Exception
+	{
+		mojo(new MavenProject()).execute();
+	}
+}
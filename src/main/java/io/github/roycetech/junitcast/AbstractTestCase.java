@@ -15,8 +15,6 @@
  */
 package io.github.roycetech.junitcast;
 
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.util.List;
 
 import org.junit.After;
@@ -65,36 +63,26 @@ public abstract class AbstractTestCase<T, E> {
 	@SuppressWarnings("unchecked")
 	protected AbstractTestCase(final Parameter<E> pParameter) {
 		this.parameter = pParameter;
-//		if (getClass().getGenericSuperclass() instanceof ParameterizedType) {
-		final ParameterizedType paramedType = (ParameterizedType) getClass().getGenericSuperclass();
-		Class<T> subjecType;
-		final Type type = paramedType.getActualTypeArguments()[0];
-		if (type instanceof ParameterizedType) {
-			subjecType = (Class<T>) ((ParameterizedType) type).getRawType();
-		} else {
-			subjecType = (Class<T>) paramedType.getActualTypeArguments()[0];
-		}
-		this.setSubjectType(subjecType);
-//		} else {
-//			throw new UnsupportedOperationException("Must use parameterized sub type.");
-//		}
+		this.setSubjectType((Class<T>) TestCaseMetadata.of(getClass()).getSubjectType());
 	}
 
 	/** JUnit 3 setUp(). */
 	@Before
 	public void setUp()
 	{
-		setupTargetObject(null);
+		phase(new CastEvents.Setup(), () -> setupTargetObject(null));
 	}
 
 	/** JUnit 3 tearDown(). */
 	@After
 	public void tearDown()
 	{
-		setMockSubject(null);
-		setRealSubject(null);
-		setSubjectType(null);
-		setResult(null);
+		phase(new CastEvents.TearDown(), () -> {
+			setMockSubject(null);
+			setRealSubject(null);
+			setSubjectType(null);
+			setResult(null);
+		});
 	}
 
 	/**
@@ -143,13 +131,30 @@ public abstract class AbstractTestCase<T, E> {
 	public void cast()
 	{
 		// Preparation.
-		prepare();
+		phase(new CastEvents.Prepare(), this::prepare);
 
 		// Execution.
-		execute();
+		phase(new CastEvents.Execute(), this::execute);
 
 		// Assertion/Verification.
-		assertVerify(getResult());
+		phase(new CastEvents.Verify(), () -> assertVerify(getResult()));
+	}
+
+	/**
+	 * Runs a phase of the test case, recorded as a flight recorder event when the
+	 * event is enabled, see {@link CastEvents}.
+	 *
+	 * @param event the event of the phase.
+	 * @param step  the phase.
+	 */
+	private void phase(final CastEvents.Phase event, final Runnable step)
+	{
+		event.begin();
+		try {
+			step.run();
+		} finally {
+			event.commit(getClass(), getParameter());
+		}
 	}
 
 	/**
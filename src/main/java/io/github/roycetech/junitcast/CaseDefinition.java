@@ -0,0 +1,170 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.github.roycetech.ruleengine.converter.ElementConverter;
+
+/**
+ * Immutable view of everything configured for one case of a resource bundle.
+ * These are built by {@link ResourceFixture} in a single pass so that each case
+ * can be looked up by index in constant time.
+ */
+public final class CaseDefinition {
+
+	/** Case index, without the debug start. */
+	private final transient int index;
+
+	/** Case description. */
+	private final transient String description;
+
+	/** Variable groups, common variables last. */
+	private final transient List<List<Object>> variables;
+
+	/** Element converter per variable group. */
+	private final transient List<ElementConverter> converters;
+
+	/** Raw rule definition. */
+	private final transient String rule;
+
+	/** Rule token to element converter mapping. */
+	private final transient Map<String, ElementConverter> ruleTokenConverter;
+
+	/** Case identifiers. */
+	private final transient List<String> identifiers;
+
+	/** Binary outcome pair, may be null. */
+	private final transient String pair;
+
+	/** Combined exemption clause, may be null. */
+	private final transient String exempt;
+
+	/** Exemption clauses, common exemption first, may be null. */
+	private final transient List<String> exemptions;
+
+	/**
+	 * @param pIndex              case index.
+	 * @param pDescription        case description.
+	 * @param pVariables          variable groups.
+	 * @param pConverters         element converter per variable group.
+	 * @param pRule               raw rule definition.
+	 * @param pRuleTokenConverter rule token to element converter mapping.
+	 * @param pIdentifiers        case identifiers.
+	 * @param pPair               binary outcome pair, may be null.
+	 * @param pExempt             combined exemption clause, may be null.
+	 * @param pExemptions         exemption clauses, may be null.
+	 */
+	@SuppressWarnings("PMD.ExcessiveParameterList")
+	/* default */ CaseDefinition(final int pIndex, final String pDescription,
+			final List<List<Object>> pVariables, final List<ElementConverter> pConverters,
+			final String pRule, final Map<String, ElementConverter> pRuleTokenConverter,
+			final List<String> pIdentifiers, final String pPair, final String pExempt,
+			final List<String> pExemptions) {
+		this.index = pIndex;
+		this.description = pDescription;
+		this.variables = Collections.unmodifiableList(pVariables);
+		this.converters = pConverters == null ? null : Collections.unmodifiableList(pConverters);
+		this.rule = pRule;
+		this.ruleTokenConverter = Collections.unmodifiableMap(pRuleTokenConverter);
+		this.identifiers = Collections.unmodifiableList(pIdentifiers);
+		this.pair = pPair;
+		this.exempt = pExempt;
+		this.exemptions = pExemptions == null ? null : Collections.unmodifiableList(pExemptions);
+	}
+
+	/**
+	 * @return the case index, without the debug start.
+	 */
+	public int getIndex()
+	{
+		return this.index;
+	}
+
+	/**
+	 * @return the case description.
+	 */
+	public String getDescription()
+	{
+		return this.description;
+	}
+
+	/**
+	 * @return the variable groups, common variables last.
+	 */
+	public List<List<Object>> getVariables()
+	{
+		return this.variables;
+	}
+
+	/**
+	 * @return the element converter per variable group.
+	 */
+	public List<ElementConverter> getConverters()
+	{
+		return this.converters;
+	}
+
+	/**
+	 * @return the raw rule definition.
+	 */
+	public String getRule()
+	{
+		return this.rule;
+	}
+
+	/**
+	 * @return the rule token to element converter mapping.
+	 */
+	public Map<String, ElementConverter> getRuleTokenConverter()
+	{
+		return this.ruleTokenConverter;
+	}
+
+	/**
+	 * @return the case identifiers.
+	 */
+	public List<String> getIdentifiers()
+	{
+		return this.identifiers;
+	}
+
+	/**
+	 * @return the binary outcome pair, or null.
+	 */
+	public String getPair()
+	{
+		return this.pair;
+	}
+
+	/**
+	 * @return the combined exemption clause, or null.
+	 */
+	public String getExempt()
+	{
+		return this.exempt;
+	}
+
+	/**
+	 * @return the exemption clauses, common exemption first, or null.
+	 */
+	public List<String> getExemptions()
+	{
+		return this.exemptions;
+	}
+}
@@ -23,6 +23,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import com.github.roycetech.ruleengine.Rule;
 import com.github.roycetech.ruleengine.converter.ElementConverter;
 
+import io.github.roycetech.junitcast.rule.CompiledRule;
+import io.github.roycetech.junitcast.rule.ExemptionPredicate;
+import io.github.roycetech.junitcast.rule.RuleCompiler;
+
 /**
  * Represents a fixture for test cases.
  *
@@ -42,6 +46,12 @@ public class CaseFixture<T> {
 	/** The rule associated with this fixture. */
 	private final transient Rule rule;
 
+	/** Source outcome to clause mapping of the rule, null when not known. */
+	private transient Map<String, Object> ruleDefinition;
+
+	/** Lazily compiled rule, requires the rule definition. */
+	private transient CompiledRule compiledRule;
+
 	/** Action pair map for binary result fixture. */
 	private final transient Map<String, String> pairMap = new ConcurrentHashMap<>();
 
@@ -54,6 +64,12 @@ public class CaseFixture<T> {
 	/** Exempt rule. */
 	private transient String exemptRule;
 
+	/** Individual exempt rules, null when only the combined rule is known. */
+	private transient List<String> exemptions;
+
+	/** Lazily compiled exemptions. */
+	private transient ExemptionPredicate exemptionPredicate;
+
 	/**
 	 * Creates a CaseFixture.
 	 *
@@ -129,6 +145,21 @@ public class CaseFixture<T> {
 	public CaseFixture<T> exempt(final String pExempt)
 	{
 		this.exemptRule = pExempt;
+		this.exemptionPredicate = null;
+		return this;
+	}
+
+	/**
+	 * Builder pattern. When given, each exemption is compiled and counted on its
+	 * own instead of the combined exempt rule.
+	 *
+	 * @param pExemptions individual exemption rules.
+	 * @return this instance of this class with the added exemptions property.
+	 */
+	public CaseFixture<T> exemptions(final List<String> pExemptions)
+	{
+		this.exemptions = pExemptions;
+		this.exemptionPredicate = null;
 		return this;
 	}
 
@@ -163,6 +194,23 @@ public class CaseFixture<T> {
 	public CaseFixture<T> ruleConverter(final Map<String, ElementConverter> pRuleConverter)
 	{
 		this.ruleConv = pRuleConverter;
+		this.compiledRule = null;
+		this.exemptionPredicate = null;
+		return this;
+	}
+
+	/**
+	 * Builder pattern. Enables the compiled rule evaluation, see
+	 * {@link #getCompiledRule()}.
+	 *
+	 * @param pRuleDefinition the outcome to clause mapping the rule was created
+	 *                        from.
+	 * @return this builder instance with the updated property.
+	 */
+	public CaseFixture<T> ruleDefinition(final Map<String, Object> pRuleDefinition)
+	{
+		this.ruleDefinition = pRuleDefinition;
+		this.compiledRule = null;
 		return this;
 	}
 
@@ -186,6 +234,21 @@ public class CaseFixture<T> {
 		return this.rule;
 	}
 
+	/**
+	 * Returns the rule compiled against the rule token converters of this fixture.
+	 * The parsed form is shared with every other fixture having the same rule
+	 * text.
+	 *
+	 * @return the compiled rule, or null when the rule definition is not known.
+	 */
+	public CompiledRule getCompiledRule()
+	{
+		if (this.compiledRule == null && this.ruleDefinition != null) {
+			this.compiledRule = RuleCompiler.compile(this.ruleDefinition, this.ruleConv);
+		}
+		return this.compiledRule;
+	}
+
 	/**
 	 * Returns the outcome of the rule for a given scenario.
 	 *
@@ -248,6 +311,26 @@ public class CaseFixture<T> {
 		return this.exemptRule;
 	}
 
+	/**
+	 * Returns the exemptions compiled against the rule token converters of this
+	 * fixture. The same instance is returned on every call so that it keeps count
+	 * of the exempted scenarios.
+	 *
+	 * @return the compiled exemptions, or null when this case has no exemption.
+	 */
+	public synchronized ExemptionPredicate getExemptionPredicate()
+	{
+		if (this.exemptionPredicate == null) {
+			if (this.exemptions != null && !this.exemptions.isEmpty()) {
+				this.exemptionPredicate = new ExemptionPredicate(this.exemptions, this.ruleConv);
+			} else if (this.exemptRule != null) {
+				this.exemptionPredicate = new ExemptionPredicate(List.of(this.exemptRule),
+						this.ruleConv);
+			}
+		}
+		return this.exemptionPredicate;
+	}
+
 	/**
 	 * Gets the list of case identifiers.
 	 *
@@ -0,0 +1,150 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class-level, declarative alternative to {@link ScenarioSource}. Observers are
+ * registered once, typically in a static initializer of the test class, and
+ * kept in an array indexed by the ordinal of their Var enum case. Each test
+ * only binds itself when notifying, so preparing a scenario creates no
+ * observers and no maps.
+ *
+ * <pre>
+ * private static final CaseRegistry&lt;MyTest, String&gt; CASES = new CaseRegistry&lt;MyTest, String&gt;(
+ * 		Variable.class).addTransientCase(0, null, Variable.null_array);
+ *
+ * protected void prepare()
+ * {
+ * 	CASES.notifyObservers(this);
+ * }
+ * </pre>
+ *
+ * @param <C> test case type.
+ * @param <S> data type of scenario element.
+ */
+public final class CaseRegistry<C extends AbstractTestCase<?, S>, S> {
+
+	/** No observers for a case. */
+	private static final BoundCaseObserver<?, ?>[] NONE = new BoundCaseObserver<?, ?>[0];
+
+	/** The Var enum. */
+	private final transient Class<? extends Enum<?>> enumType;
+
+	/** Scenario token to Var enum case table. */
+	private final transient EnumTokenTable tokenTable;
+
+	/** Observers indexed by the ordinal of their case, replaced on registration. */
+	private transient volatile BoundCaseObserver<C, S>[][] observers;
+
+	/**
+	 * @param pEnumType the Var enum of the test class.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public CaseRegistry(final Class<? extends Enum<?>> pEnumType) {
+		this.enumType = pEnumType;
+		this.tokenTable = EnumTokenTable.of(pEnumType);
+		/* A generic array cannot be created, only BoundCaseObserver<C, S> is stored. */
+		this.observers = new BoundCaseObserver[this.tokenTable.size()][];
+		Arrays.fill(this.observers, NONE);
+	}
+
+	/**
+	 * Builder pattern. Sets a transient value on the test case when the scenario
+	 * has any of the cases. A {@link CaseParser} value is parsed with the matched
+	 * case at notification time.
+	 *
+	 * @param key   transient key/name.
+	 * @param value transient value to set, or a case parser.
+	 * @param cases applicable Variable cases.
+	 * @return this instance.
+	 */
+	public CaseRegistry<C, S> addTransientCase(final Object key, final Object value,
+			final Enum<?>... cases)
+	{
+		if (cases == null || cases.length == 0) {
+			throw new IllegalArgumentException("Must have at least one valid case.");
+		}
+
+		for (final Enum<?> nextCase : cases) {
+			addObserver(nextCase, (testCase, index, caseRaw) -> {
+				final Object valueCalc = value instanceof CaseParser
+						? parse((CaseParser) value, nextCase)
+						: value;
+				@SuppressWarnings("unchecked")
+				final AbstractTransientValueTestCase<?, S, Object> transCase = (AbstractTransientValueTestCase<?, S, Object>) testCase;
+				transCase.setTransientValue(key, valueCalc);
+			});
+		}
+		return this;
+	}
+
+	/**
+	 * Builder pattern. Adds an observer for a given case.
+	 *
+	 * @param kaso     enum case, must be a constant of the Var enum.
+	 * @param observer case observer instance.
+	 * @return this instance.
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized CaseRegistry<C, S> addObserver(final Enum<?> kaso,
+			final BoundCaseObserver<C, S> observer)
+	{
+		if (kaso.getDeclaringClass() != this.enumType) {
+			throw new IllegalArgumentException(
+					"Not a case of " + this.enumType.getName() + ": " + kaso);
+		}
+
+		final BoundCaseObserver<C, S>[][] copy = this.observers.clone();
+		final BoundCaseObserver<C, S>[] current = copy[kaso.ordinal()];
+		copy[kaso.ordinal()] = Arrays.copyOf(current, current.length + 1);
+		copy[kaso.ordinal()][current.length] = observer;
+		this.observers = copy;
+		return this;
+	}
+
+	/**
+	 * Notifies the observers of each case of the test's scenario.
+	 *
+	 * @param testCase the test case being prepared.
+	 */
+	public void notifyObservers(final C testCase)
+	{
+		final BoundCaseObserver<C, S>[][] dispatch = this.observers;
+		final List<S> scenario = testCase.getParameter().getScenario();
+		for (int i = 0; i < scenario.size(); i++) {
+			final S nextCase = scenario.get(i);
+			final BoundCaseObserver<C, S>[] caseObservers = dispatch[this.tokenTable
+					.lookup(nextCase).ordinal()];
+			for (final BoundCaseObserver<C, S> observer : caseObservers) {
+				observer.prepareCase(testCase, i, nextCase);
+			}
+		}
+	}
+
+	/**
+	 * @param caseParser the case parser.
+	 * @param kaso       the matched case.
+	 * @return the parsed value.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object parse(final CaseParser caseParser, final Enum<?> kaso)
+	{
+		return caseParser.parse((Enum) kaso);
+	}
+}
@@ -0,0 +1,218 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.common.math.LongMath;
+
+/**
+ * Everything the scenarios of a case have in common: the case description and
+ * identifier, the variable groups and the distinct expected outcomes. A
+ * scenario is then addressed by its mixed-radix index over the variable groups,
+ * the last group varying fastest, see {@link IndexedParameter}.
+ *
+ * @param <E> scenario element type.
+ */
+public final class CaseTable<E> {
+
+	/** Case description. */
+	private final transient String caseDesc;
+
+	/** Case identifier. */
+	private final transient List<String> identifier;
+
+	/** Variable groups of the case. */
+	private final transient List<List<E>> groups;
+
+	/** Index distance between two consecutive tokens of each group. */
+	private final transient long[] strides;
+
+	/** Token index per token, per group. */
+	private final transient List<Map<Object, Integer>> digits;
+
+	/** Distinct outcomes, in order of first use. */
+	private final transient List<String> outcomes = new CopyOnWriteArrayList<>();
+
+	/** Outcome index per outcome. */
+	private final transient Map<String, Integer> outcomeIds = new HashMap<>();
+
+	/**
+	 * @param pCaseDesc   case description.
+	 * @param pIdentifier case identifier.
+	 * @param pGroups     variable groups, their product must fit, see
+	 *                    {@link #fits(List)}.
+	 */
+	public CaseTable(final String pCaseDesc, final List<String> pIdentifier,
+			final List<List<E>> pGroups) {
+		if (!fits(pGroups)) {
+			throw new IllegalArgumentException("Too many scenarios to index: " + pCaseDesc);
+		}
+
+		this.caseDesc = pCaseDesc;
+		this.identifier = pIdentifier;
+		this.groups = pGroups;
+		this.strides = new long[pGroups.size()];
+		this.digits = new ArrayList<>(pGroups.size());
+		long stride = 1; // NOPMD: accumulator.
+		for (int i = pGroups.size() - 1; i >= 0; i--) {
+			this.strides[i] = stride;
+			stride *= pGroups.get(i).size();
+		}
+		for (final List<E> group : pGroups) {
+			final Map<Object, Integer> groupDigits = new HashMap<>();
+			for (int digit = group.size() - 1; digit >= 0; digit--) {
+				groupDigits.put(group.get(digit), digit);
+			}
+			this.digits.add(groupDigits);
+		}
+	}
+
+	/**
+	 * Checks if the scenarios of the groups can be indexed with a long.
+	 *
+	 * @param groups variable groups.
+	 * @return false when the product overflows.
+	 */
+	public static boolean fits(final List<? extends List<?>> groups)
+	{
+		long product = 1; // NOPMD: accumulator.
+		for (final List<?> group : groups) {
+			product = LongMath.saturatedMultiply(product, group.size());
+		}
+		return product < Long.MAX_VALUE;
+	}
+
+	/**
+	 * @return the case description.
+	 */
+	public String getCaseDesc()
+	{
+		return this.caseDesc;
+	}
+
+	/**
+	 * @return the case identifier.
+	 */
+	public List<String> getIdentifier()
+	{
+		return this.identifier;
+	}
+
+	/**
+	 * Encodes a scenario of this case.
+	 *
+	 * @param scenario one token per variable group.
+	 * @return the mixed-radix index of the scenario.
+	 */
+	public long indexOf(final List<E> scenario)
+	{
+		long retval = 0; // NOPMD: accumulator.
+		for (int i = 0; i < this.strides.length; i++) {
+			final Integer digit = this.digits.get(i).get(scenario.get(i));
+			if (digit == null) {
+				throw new IllegalArgumentException("Not a scenario of " + this.caseDesc + ": "
+						+ scenario);
+			}
+			retval += digit * this.strides[i];
+		}
+		return retval;
+	}
+
+	/**
+	 * Decodes a token of a scenario.
+	 *
+	 * @param index mixed-radix index of the scenario.
+	 * @param group the variable group.
+	 * @return the token of the group.
+	 */
+	public E token(final long index, final int group)
+	{
+		final List<E> tokens = this.groups.get(group);
+		return tokens.get((int) (index / this.strides[group] % tokens.size()));
+	}
+
+	/**
+	 * Returns an immutable view of a scenario, decoding tokens on access.
+	 *
+	 * @param index mixed-radix index of the scenario.
+	 * @return the scenario view.
+	 */
+	public List<E> scenario(final long index)
+	{
+		return new ScenarioView(index);
+	}
+
+	/**
+	 * Returns the index of an outcome, adding it on first use.
+	 *
+	 * @param outcome expected outcome.
+	 * @return the outcome index.
+	 */
+	public synchronized int outcomeId(final String outcome)
+	{
+		return this.outcomeIds.computeIfAbsent(outcome, key -> {
+			this.outcomes.add(key);
+			return this.outcomes.size() - 1;
+		});
+	}
+
+	/**
+	 * @param outcomeId an outcome index.
+	 * @return the expected outcome.
+	 */
+	public String outcome(final int outcomeId)
+	{
+		return this.outcomes.get(outcomeId);
+	}
+
+	/**
+	 * Scenario decoded on access.
+	 */
+	private final class ScenarioView extends AbstractList<E> implements RandomAccess {
+
+		/** Mixed-radix index of the scenario. */
+		private final transient long index;
+
+		/**
+		 * @param pIndex mixed-radix index of the scenario.
+		 */
+		private ScenarioView(final long pIndex) {
+			super();
+			this.index = pIndex;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public E get(final int group)
+		{
+			return token(this.index, group);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public int size()
+		{
+			return CaseTable.this.groups.size();
+		}
+	}
+}
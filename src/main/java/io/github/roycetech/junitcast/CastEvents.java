@@ -0,0 +1,175 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events of the generation and of each phase of a test
+ * case. The events are disabled by default, enable them in a recording
+ * settings file, e.g. {@code <event name="junitcast.Execute"><setting
+ * name="enabled">true</setting></event>}. A disabled event costs little more
+ * than its allocation, its fields are only set when it is committed.
+ */
+final class CastEvents {
+
+	/** Category of every event. */
+	private static final String CATEGORY = "JUnit Cast";
+
+	/**
+	 * Utility class.
+	 */
+	private CastEvents()
+	{
+	}
+
+	/**
+	 * Parameters generated for a case.
+	 */
+	@Name("junitcast.Generation")
+	@Label("Case Generation")
+	@Category(CATEGORY)
+	@Description("Generation of the parameters of a case")
+	@Enabled(false)
+	@StackTrace(false)
+	static final class Generation extends Event {
+
+		/** Resource bundle URI. */
+		@Label("Resource")
+		/* default */ String resource;
+
+		/** Case description. */
+		@Label("Case Description")
+		/* default */ String caseDescription;
+
+		/** Size of the product of the variables. */
+		@Label("Product")
+		/* default */ long product;
+
+		/** Number of exempted scenarios. */
+		@Label("Exempted")
+		/* default */ long exempted;
+
+		/** Number of generated parameters. */
+		@Label("Emitted")
+		/* default */ long emitted;
+
+		/** Number of scenarios not matching exactly one outcome. */
+		@Label("Ambiguous")
+		/* default */ long ambiguous;
+	}
+
+	/**
+	 * A phase of a test case, identified by its class and parameter.
+	 */
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	abstract static class Phase extends Event {
+
+		/** Test class. */
+		@Label("Test Class")
+		/* default */ Class<?> testClass;
+
+		/** Case description. */
+		@Label("Case Description")
+		/* default */ String caseDescription;
+
+		/** Index of the scenario in the product, -1 when not known. */
+		@Label("Scenario Index")
+		/* default */ long scenarioIndex;
+
+		/** Scenario tokens. */
+		@Label("Scenario")
+		/* default */ String scenario;
+
+		/** Expected outcome. */
+		@Label("Expected")
+		/* default */ String expected;
+
+		/**
+		 * Ends the event and commits it when enabled and over its threshold.
+		 *
+		 * @param pTestClass the test class.
+		 * @param parameter  the test parameter, may be null.
+		 */
+		/* default */ void commit(final Class<?> pTestClass, final Parameter<?> parameter)
+		{
+			end();
+			if (shouldCommit()) {
+				this.testClass = pTestClass;
+				if (parameter == null) {
+					this.scenarioIndex = -1;
+				} else {
+					this.caseDescription = parameter.getCaseDesc();
+					this.scenarioIndex = parameter instanceof IndexedParameter
+							? ((IndexedParameter<?>) parameter).getIndex()
+							: -1;
+					this.scenario = String.valueOf(parameter.getScenario());
+					this.expected = parameter.getExpected();
+				}
+				commit();
+			}
+		}
+	}
+
+	/**
+	 * Creation of the test subject, see
+	 * {@link AbstractTestCase#setupTargetObject(java.util.List)}.
+	 */
+	@Name("junitcast.Setup")
+	@Label("Subject Setup")
+	static final class Setup extends Phase {
+	}
+
+	/**
+	 * See {@link AbstractTestCase#prepare()}.
+	 */
+	@Name("junitcast.Prepare")
+	@Label("Prepare")
+	static final class Prepare extends Phase {
+	}
+
+	/**
+	 * See {@link AbstractTestCase#execute()}.
+	 */
+	@Name("junitcast.Execute")
+	@Label("Execute")
+	static final class Execute extends Phase {
+	}
+
+	/**
+	 * See {@link AbstractTestCase#assertVerify(Object)}.
+	 */
+	@Name("junitcast.Verify")
+	@Label("Verify")
+	static final class Verify extends Phase {
+	}
+
+	/**
+	 * See {@link AbstractTestCase#tearDown()}.
+	 */
+	@Name("junitcast.TearDown")
+	@Label("Tear Down")
+	static final class TearDown extends Phase {
+	}
+}
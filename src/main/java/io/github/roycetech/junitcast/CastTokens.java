@@ -0,0 +1,55 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the tokens of a test class at compile time. The annotation
+ * processor reads the .properties resource of the test and writes a
+ * {@code <TestClass>Tokens} class next to it, with a {@code Variable} enum of
+ * the scenario tokens, an {@code Outcome} enum of the rule outcomes, and a
+ * switch mapping each raw token to its constant. A rule, pair or exemption
+ * that names an undeclared token fails the compilation.
+ *
+ * <pre>
+ * &#64;CastTokens
+ * public class WorkerTest extends AbstractTestCase&lt;Worker, String&gt; {
+ *     ...
+ *     final Variable variable = WorkerTestTokens.variable(scenarioToken);
+ * </pre>
+ *
+ * The processor is registered in the junit-cast jar, so it runs when the test
+ * sources are compiled against it.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface CastTokens {
+
+	/**
+	 * The resource base name, like in
+	 * {@link ParameterGenerator#genVarData(String)}. Defaults to the qualified
+	 * name of the annotated class.
+	 *
+	 * @return the resource base name, or empty for the annotated class.
+	 */
+	String value() default "";
+}
@@ -0,0 +1,146 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.roycetech.ruleengine.converter.ElementConverter;
+
+/**
+ * Lock-free registry of element converters keyed by class name. Each converter
+ * class is resolved once, its no-argument constructor is kept as a method
+ * handle, and a single shared instance is handed out afterwards. Converters
+ * can also be registered programmatically under any name, which takes
+ * precedence over class name resolution.
+ */
+public final class ConverterRegistry {
+
+	/** Shared converter instances keyed by name. */
+	private static final Map<String, ElementConverter> CONVERTERS = new ConcurrentHashMap<>();
+
+	/** Constructor handles keyed by class name. */
+	private static final Map<String, MethodHandle> CONSTRUCTORS = new ConcurrentHashMap<>();
+
+	/** Type of the no-argument constructor returning a converter. */
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(ElementConverter.class);
+
+	/**
+	 * Utility class.
+	 */
+	private ConverterRegistry()
+	{
+	}
+
+	/**
+	 * Returns the shared converter registered under a name, instantiating the
+	 * class of that name on first use.
+	 *
+	 * @param name converter name, the fully qualified class name unless
+	 *             registered otherwise.
+	 * @return the shared converter instance.
+	 */
+	public static ElementConverter get(final String name)
+	{
+		final ElementConverter converter = CONVERTERS.get(name);
+		if (converter != null) {
+			return converter;
+		}
+		return CONVERTERS.computeIfAbsent(name, ConverterRegistry::newConverter);
+	}
+
+	/**
+	 * Creates a new converter instance of a class through its cached constructor
+	 * handle.
+	 *
+	 * @param className fully qualified converter class name.
+	 * @return a new converter instance.
+	 */
+	public static ElementConverter newConverter(final String className)
+	{
+		final MethodHandle constructor = CONSTRUCTORS.computeIfAbsent(className,
+				ConverterRegistry::findConstructor);
+		try {
+			return (ElementConverter) constructor.invokeExact();
+		} catch (final Throwable e) { // NOPMD: invokeExact declares Throwable.
+			throw new ResourceFixtureException("Error instantiating converter: " + className, e);
+		}
+	}
+
+	/**
+	 * Registers a converter under a name. Resources naming it in their converter
+	 * keys will use the given instance.
+	 *
+	 * @param name      converter name.
+	 * @param converter the shared converter instance.
+	 */
+	public static void register(final String name, final ElementConverter converter)
+	{
+		CONVERTERS.put(name, converter);
+	}
+
+	/**
+	 * Registers a converter under its class name.
+	 *
+	 * @param converter the shared converter instance.
+	 */
+	public static void register(final ElementConverter converter)
+	{
+		register(converter.getClass().getName(), converter);
+	}
+
+	/**
+	 * Removes a converter registered under a name.
+	 *
+	 * @param name converter name.
+	 */
+	public static void unregister(final String name)
+	{
+		CONVERTERS.remove(name);
+	}
+
+	/**
+	 * Resolves the no-argument constructor of a converter class.
+	 *
+	 * @param className fully qualified converter class name.
+	 * @return the constructor handle, typed to return an element converter.
+	 */
+	private static MethodHandle findConstructor(final String className)
+	{
+		final Class<?> converterCls;
+		try {
+			converterCls = Class.forName(className);
+		} catch (final ClassNotFoundException e) {
+			throw new ResourceFixtureException("Cannot find converter class: " + className, e);
+		}
+
+		if (!ElementConverter.class.isAssignableFrom(converterCls)) {
+			throw new ResourceFixtureException("Not a converter class: " + className,
+					new ClassCastException(className));
+		}
+
+		try {
+			return MethodHandles.lookup()
+					.unreflectConstructor(converterCls.getDeclaredConstructor())
+					.asType(CONSTRUCTOR_TYPE);
+		} catch (final ReflectiveOperationException e) {
+			throw new ResourceFixtureException("Error instantiating converter: " + converterCls, e);
+		}
+	}
+}
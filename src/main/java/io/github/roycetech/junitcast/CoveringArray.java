@@ -0,0 +1,502 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.github.roycetech.junitcast.rule.Clause;
+import io.github.roycetech.junitcast.rule.Decision;
+import io.github.roycetech.junitcast.rule.ExemptionPredicate;
+
+/**
+ * Builds a t-wise covering array over the variable groups of a case with the
+ * IPOG strategy. Every combination of tokens from any t groups appears in at
+ * least one scenario, which grows with the logarithm of the number of groups
+ * instead of exponentially like the full product.
+ *
+ * <p>
+ * The first t groups start as their full product, then each following group is
+ * added horizontally, picking for each scenario the token that covers the most
+ * new combinations, and vertically, adding scenarios for the combinations still
+ * missing. Unassigned tokens are left open until the end so that later
+ * combinations can use them.
+ *
+ * <p>
+ * Exemptions are constraints. A combination that cannot appear in any scenario
+ * that is not exempted is not required, and no exempted scenario is generated.
+ * A combination is only marked covered by a scenario that can still be
+ * completed without being exempted, so no scenario is dropped at the end.
+ * The tokens that no scenario can have without being exempted are found once,
+ * before the groups are added, and left out of every later search instead of
+ * being ruled out again under every partial scenario.
+ *
+ * @param <T> scenario element type.
+ */
+class CoveringArray<T> {
+
+	/** Marks a token that is not assigned yet. */
+	private static final int OPEN = -1;
+
+	/** Variable groups of the case. */
+	private final transient List<List<T>> groups;
+
+	/** Number of groups covered together. */
+	private final transient int strength;
+
+	/** Exemptions of the case, null when there are none. */
+	private final transient ExemptionPredicate exemption;
+
+	/** Scenarios built so far, as token indexes per group. */
+	private final transient List<int[]> rows = new ArrayList<>();
+
+	/** Tokens that only appear in exempted scenarios, per group. */
+	private transient boolean[][] excluded;
+
+	/**
+	 * @param pGroups    variable groups of the case, must not be null.
+	 * @param pStrength  number of groups covered together, at least 1.
+	 * @param pExemption exemptions of the case, may be null.
+	 */
+	/* default */ CoveringArray(final List<List<T>> pGroups, final int pStrength,
+			final ExemptionPredicate pExemption) {
+		if (pStrength < 1) {
+			throw new IllegalArgumentException("Strength must be at least 1: " + pStrength);
+		}
+		this.groups = pGroups;
+		this.strength = pStrength;
+		this.exemption = pExemption;
+	}
+
+	/**
+	 * Builds the covering array.
+	 *
+	 * @return the scenarios, each one not exempted.
+	 */
+	/* default */ List<List<T>> generate()
+	{
+		if (this.groups.stream().anyMatch(List::isEmpty)) {
+			return Collections.emptyList();
+		}
+
+		if (this.groups.size() <= this.strength) {
+			final List<List<T>> retval = new ArrayList<>();
+			new ScenarioIterator<>(this.groups, this.exemption).forEachRemaining(retval::add);
+			return retval;
+		}
+
+		exclude();
+		initialize();
+		for (int group = this.strength; group < this.groups.size(); group++) {
+			final List<Combination> combinations = combinations(group);
+			growHorizontally(group, combinations);
+			growVertically(group, combinations);
+		}
+
+		final Set<List<T>> retval = new LinkedHashSet<>();
+		for (final int[] row : this.rows) {
+			if (complete(row, 0)) {
+				retval.add(toScenario(row));
+			}
+		}
+		return new ArrayList<>(retval);
+	}
+
+	/**
+	 * Finds the tokens that only appear in exempted scenarios. A token is excluded
+	 * at once when another group has no token left that keeps it feasible, so the
+	 * search only runs for the tokens that pass this check.
+	 */
+	private void exclude()
+	{
+		this.excluded = new boolean[this.groups.size()][];
+		for (int group = 0; group < this.groups.size(); group++) {
+			this.excluded[group] = new boolean[this.groups.get(group).size()];
+		}
+		if (this.exemption == null) {
+			return;
+		}
+
+		final int[] row = new int[this.groups.size()];
+		Arrays.fill(row, OPEN);
+		for (int group = 0; group < this.groups.size(); group++) {
+			for (int token = 0; token < this.groups.get(group).size(); token++) {
+				row[group] = token;
+				this.excluded[group][token] = !isFeasible(row) || !hasCandidates(row)
+						|| !complete(row.clone(), 0);
+			}
+			row[group] = OPEN;
+		}
+	}
+
+	/**
+	 * @param row a partial scenario.
+	 * @return false when an open group has no token that keeps the scenario
+	 *         feasible.
+	 */
+	private boolean hasCandidates(final int... row)
+	{
+		for (int group = 0; group < row.length; group++) {
+			if (row[group] != OPEN) {
+				continue;
+			}
+			boolean found = false; // NOPMD: accumulator.
+			for (int token = 0; !found && token < this.groups.get(group).size(); token++) {
+				row[group] = token;
+				found = !this.excluded[group][token] && isFeasible(row);
+			}
+			row[group] = OPEN;
+			if (!found) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Starts with the product of the first t groups.
+	 */
+	private void initialize()
+	{
+		final int[] row = new int[this.groups.size()];
+		Arrays.fill(row, OPEN);
+		Arrays.fill(row, 0, this.strength, 0);
+		while (true) {
+			if (isCompletable(row)) {
+				this.rows.add(row.clone());
+			}
+
+			int level = this.strength - 1;
+			while (level >= 0 && ++row[level] == this.groups.get(level).size()) {
+				row[level] = 0;
+				level--;
+			}
+			if (level < 0) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Lists the combinations of t-1 earlier groups with the new group, and the
+	 * token combinations of each that are required.
+	 *
+	 * @param group the new group.
+	 * @return the combinations to cover.
+	 */
+	private List<Combination> combinations(final int group)
+	{
+		final List<Combination> retval = new ArrayList<>();
+		final int[] columns = new int[this.strength - 1];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = i;
+		}
+		while (true) {
+			retval.add(new Combination(columns.clone(), group));
+
+			int index = columns.length - 1;
+			while (index >= 0 && columns[index] == group - columns.length + index) {
+				index--;
+			}
+			if (index < 0) {
+				return retval;
+			}
+			columns[index]++;
+			for (int i = index + 1; i < columns.length; i++) {
+				columns[i] = columns[i - 1] + 1;
+			}
+		}
+	}
+
+	/**
+	 * Assigns the new group in every existing scenario, picking the token that
+	 * covers the most missing combinations.
+	 *
+	 * @param group        the new group.
+	 * @param combinations the combinations to cover.
+	 */
+	private void growHorizontally(final int group, final List<Combination> combinations)
+	{
+		for (final int[] row : this.rows) {
+			int best = OPEN; // NOPMD: accumulator.
+			int bestGain = 0; // NOPMD: accumulator.
+			for (int token = 0; token < this.groups.get(group).size(); token++) {
+				row[group] = token;
+				if (!isCompletable(row)) {
+					continue;
+				}
+				int gain = 0; // NOPMD: accumulator.
+				for (final Combination combination : combinations) {
+					if (combination.isMissing(row)) {
+						gain++;
+					}
+				}
+				if (gain > bestGain) {
+					best = token;
+					bestGain = gain;
+				}
+			}
+
+			row[group] = best;
+			if (best != OPEN) {
+				for (final Combination combination : combinations) {
+					combination.cover(row);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Covers the combinations still missing, filling open tokens of existing
+	 * scenarios first and adding scenarios otherwise.
+	 *
+	 * @param group        the new group.
+	 * @param combinations the combinations to cover.
+	 */
+	private void growVertically(final int group, final List<Combination> combinations)
+	{
+		for (final Combination combination : combinations) {
+			for (int index = 0; index < combination.missing.length; index++) {
+				if (!combination.missing[index]) {
+					continue;
+				}
+
+				final int[] tokens = combination.decode(index);
+				if (!fillExisting(combination.columns, tokens)) {
+					final int[] row = new int[this.groups.size()];
+					Arrays.fill(row, OPEN);
+					for (int i = 0; i < tokens.length; i++) {
+						row[combination.columns[i]] = tokens[i];
+					}
+					this.rows.add(row);
+				}
+				combination.missing[index] = false;
+			}
+		}
+	}
+
+	/**
+	 * Fills open tokens of the first existing scenario compatible with a
+	 * combination.
+	 *
+	 * @param columns the groups of the combination.
+	 * @param tokens  the tokens of the combination.
+	 * @return false when no scenario is compatible.
+	 */
+	private boolean fillExisting(final int[] columns, final int... tokens)
+	{
+		for (final int[] row : this.rows) {
+			boolean compatible = true; // NOPMD: accumulator.
+			for (int i = 0; compatible && i < columns.length; i++) {
+				compatible = row[columns[i]] == OPEN || row[columns[i]] == tokens[i];
+			}
+			if (!compatible) {
+				continue;
+			}
+
+			final int[] filled = row.clone();
+			for (int i = 0; i < columns.length; i++) {
+				filled[columns[i]] = tokens[i];
+			}
+			if (isCompletable(filled)) {
+				System.arraycopy(filled, 0, row, 0, row.length);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Assigns the open tokens of a scenario so that it is not exempted.
+	 *
+	 * @param row   the scenario.
+	 * @param level the first group to assign.
+	 * @return false when every assignment is exempted.
+	 */
+	private boolean complete(final int[] row, final int level)
+	{
+		if (level == row.length) {
+			return isFeasible(row);
+		}
+		if (row[level] != OPEN) {
+			return complete(row, level + 1);
+		}
+
+		for (int token = 0; token < this.groups.get(level).size(); token++) {
+			if (this.excluded[level][token]) {
+				continue;
+			}
+			row[level] = token;
+			if (isFeasible(row) && complete(row, level + 1)) {
+				return true;
+			}
+		}
+		row[level] = OPEN;
+		return false;
+	}
+
+	/**
+	 * Checks if a partial scenario can be completed without being exempted. Unlike
+	 * {@link #isFeasible(int...)}, an undecided exemption is resolved by searching
+	 * for a completion, skipping the excluded tokens.
+	 *
+	 * @param row the partial scenario, left unchanged.
+	 * @return false when every completion is exempted.
+	 */
+	private boolean isCompletable(final int... row)
+	{
+		if (this.exemption == null) {
+			return true;
+		}
+		for (int group = 0; group < row.length; group++) {
+			if (row[group] != OPEN && this.excluded[group][row[group]]) {
+				return false;
+			}
+		}
+		return isFeasible(row) && complete(row.clone(), 0);
+	}
+
+	/**
+	 * Checks if a partial scenario may still be completed without being exempted.
+	 *
+	 * @param row the partial scenario.
+	 * @return false when every completion is exempted, true when some may not
+	 *         be.
+	 */
+	private boolean isFeasible(final int... row)
+	{
+		if (this.exemption == null) {
+			return true;
+		}
+
+		final Object[] partial = new Object[row.length];
+		for (int i = 0; i < row.length; i++) {
+			partial[i] = row[i] == OPEN ? Clause.UNSET : this.groups.get(i).get(row[i]);
+		}
+		return this.exemption.decide(partial, this.groups) != Decision.TRUE;
+	}
+
+	/**
+	 * @param row a complete scenario.
+	 * @return the scenario tokens.
+	 */
+	private List<T> toScenario(final int... row)
+	{
+		final List<T> retval = new ArrayList<>(row.length);
+		for (int i = 0; i < row.length; i++) {
+			retval.add(this.groups.get(i).get(row[i]));
+		}
+		return Collections.unmodifiableList(retval);
+	}
+
+	/**
+	 * A set of t groups ending with the new group, and which of their token
+	 * combinations are still missing.
+	 */
+	private final class Combination {
+
+		/** The groups, in ascending order. */
+		private final transient int[] columns;
+
+		/** Missing token combinations, by mixed-radix index. */
+		private final transient boolean[] missing;
+
+		/**
+		 * @param earlier the t-1 earlier groups.
+		 * @param group   the new group.
+		 */
+		private Combination(final int[] earlier, final int group) {
+			this.columns = Arrays.copyOf(earlier, earlier.length + 1);
+			this.columns[earlier.length] = group;
+
+			int size = 1; // NOPMD: accumulator.
+			for (final int column : this.columns) {
+				size *= CoveringArray.this.groups.get(column).size();
+			}
+			this.missing = new boolean[size];
+
+			final int[] row = new int[CoveringArray.this.groups.size()];
+			for (int index = 0; index < size; index++) {
+				Arrays.fill(row, OPEN);
+				final int[] tokens = decode(index);
+				for (int i = 0; i < tokens.length; i++) {
+					row[this.columns[i]] = tokens[i];
+				}
+				this.missing[index] = isCompletable(row);
+			}
+		}
+
+		/**
+		 * @param index mixed-radix index of a token combination.
+		 * @return the token per group.
+		 */
+		private int[] decode(final int index)
+		{
+			final int[] retval = new int[this.columns.length];
+			int remaining = index; // NOPMD: accumulator.
+			for (int i = this.columns.length - 1; i >= 0; i--) {
+				final int radix = CoveringArray.this.groups.get(this.columns[i]).size();
+				retval[i] = remaining % radix;
+				remaining /= radix;
+			}
+			return retval;
+		}
+
+		/**
+		 * @param row a scenario.
+		 * @return the index of the token combination in the scenario, or -1 when one
+		 *         of the groups is open.
+		 */
+		private int indexOf(final int... row)
+		{
+			int retval = 0; // NOPMD: accumulator.
+			for (final int column : this.columns) {
+				if (row[column] == OPEN) {
+					return -1;
+				}
+				retval = retval * CoveringArray.this.groups.get(column).size() + row[column];
+			}
+			return retval;
+		}
+
+		/**
+		 * @param row a scenario.
+		 * @return true when the scenario has a missing token combination.
+		 */
+		private boolean isMissing(final int... row)
+		{
+			final int index = indexOf(row);
+			return index >= 0 && this.missing[index];
+		}
+
+		/**
+		 * Marks the token combination of a scenario as covered.
+		 *
+		 * @param row a scenario.
+		 */
+		private void cover(final int... row)
+		{
+			final int index = indexOf(row);
+			if (index >= 0) {
+				this.missing[index] = false;
+			}
+		}
+	}
+}
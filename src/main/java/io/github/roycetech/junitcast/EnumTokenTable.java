@@ -0,0 +1,100 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps raw scenario tokens to the constants of a Var enum. A token matches the
+ * constant named like the token without its spaces. The table is built once
+ * per enum class, and each raw token is only stripped the first time it is
+ * seen.
+ */
+final class EnumTokenTable {
+
+	/** Table per enum class. */
+	private static final ClassValue<EnumTokenTable> CACHE = new ClassValue<>() {
+		@Override
+		protected EnumTokenTable computeValue(final Class<?> type)
+		{
+			return new EnumTokenTable(type);
+		}
+	};
+
+	/** The enum class. */
+	private final transient Class<?> enumType;
+
+	/** Constants keyed by raw token, seeded with the constant names. */
+	private final transient Map<String, Enum<?>> constants = new ConcurrentHashMap<>();
+
+	/**
+	 * @param pEnumType the enum class.
+	 */
+	private EnumTokenTable(final Class<?> pEnumType) {
+		this.enumType = pEnumType;
+		for (final Object constant : pEnumType.getEnumConstants()) {
+			final Enum<?> nextEnum = (Enum<?>) constant;
+			this.constants.put(nextEnum.name(), nextEnum);
+		}
+	}
+
+	/**
+	 * Returns the table of an enum class.
+	 *
+	 * @param enumType the enum class.
+	 * @return the shared table.
+	 */
+	/* default */ static EnumTokenTable of(final Class<?> enumType)
+	{
+		return CACHE.get(enumType);
+	}
+
+	/**
+	 * Returns the number of constants of the enum.
+	 *
+	 * @return the constant count.
+	 */
+	/* default */ int size()
+	{
+		return this.enumType.getEnumConstants().length;
+	}
+
+	/**
+	 * Finds the constant of a raw scenario token.
+	 *
+	 * @param token the raw scenario token.
+	 * @return the matching constant.
+	 * @throws IllegalArgumentException when no constant matches, like
+	 *                                  {@link Enum#valueOf(Class, String)}.
+	 */
+	/* default */ Enum<?> lookup(final Object token)
+	{
+		final String raw = token.toString();
+		final Enum<?> retval = this.constants.get(raw);
+		if (retval != null) {
+			return retval;
+		}
+
+		final Enum<?> stripped = this.constants.get(raw.replace(" ", ""));
+		if (stripped == null) {
+			throw new IllegalArgumentException(
+					"No enum constant " + this.enumType.getCanonicalName() + "." + raw);
+		}
+		this.constants.put(raw, stripped);
+		return stripped;
+	}
+}
@@ -0,0 +1,621 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.RandomAccess;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * On-disk cache of generated parameters. The parameters of a resource are
+ * stored as a compact scenario table: for each case, the distinct tokens of
+ * each variable group, then one row per scenario holding the token index per
+ * group and the outcome index. A cache hit is memory-mapped without parsing the
+ * resource bundle or evaluating any rule, and each parameter is decoded from
+ * its row when it is read. Forks mapping the same file share its pages through
+ * the OS page cache.
+ *
+ * <p>
+ * The cache file is named after the SHA-256 of the library version, of the
+ * properties content and of the class files of the converters it names, so
+ * any change to either is a miss. Only String, boxed primitive and null tokens can be stored, other
+ * resources are simply not cached. The same files, generated at build time and
+ * placed on the test classpath, are the precomputed tables of
+ * {@link ScenarioTables}.
+ */
+final class FixtureCache {
+
+	/** Version of the binary format, part of the key. */
+	private static final int FORMAT = 1;
+
+	/** Version of the library, part of the key, null outside of the jar. */
+	private static final String VERSION = FixtureCache.class.getPackage()
+			.getImplementationVersion();
+
+	/** File header. */
+	private static final int MAGIC = 0x4A435354;
+
+	/** Tag of null tokens, other tags are the index in {@link #TYPES} plus one. */
+	private static final byte NULL = 0;
+
+	/** Token types that can be stored, their index being the tag minus one. */
+	private static final List<Class<?>> TYPES = Arrays.asList(String.class, Integer.class,
+			Long.class, Double.class, Float.class, Boolean.class, Short.class, Byte.class,
+			Character.class);
+
+	/** Parsers of the token types, in the order of {@link #TYPES}. */
+	private static final List<Function<String, Object>> PARSERS = Arrays.asList(text -> text,
+			Integer::valueOf, Long::valueOf, Double::valueOf, Float::valueOf, Boolean::valueOf,
+			Short::valueOf, Byte::valueOf, text -> text.charAt(0));
+
+	/** In-process locks per cache file, file locks being held per process. */
+	private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+	/** The cache file. */
+	private final transient Path file;
+
+	/**
+	 * @param pFile the cache file.
+	 */
+	private FixtureCache(final Path pFile) {
+		this.file = pFile;
+	}
+
+	/**
+	 * Locates the cache file of a resource.
+	 *
+	 * @param directory   the cache directory, null when caching is disabled.
+	 * @param resourceUri resource bundle URI.
+	 * @param variant     generation options that change the parameters.
+	 * @return the cache, or null when disabled or the resource cannot be hashed.
+	 */
+	/* default */ static FixtureCache forResource(final Path directory, final String resourceUri,
+			final String variant)
+	{
+		if (directory == null) {
+			return null;
+		}
+
+		final String fileName = fileName(resourceUri, variant);
+		return fileName == null ? null : new FixtureCache(directory.resolve(fileName));
+	}
+
+	/**
+	 * Reads the precomputed table of a resource from the classpath, see
+	 * {@link ScenarioTables}.
+	 *
+	 * @param <T>         scenario element type.
+	 * @param resourceUri resource bundle URI.
+	 * @param variant     generation options that change the parameters.
+	 * @return the parameters in their generated order, or null when there is no
+	 *         table for the current content of the resource.
+	 */
+	/* default */ static <T> List<Parameter<T>> readTable(final String resourceUri,
+			final String variant)
+	{
+		final String fileName = fileName(resourceUri, variant);
+		if (fileName == null) {
+			return null;
+		}
+
+		try (InputStream input = ResourceFixture.class.getClassLoader()
+				.getResourceAsStream(ScenarioTables.DIRECTORY + "/" + fileName)) {
+			return input == null ? null : decode(ByteBuffer.wrap(input.readAllBytes()));
+		} catch (final IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Names the cache file of a resource after its content.
+	 *
+	 * @param resourceUri resource bundle URI.
+	 * @param variant     generation options that change the parameters.
+	 * @return the file name, or null when the resource cannot be hashed.
+	 */
+	private static String fileName(final String resourceUri, final String variant)
+	{
+		final ClassLoader loader = ResourceFixture.class.getClassLoader();
+		try (InputStream input = loader
+				.getResourceAsStream(resourceUri.replace('.', '/') + ".properties")) {
+			if (input == null) {
+				return null;
+			}
+
+			final byte[] content = input.readAllBytes();
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update((FORMAT + ":" + VERSION + ":" + variant + ":")
+					.getBytes(StandardCharsets.UTF_8));
+			digest.update(content);
+			for (final String converter : converterNames(content)) {
+				digest.update(converter.getBytes(StandardCharsets.UTF_8));
+				try (InputStream classFile = loader
+						.getResourceAsStream(converter.replace('.', '/') + ".class")) {
+					if (classFile != null) {
+						digest.update(classFile.readAllBytes());
+					}
+				}
+			}
+
+			final StringBuilder name = new StringBuilder(resourceUri).append('-');
+			for (final byte next : digest.digest()) {
+				name.append(String.format("%02x", next));
+			}
+			return name.append(".bin").toString();
+		} catch (final IOException e) {
+			return null;
+		} catch (final NoSuchAlgorithmException e) {
+			throw new JUnitCastException(e);
+		}
+	}
+
+	/**
+	 * Lists the converter classes named in a properties file.
+	 *
+	 * @param content the properties content.
+	 * @return the sorted converter class names.
+	 */
+	private static TreeSet<String> converterNames(final byte... content) throws IOException
+	{
+		final Properties properties = new Properties();
+		properties.load(new ByteArrayInputStream(content));
+
+		final TreeSet<String> retval = new TreeSet<>();
+		for (final String key : properties.stringPropertyNames()) {
+			if (key.startsWith(ResourceFixture.ResourceKey.converter.name())) {
+				for (final String name : properties.getProperty(key).split("\\|")) {
+					retval.add(name.trim());
+				}
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * Returns the cache file.
+	 *
+	 * @return the path of the cache file.
+	 */
+	/* default */ Path getFile()
+	{
+		return this.file;
+	}
+
+	/**
+	 * Reads the cached parameters.
+	 *
+	 * @param <T> scenario element type.
+	 * @return the parameters in their generated order, or null on a miss or when
+	 *         the file is too large to be mapped.
+	 */
+	/* default */ <T> List<Parameter<T>> read()
+	{
+		if (!Files.isRegularFile(this.file)) {
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+			return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} catch (final IOException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the cached parameters, generating and writing them first on a miss.
+	 * The miss is handled under an exclusive lock on a sibling lock file, so when
+	 * forks start together only the first one generates the parameters and the
+	 * others map what it wrote. The lock file is kept next to the cache file, as
+	 * deleting it could let another fork lock a new file while the old one is
+	 * still held.
+	 *
+	 * @param <T>       scenario element type.
+	 * @param generator generates the parameters on a miss.
+	 * @return the cached parameters, or the generated ones when they cannot be
+	 *         cached.
+	 */
+	@SuppressWarnings("try")
+	/* default */ <T> List<Parameter<T>> share(final Supplier<List<Parameter<T>>> generator)
+	{
+		final List<Parameter<T>> cached = read();
+		if (cached != null) {
+			return cached;
+		}
+
+		synchronized (LOCKS.computeIfAbsent(this.file, key -> new Object())) {
+			final Path lockFile = this.file.resolveSibling(this.file.getFileName() + ".lock");
+			try {
+				Files.createDirectories(this.file.getParent());
+				/* The file lock is only held for the block, never referenced. */
+				try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+						StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+					final List<Parameter<T>> written = read();
+					if (written != null) {
+						return written;
+					}
+
+					final List<Parameter<T>> generated = generator.get();
+					final List<Parameter<T>> retval = write(generated) ? read() : null;
+					return retval == null ? generated : retval;
+				}
+			} catch (final IOException e) {
+				return generator.get();
+			}
+		}
+	}
+
+	/**
+	 * Decodes the parameters of a cache file.
+	 *
+	 * @param <T>    scenario element type.
+	 * @param buffer the content of the cache file.
+	 * @return the parameters in their generated order, or null when the content
+	 *         is not valid.
+	 */
+	private static <T> List<Parameter<T>> decode(final ByteBuffer buffer)
+	{
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+				return null;
+			}
+			return new Table<>(buffer);
+		} catch (final RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the generated parameters. The file is written aside and moved in
+	 * place so that concurrent forks never read a partial file.
+	 *
+	 * @param <T>        scenario element type.
+	 * @param parameters the generated parameters, in order.
+	 * @return false when a token type cannot be stored or the write failed.
+	 */
+	/* default */ <T> boolean write(final List<Parameter<T>> parameters)
+	{
+		final Map<String, Integer> outcomes = new LinkedHashMap<>();
+		final List<List<Parameter<T>>> cases = new ArrayList<>();
+		Parameter<T> previous = null; // NOPMD: null default, conditionally redefine.
+		for (final Parameter<T> parameter : parameters) {
+			if (!isStorable(parameter.getScenario())) {
+				return false;
+			}
+			outcomes.putIfAbsent(parameter.getExpected(), outcomes.size());
+			if (previous == null || !isSameCase(previous, parameter)) {
+				cases.add(new ArrayList<>());
+			}
+			cases.get(cases.size() - 1).add(parameter);
+			previous = parameter;
+		}
+
+		Path temp = null; // NOPMD: null default, conditionally redefine.
+		try {
+			Files.createDirectories(this.file.getParent());
+			temp = Files.createTempFile(this.file.getParent(), this.file.getFileName().toString(),
+					".tmp");
+			try (DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				output.writeInt(MAGIC);
+				output.writeInt(FORMAT);
+				writeStrings(output, new ArrayList<>(outcomes.keySet()));
+				output.writeInt(cases.size());
+				for (final List<Parameter<T>> caseParameters : cases) {
+					writeCase(output, caseParameters, outcomes);
+				}
+			}
+			Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		} catch (final IOException e) {
+			deleteQuietly(temp);
+			return false;
+		}
+	}
+
+	/**
+	 * @param temp the temporary file, may be null.
+	 */
+	private static void deleteQuietly(final Path temp)
+	{
+		if (temp != null) {
+			try {
+				Files.deleteIfExists(temp);
+			} catch (final IOException e) {
+				temp.toFile().deleteOnExit();
+			}
+		}
+	}
+
+	/**
+	 * @param output         the cache file stream.
+	 * @param caseParameters the parameters of one case.
+	 * @param outcomes       outcome to index mapping.
+	 */
+	private static <T> void writeCase(final DataOutputStream output,
+			final List<Parameter<T>> caseParameters, final Map<String, Integer> outcomes)
+			throws IOException
+	{
+		final Parameter<T> first = caseParameters.get(0);
+		writeString(output, first.getCaseDesc());
+		writeStrings(output, first.getIdentifier());
+
+		final int groupCount = first.getScenario().size();
+		final List<Map<Object, Integer>> groups = new ArrayList<>(groupCount);
+		for (int g = 0; g < groupCount; g++) {
+			final Map<Object, Integer> tokens = new LinkedHashMap<>();
+			for (final Parameter<T> parameter : caseParameters) {
+				tokens.putIfAbsent(parameter.getScenario().get(g), tokens.size());
+			}
+			groups.add(tokens);
+		}
+
+		output.writeInt(groupCount);
+		for (final Map<Object, Integer> tokens : groups) {
+			output.writeInt(tokens.size());
+			for (final Object token : tokens.keySet()) {
+				writeToken(output, token);
+			}
+		}
+
+		output.writeInt(caseParameters.size());
+		for (final Parameter<T> parameter : caseParameters) {
+			for (int g = 0; g < groupCount; g++) {
+				output.writeInt(groups.get(g).get(parameter.getScenario().get(g)));
+			}
+			output.writeInt(outcomes.get(parameter.getExpected()));
+		}
+	}
+
+	/**
+	 * @param previous the previous parameter.
+	 * @param next     the next parameter.
+	 * @return true when both belong to the same case.
+	 */
+	private static boolean isSameCase(final Parameter<?> previous, final Parameter<?> next)
+	{
+		return previous.getCaseDesc().equals(next.getCaseDesc())
+				&& previous.getIdentifier().equals(next.getIdentifier())
+				&& previous.getScenario().size() == next.getScenario().size();
+	}
+
+	/**
+	 * @param scenario the scenario tokens.
+	 * @return true when every token can be stored.
+	 */
+	private static boolean isStorable(final List<?> scenario)
+	{
+		return scenario.stream().allMatch(token -> token == null || TYPES.contains(token.getClass()));
+	}
+
+	/**
+	 * @param output the cache file stream.
+	 * @param token  a storable token.
+	 */
+	private static void writeToken(final DataOutputStream output, final Object token)
+			throws IOException
+	{
+		if (token == null) {
+			output.writeByte(NULL);
+		} else {
+			output.writeByte(TYPES.indexOf(token.getClass()) + 1);
+			writeString(output, token.toString());
+		}
+	}
+
+	/**
+	 * @param buffer the cache file content.
+	 * @return the decoded token.
+	 */
+	private static Object readToken(final ByteBuffer buffer)
+	{
+		final byte tag = buffer.get();
+		if (tag == NULL) {
+			return null;
+		}
+
+		return PARSERS.get(tag - 1).apply(readString(buffer));
+	}
+
+	/**
+	 * @param output the cache file stream.
+	 * @param values the strings to write.
+	 */
+	private static void writeStrings(final DataOutputStream output, final List<String> values)
+			throws IOException
+	{
+		output.writeInt(values.size());
+		for (final String value : values) {
+			writeString(output, value);
+		}
+	}
+
+	/**
+	 * @param output the cache file stream.
+	 * @param value  the string to write.
+	 */
+	private static void writeString(final DataOutputStream output, final String value)
+			throws IOException
+	{
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * @param buffer the cache file content.
+	 * @return the decoded strings.
+	 */
+	private static List<String> readStrings(final ByteBuffer buffer)
+	{
+		final int count = buffer.getInt();
+		final List<String> retval = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			retval.add(readString(buffer));
+		}
+		return Collections.unmodifiableList(retval);
+	}
+
+	/**
+	 * @param buffer the cache file content.
+	 * @return the decoded string.
+	 */
+	private static String readString(final ByteBuffer buffer)
+	{
+		final byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * The parameters of a cache file, decoded on access. The token dictionaries
+	 * are decoded up front, each parameter is built from its row when it is
+	 * read. Rows are read at absolute offsets, so the list is safe to share
+	 * between threads.
+	 *
+	 * @param <T> scenario element type.
+	 */
+	private static final class Table<T> extends AbstractList<Parameter<T>> implements RandomAccess {
+
+		/** The content of the cache file. */
+		private final transient ByteBuffer buffer;
+
+		/** Outcome per outcome index. */
+		private final transient List<String> outcomes;
+
+		/** Index of the first parameter of each case, plus the total size. */
+		private final transient int[] caseStarts;
+
+		/** Offset of the first row of each case. */
+		private final transient int[] rowOffsets;
+
+		/** Description per case. */
+		private final transient String[] caseDescs;
+
+		/** Identifier per case. */
+		private final transient List<List<String>> caseIds;
+
+		/** Tokens per variable group, per case. */
+		private final transient List<List<List<Object>>> caseGroups;
+
+		/**
+		 * Decodes the dictionaries of the cases.
+		 *
+		 * @param pBuffer the content of the cache file, positioned after the header.
+		 */
+		/* default */ Table(final ByteBuffer pBuffer) {
+			this.buffer = pBuffer;
+			this.outcomes = readStrings(pBuffer);
+
+			final int caseCount = pBuffer.getInt();
+			this.caseStarts = new int[caseCount + 1];
+			this.rowOffsets = new int[caseCount];
+			this.caseDescs = new String[caseCount];
+			this.caseIds = new ArrayList<>(caseCount);
+			this.caseGroups = new ArrayList<>(caseCount);
+			for (int c = 0; c < caseCount; c++) {
+				this.caseDescs[c] = readString(pBuffer);
+				this.caseIds.add(readStrings(pBuffer));
+				final int groupCount = pBuffer.getInt();
+				final List<List<Object>> groups = new ArrayList<>(groupCount);
+				for (int g = 0; g < groupCount; g++) {
+					final int tokenCount = pBuffer.getInt();
+					final List<Object> tokens = new ArrayList<>(tokenCount);
+					for (int t = 0; t < tokenCount; t++) {
+						tokens.add(readToken(pBuffer));
+					}
+					groups.add(tokens);
+				}
+				this.caseGroups.add(groups);
+
+				final int rowCount = pBuffer.getInt();
+				this.rowOffsets[c] = pBuffer.position();
+				this.caseStarts[c + 1] = Math.addExact(this.caseStarts[c], rowCount);
+				pBuffer.position(Math.addExact(pBuffer.position(),
+						Math.multiplyExact(rowCount, (groupCount + 1) * Integer.BYTES)));
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Parameter<T> get(final int index)
+		{
+			if (index < 0 || index >= size()) {
+				throw new IndexOutOfBoundsException(index);
+			}
+
+			final int found = Arrays.binarySearch(this.caseStarts, index);
+			final int caseIndex = found >= 0 ? lastCaseStartingAt(found) : -found - 2;
+			final List<List<Object>> groups = this.caseGroups.get(caseIndex);
+			int offset = this.rowOffsets[caseIndex]
+					+ (index - this.caseStarts[caseIndex]) * (groups.size() + 1) * Integer.BYTES;
+
+			final Object[] scenario = new Object[groups.size()];
+			for (int g = 0; g < scenario.length; g++) {
+				scenario[g] = groups.get(g).get(this.buffer.getInt(offset));
+				offset += Integer.BYTES;
+			}
+			return new Parameter<>(this.caseDescs[caseIndex],
+					(List<T>) Collections.unmodifiableList(Arrays.asList(scenario)),
+					this.outcomes.get(this.buffer.getInt(offset)), this.caseIds.get(caseIndex));
+		}
+
+		/**
+		 * @param found an index of {@link #caseStarts} holding a parameter index.
+		 * @return the last case starting at that parameter, skipping empty cases.
+		 */
+		private int lastCaseStartingAt(final int found)
+		{
+			int retval = found;
+			while (retval + 1 < this.caseStarts.length - 1
+					&& this.caseStarts[retval + 1] == this.caseStarts[found]) {
+				retval++;
+			}
+			return retval;
+		}
+
+		@Override
+		public int size()
+		{
+			return this.caseStarts[this.caseStarts.length - 1];
+		}
+	}
+}
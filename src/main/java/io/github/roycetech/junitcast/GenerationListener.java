@@ -0,0 +1,84 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+/**
+ * Receives the timings and counters of the parameter generation, see
+ * {@link ParameterGenerator#listener(GenerationListener)}. Callbacks are made on
+ * the thread doing the generation, implementations shared between generators
+ * must be thread safe.
+ */
+public interface GenerationListener {
+
+	/**
+	 * Generation stages, in the order they happen.
+	 */
+	enum Stage {
+		/** Loading of the resource bundle. */
+		BUNDLE_LOAD,
+
+		/** One of the resource initializers, named after its class. */
+		INITIALIZER,
+
+		/** Parsing and compilation of the rules and exemptions. */
+		RULE_PARSING,
+
+		/** Walk of the product of the variables of a case. */
+		ENUMERATION,
+
+		/** Evaluation of the exemptions while walking the product of a case. */
+		EXEMPTION,
+
+		/**
+		 * Evaluation of the rule against the scenarios of a case, including the
+		 * exemptions when the whole truth table is evaluated at once.
+		 */
+		EVALUATION,
+
+		/** Sorting of the parameters by display name. */
+		SORTING
+	}
+
+	/**
+	 * Called when a stage is completed. Stages of a case are reported once the
+	 * parameters of the case are all generated.
+	 *
+	 * @param resource resource bundle URI, null when the fixtures were given.
+	 * @param stage    the completed stage.
+	 * @param name     the initializer class or case description, null for the
+	 *                 stages of the whole resource.
+	 * @param nanos    time spent in the stage, in nanoseconds.
+	 */
+	default void stageCompleted(final String resource, final Stage stage, final String name,
+			final long nanos)
+	{
+	}
+
+	/**
+	 * Called once the parameters of a computed case are all generated.
+	 *
+	 * @param resource  resource bundle URI, null when the fixtures were given.
+	 * @param caseDesc  case description.
+	 * @param product   size of the product of the variables of the case.
+	 * @param exempted  number of scenarios removed by the exemptions.
+	 * @param emitted   number of parameters generated.
+	 * @param ambiguous number of scenarios not matching exactly one outcome.
+	 */
+	default void caseCompleted(final String resource, final String caseDesc, final long product,
+			final long exempted, final long emitted, final long ambiguous)
+	{
+	}
+}
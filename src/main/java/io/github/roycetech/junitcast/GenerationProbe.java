@@ -0,0 +1,237 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.google.common.math.LongMath;
+
+import io.github.roycetech.junitcast.GenerationListener.Stage;
+import io.github.roycetech.junitcast.rule.ExemptionPredicate;
+
+/**
+ * Accumulates the timings and counters of the generation of one case, then
+ * reports them to a {@link GenerationListener} when the parameters of the case
+ * are all generated, and to the flight recorder when the generation event is
+ * enabled. Only created when one of them is.
+ *
+ * <p>
+ * A scenario that does not match exactly one outcome does not stop the case
+ * right away: it is counted and skipped, and the case fails once it is
+ * enumerated, so that the reported count covers the whole case.
+ */
+final class GenerationProbe {
+
+	/** Listener to report to, may be null. */
+	private final transient GenerationListener listener;
+
+	/** Resource bundle URI, may be null. */
+	private final transient String resource;
+
+	/** Case description. */
+	private final transient String caseDesc;
+
+	/** Flight recorder event of the case. */
+	private final transient CastEvents.Generation event;
+
+	/** Exemptions of the case, may be null. */
+	private final transient ExemptionPredicate exemption;
+
+	/** Exempted count of the exemptions before the case was generated. */
+	private final transient long exemptedBefore;
+
+	/** Time spent per stage. */
+	private final transient long[] nanos = new long[Stage.values().length];
+
+	/** Number of parameters generated. */
+	private transient long emitted;
+
+	/** Number of scenarios not matching exactly one outcome. */
+	private transient long ambiguous;
+
+	/** Failure of the first scenario not matching exactly one outcome. */
+	private transient AssertionError failure;
+
+	/**
+	 * Compiles the rule and exemptions of the case, timed as rule parsing.
+	 *
+	 * @param pListener listener to report to, may be null.
+	 * @param pResource resource bundle URI, may be null.
+	 * @param fixture   the case fixture.
+	 * @param pEvent    flight recorder event of the case.
+	 */
+	/* default */ GenerationProbe(final GenerationListener pListener, final String pResource,
+			final CaseFixture<?> fixture, final CastEvents.Generation pEvent) {
+		this.listener = pListener;
+		this.resource = pResource;
+		this.caseDesc = fixture.getCaseDesc();
+		this.event = pEvent;
+		this.event.begin();
+
+		final long start = System.nanoTime();
+		fixture.getCompiledRule();
+		this.exemption = fixture.getExemptionPredicate();
+		this.nanos[Stage.RULE_PARSING.ordinal()] = System.nanoTime() - start;
+		this.exemptedBefore = this.exemption == null ? 0 : this.exemption.getExemptedCount();
+	}
+
+	/**
+	 * Times a step of the generation.
+	 *
+	 * @param <R>   result type.
+	 * @param stage the stage of the step.
+	 * @param step  the step.
+	 * @return the result of the step.
+	 */
+	/* default */ <R> R time(final Stage stage, final Supplier<R> step)
+	{
+		final long start = System.nanoTime();
+		try {
+			return step.get();
+		} finally {
+			this.nanos[stage.ordinal()] += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Adds time spent evaluating the exemptions while walking the product.
+	 *
+	 * @param elapsed time in nanoseconds.
+	 */
+	/* default */ void exemption(final long elapsed)
+	{
+		this.nanos[Stage.EXEMPTION.ordinal()] += elapsed;
+	}
+
+	/**
+	 * Times the evaluation of the rule against a scenario, counting the scenarios
+	 * that fail because they do not match exactly one outcome.
+	 *
+	 * @param evaluation the rule evaluation.
+	 * @return the outcome of the scenario, or null when it failed, see
+	 *         {@link #failure()}.
+	 */
+	/* default */ String evaluate(final Supplier<String> evaluation)
+	{
+		try {
+			return time(Stage.EVALUATION, evaluation);
+		} catch (final AssertionError error) {
+			this.ambiguous++;
+			if (this.failure == null) {
+				this.failure = error;
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Fails the case when a scenario did not match exactly one outcome. Meant to
+	 * be pulled after the parameters of the case.
+	 *
+	 * @param <P> parameter type.
+	 * @return an empty stream.
+	 * @throws AssertionError with the first failure as the cause.
+	 */
+	/* default */ <P> Stream<P> failure()
+	{
+		if (this.failure != null) {
+			throw new AssertionError(this.ambiguous + " scenario(s) of case '" + this.caseDesc
+					+ "' failed, first: " + this.failure.getMessage(), this.failure);
+		}
+		return Stream.empty();
+	}
+
+	/**
+	 * Counts a generated parameter.
+	 */
+	/* default */ void emitted()
+	{
+		this.emitted++;
+	}
+
+	/**
+	 * Times the walk of the product. The time spent in the exemptions is reported
+	 * separately, see {@link #exemption(long)}.
+	 *
+	 * @param <T>       scenario element type.
+	 * @param scenarios the walk of the product.
+	 * @return the timed walk.
+	 */
+	/* default */ <T> Iterator<List<T>> enumerate(final Iterator<List<T>> scenarios)
+	{
+		return new Iterator<List<T>>() {
+
+			@Override
+			public boolean hasNext()
+			{
+				return scenarios.hasNext();
+			}
+
+			@Override
+			public List<T> next()
+			{
+				final long exempting = GenerationProbe.this.nanos[Stage.EXEMPTION.ordinal()];
+				final long start = System.nanoTime();
+				final List<T> retval = scenarios.next();
+				GenerationProbe.this.nanos[Stage.ENUMERATION.ordinal()] += System.nanoTime()
+						- start - (GenerationProbe.this.nanos[Stage.EXEMPTION.ordinal()] - exempting);
+				return retval;
+			}
+		};
+	}
+
+	/**
+	 * Reports the stages and counters of the case.
+	 *
+	 * @param groups the variable groups of the case.
+	 */
+	/* default */ void report(final List<? extends List<?>> groups)
+	{
+		this.event.end();
+		if (this.listener != null) {
+			for (final Stage stage : Stage.values()) {
+				if (this.nanos[stage.ordinal()] > 0) {
+					this.listener.stageCompleted(this.resource, stage, this.caseDesc,
+							this.nanos[stage.ordinal()]);
+				}
+			}
+		}
+
+		long product = 1; // NOPMD: accumulator.
+		for (final List<?> group : groups) {
+			product = LongMath.saturatedMultiply(product, group.size());
+		}
+		final long exempted = this.exemption == null ? 0
+				: this.exemption.getExemptedCount() - this.exemptedBefore;
+		if (this.listener != null) {
+			this.listener.caseCompleted(this.resource, this.caseDesc, product, exempted,
+					this.emitted, this.ambiguous);
+		}
+
+		if (this.event.shouldCommit()) {
+			this.event.resource = this.resource;
+			this.event.caseDescription = this.caseDesc;
+			this.event.product = product;
+			this.event.exempted = exempted;
+			this.event.emitted = this.emitted;
+			this.event.ambiguous = this.ambiguous;
+			this.event.commit();
+		}
+	}
+}
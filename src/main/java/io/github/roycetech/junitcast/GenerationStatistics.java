@@ -0,0 +1,146 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Totals the timings and counters of every generation it listens to, e.g. to
+ * be written in a test report. Safe to share between generators and threads.
+ */
+public class GenerationStatistics implements GenerationListener {
+
+	/** Nanoseconds per millisecond. */
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	/** Time spent per stage. */
+	private final transient Map<Stage, LongAdder> nanos = new EnumMap<>(Stage.class);
+
+	/** Number of computed cases. */
+	private final transient LongAdder cases = new LongAdder();
+
+	/** Total size of the products. */
+	private final transient LongAdder product = new LongAdder();
+
+	/** Total number of exempted scenarios. */
+	private final transient LongAdder exempted = new LongAdder();
+
+	/** Total number of generated parameters. */
+	private final transient LongAdder emitted = new LongAdder();
+
+	/** Total number of scenarios not matching exactly one outcome. */
+	private final transient LongAdder ambiguous = new LongAdder();
+
+	/**
+	 * Creates empty statistics.
+	 */
+	public GenerationStatistics() {
+		for (final Stage stage : Stage.values()) {
+			this.nanos.put(stage, new LongAdder());
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void stageCompleted(final String resource, final Stage stage, final String name,
+			final long elapsed)
+	{
+		this.nanos.get(stage).add(elapsed);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void caseCompleted(final String resource, final String caseDesc, final long caseProduct,
+			final long caseExempted, final long caseEmitted, final long caseAmbiguous)
+	{
+		this.cases.increment();
+		this.product.add(caseProduct);
+		this.exempted.add(caseExempted);
+		this.emitted.add(caseEmitted);
+		this.ambiguous.add(caseAmbiguous);
+	}
+
+	/**
+	 * @param stage the generation stage.
+	 * @return the total time spent in the stage, in nanoseconds.
+	 */
+	public long getNanos(final Stage stage)
+	{
+		return this.nanos.get(stage).sum();
+	}
+
+	/**
+	 * @return the number of computed cases.
+	 */
+	public long getCaseCount()
+	{
+		return this.cases.sum();
+	}
+
+	/**
+	 * @return the total size of the products of the cases.
+	 */
+	public long getProductSize()
+	{
+		return this.product.sum();
+	}
+
+	/**
+	 * @return the total number of exempted scenarios.
+	 */
+	public long getExemptedCount()
+	{
+		return this.exempted.sum();
+	}
+
+	/**
+	 * @return the total number of generated parameters.
+	 */
+	public long getEmittedCount()
+	{
+		return this.emitted.sum();
+	}
+
+	/**
+	 * @return the total number of scenarios not matching exactly one outcome.
+	 */
+	public long getAmbiguousCount()
+	{
+		return this.ambiguous.sum();
+	}
+
+	/**
+	 * Summarizes the totals, times are in milliseconds.
+	 *
+	 * @return the summary of the totals.
+	 */
+	@Override
+	public String toString()
+	{
+		final StringBuilder retval = new StringBuilder(128);
+		retval.append("cases=").append(getCaseCount()).append(", product=")
+				.append(getProductSize()).append(", exempted=").append(getExemptedCount())
+				.append(", emitted=").append(getEmittedCount()).append(", ambiguous=")
+				.append(getAmbiguousCount());
+		for (final Stage stage : Stage.values()) {
+			retval.append(", ").append(stage).append('=')
+					.append(String.format("%.3f", getNanos(stage) / NANOS_PER_MILLI));
+		}
+		return retval.toString();
+	}
+}
@@ -0,0 +1,231 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Fingerprints of the scenarios of a test class that passed, for incremental
+ * runs. Enabled by the {@value #DIRECTORY_PROPERTY} system property, e.g.
+ * {@code target/junit-cast-incremental}. A scenario is skipped when its
+ * {@link TrackedParameter#getFingerprint() fingerprint} passed before, it is
+ * run again when its fingerprint changed or when it failed last time.
+ *
+ * <p>
+ * The file of a test class also holds a digest of the class files of the test
+ * and of its subject, so any change to either runs every scenario again.
+ * Changes to other classes are not detected, delete the directory in that
+ * case. Like {@link FixtureCache}, an unreadable or unwritable file only
+ * disables the skipping.
+ */
+final class IncrementalStore {
+
+	/** System property holding the directory of the fingerprints. */
+	/* default */ static final String DIRECTORY_PROPERTY = "junitcast.incremental.dir";
+
+	/** Loaded stores keyed by file. */
+	private static final Map<Path, IncrementalStore> STORES = new ConcurrentHashMap<>();
+
+	/** The fingerprints file. */
+	private final transient Path file;
+
+	/** Digest of the class files of the test and of its subject. */
+	private final transient String classDigest;
+
+	/** Fingerprints of the passed scenarios. */
+	private final transient Set<String> passed = ConcurrentHashMap.newKeySet();
+
+	/** True when the fingerprints changed since they were loaded or written. */
+	private transient volatile boolean dirty;
+
+	/**
+	 * @param pFile        the fingerprints file.
+	 * @param pClassDigest digest of the class files of the test and its subject.
+	 */
+	private IncrementalStore(final Path pFile, final String pClassDigest) {
+		this.file = pFile;
+		this.classDigest = pClassDigest;
+	}
+
+	/**
+	 * Returns the store of a test class, loading it on first access.
+	 *
+	 * @param testClass the test class.
+	 * @param shard     the shard of the parameters, null for every scenario.
+	 * @return the store, or null when incremental runs are disabled.
+	 */
+	/* default */ static IncrementalStore forClass(final Class<?> testClass,
+			final ScenarioShard shard)
+	{
+		final String directory = System.getProperty(DIRECTORY_PROPERTY);
+		if (directory == null || directory.isBlank()) {
+			return null;
+		}
+		return STORES.computeIfAbsent(
+				Paths.get(directory.trim()).resolve(fileName(testClass, shard)).toAbsolutePath(),
+				file -> load(file, testClass));
+	}
+
+	/**
+	 * Writes the changed stores.
+	 */
+	/* default */ static void flushAll()
+	{
+		for (final IncrementalStore store : STORES.values()) {
+			store.flush();
+		}
+	}
+
+	/**
+	 * @param testClass the test class.
+	 * @param shard     the shard of the parameters, null for every scenario.
+	 * @return the file name of the store of the test class, one per shard.
+	 */
+	private static String fileName(final Class<?> testClass, final ScenarioShard shard)
+	{
+		return testClass.getName()
+				+ (shard == null ? "" : "-" + shard.getIndex() + "-" + shard.getCount()) + ".txt";
+	}
+
+	/**
+	 * Loads the passed fingerprints, ignoring them when the classes changed.
+	 *
+	 * @param file      the fingerprints file.
+	 * @param testClass the test class.
+	 * @return the store.
+	 */
+	private static IncrementalStore load(final Path file, final Class<?> testClass)
+	{
+		final IncrementalStore retval = new IncrementalStore(file,
+				classDigest(testClass, TestCaseMetadata.of(testClass).getSubjectType()));
+		try {
+			if (Files.isRegularFile(file)) {
+				final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+				if (!lines.isEmpty() && retval.classDigest.equals(lines.get(0))) {
+					retval.passed.addAll(lines.subList(1, lines.size()));
+				}
+			}
+		} catch (final IOException e) {
+			retval.passed.clear();
+		}
+		return retval;
+	}
+
+	/**
+	 * @param classes the classes to digest, null elements are ignored.
+	 * @return the digest of the class files.
+	 */
+	private static String classDigest(final Class<?>... classes)
+	{
+		final Hasher hasher = Hashing.sha256().newHasher();
+		for (final Class<?> type : classes) {
+			if (type == null) {
+				continue;
+			}
+			hasher.putString(type.getName(), StandardCharsets.UTF_8);
+			try (InputStream input = type.getResourceAsStream(
+					type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class")) {
+				if (input != null) {
+					hasher.putBytes(ByteStreams.toByteArray(input));
+				}
+			} catch (final IOException e) {
+				hasher.putLong(System.nanoTime());
+			}
+		}
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * @param fingerprint the scenario fingerprint.
+	 * @return true when the scenario passed before with the same fingerprint.
+	 */
+	/* default */ boolean isPassed(final String fingerprint)
+	{
+		return this.passed.contains(fingerprint);
+	}
+
+	/**
+	 * Records a passed scenario.
+	 *
+	 * @param fingerprint the scenario fingerprint.
+	 */
+	/* default */ void passed(final String fingerprint)
+	{
+		if (this.passed.add(fingerprint)) {
+			this.dirty = true;
+		}
+	}
+
+	/**
+	 * Records a failed scenario, so that it runs again next time.
+	 *
+	 * @param fingerprint the scenario fingerprint.
+	 */
+	/* default */ void failed(final String fingerprint)
+	{
+		if (this.passed.remove(fingerprint)) {
+			this.dirty = true;
+		}
+	}
+
+	/**
+	 * Writes the fingerprints when they changed. The file is written aside and
+	 * moved in place so that concurrent forks never read a partial file.
+	 *
+	 * @return false when the write failed.
+	 */
+	/* default */ synchronized boolean flush()
+	{
+		if (!this.dirty) {
+			return true;
+		}
+
+		final List<String> lines = new ArrayList<>(this.passed.size() + 1);
+		lines.add(this.classDigest);
+		lines.addAll(this.passed);
+		Path temp = null; // NOPMD: null default, conditionally redefine.
+		try {
+			Files.createDirectories(this.file.getParent());
+			temp = Files.createTempFile(this.file.getParent(), this.file.getFileName().toString(),
+					".tmp");
+			Files.write(temp, lines, StandardCharsets.UTF_8);
+			Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			this.dirty = false;
+			return true;
+		} catch (final IOException e) {
+			if (temp != null) {
+				temp.toFile().delete();
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import org.junit.Assume;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.rules.ExternalResource;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * Base class for test cases that run incrementally. A scenario that passed in a
+ * previous run is skipped, the others run and their outcome is recorded, see
+ * {@link ParameterGenerator#incremental(boolean)}. Extend it in place of
+ * {@link AbstractTestCase}, with parameters generated by
+ * {@link ParameterGenerator#fromSystemProperties()} or an incremental
+ * generator.
+ *
+ * <p>
+ * The rules do nothing unless the parameters are {@link TrackedParameter}
+ * instances and the {@code junitcast.incremental.dir} system property is set.
+ *
+ * @param <T> Test Object instance type. Does not support generic types, you can
+ *            omit the generic argument of test subject type.
+ * @param <E> data type of scenario element. Use object if scenario contain
+ *            multiple types.
+ */
+public abstract class IncrementalTestCase<T, E> extends AbstractTestCase<T, E> {
+
+	/** Writes the fingerprints of the passed scenarios once the class has run. */
+	@ClassRule
+	public static final TestRule INCREMENTAL_STORE = new ExternalResource() {
+		@Override
+		protected void after()
+		{
+			IncrementalStore.flushAll();
+		}
+	};
+
+	/** Skips the passed scenarios, and records the outcome of the others. */
+	@Rule
+	public final transient TestRule incrementalRule = new TestRule() {
+		@Override
+		public Statement apply(final Statement base, final Description description)
+		{
+			return new Statement() {
+				@Override
+				public void evaluate() throws Throwable
+				{
+					track(base);
+				}
+			};
+		}
+	};
+
+	/**
+	 * Instantiates an incremental JUnitCast test case.
+	 *
+	 * @param pParameter data transfer object to be injected by Parameterized test
+	 *                   runner.
+	 */
+	protected IncrementalTestCase(final Parameter<E> pParameter) {
+		super(pParameter);
+	}
+
+	/**
+	 * Runs a scenario unless it passed before, and records its outcome.
+	 *
+	 * @param base the scenario, including its setUp and tearDown.
+	 * @throws Throwable the failure of the scenario.
+	 */
+	private void track(final Statement base) throws Throwable
+	{
+		if (!(getParameter() instanceof TrackedParameter)) {
+			base.evaluate();
+			return;
+		}
+
+		final TrackedParameter<?> tracked = (TrackedParameter<?>) getParameter();
+		final IncrementalStore store = IncrementalStore.forClass(getClass(), tracked.getShard());
+		if (store == null) {
+			base.evaluate();
+			return;
+		}
+
+		final String fingerprint = tracked.getFingerprint();
+		Assume.assumeFalse("Unchanged since it passed", store.isPassed(fingerprint));
+		try {
+			base.evaluate();
+		} catch (final AssumptionViolatedException e) {
+			throw e;
+		} catch (final Throwable e) { // NOPMD: recorded, then rethrown.
+			store.failed(fingerprint);
+			throw e;
+		}
+		store.passed(fingerprint);
+	}
+}
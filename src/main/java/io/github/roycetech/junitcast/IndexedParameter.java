@@ -0,0 +1,91 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.util.List;
+
+/**
+ * Compact parameter that keeps a reference to the shared table of its case and
+ * the index of its scenario, instead of its own copy of the scenario, case
+ * description and identifier. The scenario is decoded on access as an
+ * immutable view.
+ *
+ * @param <E> scenario element type.
+ */
+public final class IndexedParameter<E> extends Parameter<E> {
+
+	/** Shared table of the case. */
+	private final transient CaseTable<E> table;
+
+	/** Mixed-radix index of the scenario. */
+	private final transient long index;
+
+	/** Index of the expected outcome in the case table. */
+	private final transient int outcomeId;
+
+	/**
+	 * @param pTable    shared table of the case.
+	 * @param pIndex    mixed-radix index of the scenario.
+	 * @param pExpected expected result, must not be null.
+	 */
+	public IndexedParameter(final CaseTable<E> pTable, final long pIndex, final String pExpected) {
+		super();
+		if (pExpected == null) {
+			throw new IllegalArgumentException("pExpected must not be null");
+		}
+		this.table = pTable;
+		this.index = pIndex;
+		this.outcomeId = pTable.outcomeId(pExpected);
+	}
+
+	/**
+	 * Returns the mixed-radix index of the scenario.
+	 *
+	 * @return the scenario index.
+	 */
+	public long getIndex()
+	{
+		return this.index;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String getExpected()
+	{
+		return this.table.outcome(this.outcomeId);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<String> getIdentifier()
+	{
+		return this.table.getIdentifier();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<E> getScenario()
+	{
+		return this.table.scenario(this.index);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String getCaseDesc()
+	{
+		return this.table.getCaseDesc();
+	}
+}
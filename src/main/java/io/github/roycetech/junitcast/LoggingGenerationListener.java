@@ -0,0 +1,53 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs the generation through SLF4J: the time of each stage at debug level and
+ * the counters of each case at info level. Can be enabled without code change
+ * through the {@value ParameterGenerator#LISTENER_PROPERTY} system property.
+ */
+public class LoggingGenerationListener implements GenerationListener {
+
+	/** Generation logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(LoggingGenerationListener.class);
+
+	/** Nanoseconds per millisecond. */
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	/** {@inheritDoc} */
+	@Override
+	public void stageCompleted(final String resource, final Stage stage, final String name,
+			final long nanos)
+	{
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("{} {}{}: {} ms", resource, stage, name == null ? "" : " " + name,
+					String.format("%.3f", nanos / NANOS_PER_MILLI));
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void caseCompleted(final String resource, final String caseDesc, final long product,
+			final long exempted, final long emitted, final long ambiguous)
+	{
+		LOGGER.info("{} case '{}': product={}, exempted={}, emitted={}, ambiguous={}", resource,
+				caseDesc, product, exempted, emitted, ambiguous);
+	}
+}
@@ -16,8 +16,6 @@
 package io.github.roycetech.junitcast;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.mockito.Mockito;
@@ -28,15 +26,41 @@ import org.mockito.Mockito;
  */
 public class MockitoHelper {
 
+	/** System property enabling {@link #pooled(boolean)} by default. */
+	public static final String POOL_PROPERTY = "junitcast.mockito.pool";
+
+	/** Reuse the spies of the current thread. */
+	private transient boolean pooled;
+
 	/**
-	 * Default constructor with doesn't do any customization.
+	 * Default constructor with doesn't do any customization. Spies are pooled
+	 * when the {@value #POOL_PROPERTY} system property is true.
 	 */
 	public MockitoHelper() {
+		this.pooled = Boolean.getBoolean(POOL_PROPERTY);
+	}
+
+	/**
+	 * Builder pattern. When enabled, the spy of a subject type is created once per
+	 * thread and reused by the following scenarios: it is reset, then given the
+	 * state of a freshly constructed real subject. Stubbings and recorded
+	 * invocations of a scenario are then never seen by the next one, but the spy
+	 * is the same instance.
+	 *
+	 * @param enabled true to pool the spies.
+	 * @return this instance.
+	 */
+	public MockitoHelper pooled(final boolean enabled)
+	{
+		this.pooled = enabled;
+		return this;
 	}
 
 	/**
 	 * Sets up the test subject by inspecting the defined class types, and creating
-	 * the spy object for easy stubbing of dependent components.
+	 * the spy object for easy stubbing of dependent components. The constructor
+	 * is the one accepting every parameter type, resolved once per subject type
+	 * and parameter types, see {@link #findConstructor(Class, List)}.
 	 *
 	 * @param <T>               Test Object instance type. Does not support generic
 	 *                          types, you can omit the generic argument of test
@@ -45,57 +69,31 @@ public class MockitoHelper {
 	 * @param testCase          Test case instance.
 	 * @param constructorParams test subject constructor parameters.
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> void setupTargetObject(final AbstractTestCase<T, ?> testCase,
 			final List<Object> constructorParams)
 	{
-		try {
-
-			final Constructor<T> constructor = computeConstructor(testCase, constructorParams);
-			constructor.setAccessible(true);
-			T realSubject;
-			if (constructorParams == null) {
-				realSubject = constructor.newInstance();
-			} else {
-				final int parameterCount = constructorParams.size();
-				final Object[] constructorParamsArray = constructorParams
-						.toArray(new Object[parameterCount]);
-				realSubject = constructor.newInstance(constructorParamsArray);
-			}
-			testCase.setRealSubject(realSubject);
-			testCase.setMockSubject(Mockito.spy(testCase.getRealSubject()));
-		} catch (final InvocationTargetException | IllegalArgumentException | InstantiationException
-				| IllegalAccessException any) {
-			throw new JUnitCastException(any);
-		}
-	}
-
-	@SuppressWarnings("unchecked")
-	private <T> Constructor<T> computeConstructor(final AbstractTestCase<T, ?> testCase,
-			final List<Object> constructorParameters)
-	{
-		final List<Object> computedParameters = constructorParameters == null ? new ArrayList<>()
-				: constructorParameters;
-		if (computedParameters.isEmpty()) {
-			return (Constructor<T>) testCase.getSubjectType().getDeclaredConstructors()[0];
-		}
-
-		return (Constructor<T>) findConstructor(testCase.getSubjectType(), computedParameters);
+		final T realSubject = (T) SubjectFactory.of(testCase.getSubjectType())
+				.newInstance(constructorParams);
+		testCase.setRealSubject(realSubject);
+		testCase.setMockSubject(this.pooled ? SpyPool.spy(realSubject)
+				: Mockito.spy(realSubject));
 	}
 
 	/**
-	 * Auto resolve constructor based on List of Object parameter.
+	 * Auto resolve constructor based on List of Object parameter. Every parameter
+	 * type must accept its argument, boxed, or unboxed then widened, and the most
+	 * specific constructor wins.
 	 *
 	 * @param klazz   class to derive constructor from.
 	 * @param pParams List of Object parameters.
+	 * @return the accessible constructor, or null when none accepts the
+	 *         parameters.
+	 * @throws JUnitCastException when more than one constructor is the most
+	 *                            specific.
 	 */
 	Constructor<?> findConstructor(final Class<?> klazz, final List<Object> pParams)
 	{
-		for (final Constructor<?> nextConst : klazz.getDeclaredConstructors()) {
-			if (nextConst.getParameterTypes().length == pParams.size()) {
-				return nextConst;
-			}
-		}
-
-		return null;
+		return SubjectFactory.of(klazz).findConstructor(pParams);
 	}
 }
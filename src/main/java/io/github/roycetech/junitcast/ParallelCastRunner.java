@@ -0,0 +1,343 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+import org.junit.runners.Parameterized;
+import org.junit.runners.model.RunnerScheduler;
+import org.junit.runners.model.Statement;
+
+/**
+ * Parameterized runner that runs the scenarios of a test class on a bounded
+ * worker pool. Use it in place of the inherited runner with
+ * {@code @RunWith(ParallelCastRunner.class)} on the test class.
+ *
+ * <p>
+ * Each scenario still gets its own test instance, so the subjects, result and
+ * transient values are never shared between threads. The events of each
+ * scenario are reported in scenario order, so reports are the same as a serial
+ * run: the earliest scenario that is not finished reports its events as they
+ * happen, the following ones are recorded on their worker and replayed once
+ * every earlier scenario is finished. A stop requested on the notifier stops
+ * the scheduling of the remaining scenarios.
+ *
+ * <p>
+ * The pool size is read from the {@value #THREADS_PROPERTY} system property
+ * and defaults to the number of available processors.
+ */
+public class ParallelCastRunner extends Parameterized {
+
+	/** System property holding the number of worker threads. */
+	public static final String THREADS_PROPERTY = "junitcast.parallel.threads";
+
+	/** Notifier recording the events of the scenario run by the current worker. */
+	private static final ThreadLocal<RecordingNotifier> RECORDER = new ThreadLocal<>();
+
+	/**
+	 * Only called reflectively. Do not use programmatically.
+	 *
+	 * @param klass the test class.
+	 * @throws Throwable when the parameters cannot be generated.
+	 */
+	public ParallelCastRunner(final Class<?> klass) throws Throwable {
+		super(klass);
+	}
+
+	/**
+	 * Returns the configured number of worker threads.
+	 *
+	 * @return the pool size, at least 1.
+	 */
+	public static int getThreads()
+	{
+		final Integer threads = Integer.getInteger(THREADS_PROPERTY,
+				Runtime.getRuntime().availableProcessors());
+		return Math.max(1, threads);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	protected Statement childrenInvoker(final RunNotifier notifier)
+	{
+		setScheduler(
+				new OrderedScheduler(notifier, getDescription().getChildren(), getThreads()));
+		return super.childrenInvoker(notifier);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	protected void runChild(final Runner runner, final RunNotifier notifier)
+	{
+		final RecordingNotifier recorder = RECORDER.get();
+		super.runChild(runner, recorder == null ? notifier : recorder);
+	}
+
+	/**
+	 * Runs each scenario on the pool, and reports their events in the order they
+	 * were scheduled as soon as every earlier scenario is finished.
+	 */
+	private static final class OrderedScheduler implements RunnerScheduler {
+
+		/** The notifier of the whole run. */
+		private final transient RunNotifier notifier;
+
+		/** The scenarios, in scheduling order. */
+		private final transient List<Description> children;
+
+		/** Worker pool. */
+		private final transient ExecutorService pool;
+
+		/** Running scenarios, in scheduling order. */
+		private final transient List<Future<?>> results = new ArrayList<>();
+
+		/** Recorded events per scenario, in scheduling order. Guarded by this. */
+		private final transient List<RecordingNotifier> recorders = new ArrayList<>();
+
+		/** Index of the earliest scenario that is not reported yet. Guarded by this. */
+		private transient int head;
+
+		/** Set when the notifier refused an event because a stop was requested. */
+		private transient volatile StoppedByUserException stopped;
+
+		/**
+		 * @param pNotifier the notifier of the whole run.
+		 * @param pChildren the scenarios, in scheduling order.
+		 * @param threads   number of worker threads.
+		 */
+		private OrderedScheduler(final RunNotifier pNotifier, final List<Description> pChildren,
+				final int threads) {
+			this.notifier = pNotifier;
+			this.children = pChildren;
+			final AtomicInteger count = new AtomicInteger();
+			this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+				final Thread thread = new Thread(runnable,
+						"junit-cast-worker-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+
+		/**
+		 * Runs a scenario on the pool. An error thrown by the scenario is reported as
+		 * its failure, so the following scenarios still report in order.
+		 *
+		 * @param childStatement the statement of the next scenario.
+		 */
+		@Override
+		public void schedule(final Runnable childStatement)
+		{
+			checkStopped();
+
+			final RecordingNotifier recorder = new RecordingNotifier();
+			final Description child;
+			synchronized (this) {
+				child = this.children.get(this.recorders.size());
+				this.recorders.add(recorder);
+			}
+			// Before the scenario starts, so that a scenario reaching the head forwards
+			// its first event from the worker instead of having it replayed here.
+			advance();
+			this.results.add(this.pool.submit(() -> {
+				RECORDER.set(recorder);
+				try {
+					if (this.stopped == null) {
+						childStatement.run();
+					}
+				} catch (final StoppedByUserException e) {
+					this.stopped = e;
+				} catch (final RuntimeException | Error e) { // NOPMD: failure of the scenario.
+					recorder.fireTestFailure(new Failure(child, e));
+				} finally {
+					RECORDER.remove();
+					recorder.finish();
+					advance();
+				}
+			}));
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void finished()
+		{
+			try {
+				for (final Future<?> result : this.results) {
+					result.get();
+				}
+				checkStopped();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JUnitCastException(e);
+			} catch (final ExecutionException e) {
+				throw new JUnitCastException(e.getCause());
+			} finally {
+				this.pool.shutdownNow();
+			}
+		}
+
+		/**
+		 * Reports the finished scenarios that have no earlier scenario left, and lets
+		 * the next one report its events as they happen.
+		 */
+		private synchronized void advance()
+		{
+			while (this.stopped == null && this.head < this.recorders.size()) {
+				final RecordingNotifier recorder = this.recorders.get(this.head);
+				try {
+					recorder.replay(this.notifier);
+				} catch (final StoppedByUserException e) {
+					this.stopped = e;
+					return;
+				}
+				if (!recorder.isFinished()) {
+					return;
+				}
+				this.head++;
+			}
+		}
+
+		/**
+		 * Stops the run like a serial run does when a stop was requested.
+		 */
+		private void checkStopped()
+		{
+			final StoppedByUserException exception = this.stopped;
+			if (exception != null) {
+				throw exception;
+			}
+		}
+	}
+
+	/**
+	 * Notifier that keeps the events of a scenario until they can be reported in
+	 * order, then forwards them as they happen.
+	 */
+	private static final class RecordingNotifier extends RunNotifier {
+
+		/** Recorded events, not reported yet. Guarded by this. */
+		private final transient Queue<Consumer<RunNotifier>> events = new ArrayDeque<>();
+
+		/** The notifier events are forwarded to, null until replayed. Guarded by this. */
+		private transient RunNotifier forward;
+
+		/** Set when the scenario is done. */
+		private transient volatile boolean finished;
+
+		/** {@inheritDoc} */
+		@Override
+		public void fireTestSuiteStarted(final Description description)
+		{
+			record(target -> target.fireTestSuiteStarted(description));
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void fireTestSuiteFinished(final Description description)
+		{
+			record(target -> target.fireTestSuiteFinished(description));
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void fireTestStarted(final Description description)
+		{
+			record(target -> target.fireTestStarted(description));
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void fireTestFailure(final Failure failure)
+		{
+			record(target -> target.fireTestFailure(failure));
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void fireTestAssumptionFailed(final Failure failure)
+		{
+			record(target -> target.fireTestAssumptionFailed(failure));
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void fireTestIgnored(final Description description)
+		{
+			record(target -> target.fireTestIgnored(description));
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public void fireTestFinished(final Description description)
+		{
+			record(target -> target.fireTestFinished(description));
+		}
+
+		/**
+		 * Reports an event, or keeps it until the scenario is replayed.
+		 *
+		 * @param event the event.
+		 */
+		private synchronized void record(final Consumer<RunNotifier> event)
+		{
+			if (this.forward == null) {
+				this.events.add(event);
+			} else {
+				event.accept(this.forward);
+			}
+		}
+
+		/**
+		 * Reports the recorded events, and forwards the following ones.
+		 *
+		 * @param target the notifier of the whole run.
+		 */
+		private synchronized void replay(final RunNotifier target)
+		{
+			this.forward = target;
+			while (!this.events.isEmpty()) {
+				this.events.poll().accept(target);
+			}
+		}
+
+		/** Marks the scenario as done. */
+		private void finish()
+		{
+			this.finished = true;
+		}
+
+		/**
+		 * @return true when the scenario is done.
+		 */
+		private boolean isFinished()
+		{
+			return this.finished;
+		}
+	}
+}
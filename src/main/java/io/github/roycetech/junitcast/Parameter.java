@@ -70,6 +70,17 @@ public class Parameter<E> {
 		this.identifier = pIdentifier;
 	}
 
+	/**
+	 * For subclasses that derive every property, all the getters must then be
+	 * overridden.
+	 */
+	protected Parameter() {
+		this.caseDesc = null;
+		this.scenario = null;
+		this.expected = null;
+		this.identifier = null;
+	}
+
 	/**
 	 * Returns the expected result for the referenced test scenario.
 	 *
@@ -1,18 +1,29 @@
 package io.github.roycetech.junitcast;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Assert;
 
 import com.github.roycetech.ruleengine.Rule;
-import com.github.roycetech.ruleengine.RuleEvaluator;
 import com.github.roycetech.ruleengine.RuleProcessor;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Streams;
+import com.google.common.hash.HashCode;
+
+import io.github.roycetech.junitcast.rule.CompiledRule;
+import io.github.roycetech.junitcast.rule.TruthTable;
 
 /**
  * Implementation for junit4 parameterized test generateData static method.
@@ -21,12 +32,239 @@ import com.google.common.collect.Lists;
  */
 public class ParameterGenerator<T> {
 
+	/** System property holding the directory of the generated parameters cache. */
+	public static final String CACHE_PROPERTY = "junitcast.cache.dir";
+
+	/** System property for {@link #shared(boolean)}, see {@link #fromSystemProperties()}. */
+	public static final String SHARED_PROPERTY = "junitcast.shared";
+
+	/** Directory of the shared scenario tables when no cache directory is set. */
+	public static final String SHARED_DIRECTORY = "target/junit-cast-shared";
+
 	/**
-	 * Default constructor that doesn't provide any customization.
+	 * System property holding the class name of a {@link GenerationListener} with
+	 * a public no-arg constructor, e.g. {@link LoggingGenerationListener}.
+	 */
+	public static final String LISTENER_PROPERTY = "junitcast.listener";
+
+	/** Evaluate rules over whole truth tables when the product fits. */
+	private transient boolean truthTable;
+
+	/** Sort computed parameters by their display name. */
+	private transient boolean sorted;
+
+	/** Generate index-addressed parameters. */
+	private transient boolean compact;
+
+	/** Directory of the generated parameters cache, null when disabled. */
+	private transient Path cacheDirectory;
+
+	/** Share the parameters between forks through a locked, mapped table. */
+	private transient boolean shared;
+
+	/** Receives the timings and counters of the generation, may be null. */
+	private transient GenerationListener listener;
+
+	/** Slice of the scenarios to generate, null for all of them. */
+	private transient ScenarioShard shard;
+
+	/** Generate parameters that carry the fingerprint of their inputs. */
+	private transient boolean incremental;
+
+	/**
+	 * Default constructor that doesn't provide any customization, see
+	 * {@link #fromSystemProperties()} to configure the generator from the
+	 * command line.
 	 */
 	public ParameterGenerator() {
 	}
 
+	/**
+	 * Creates a generator configured by the system properties:
+	 * <ul>
+	 * <li>{@value #CACHE_PROPERTY}: the {@link #cacheDirectory(Path) cache
+	 * directory}.</li>
+	 * <li>{@value #LISTENER_PROPERTY}: the class name of the
+	 * {@link #listener(GenerationListener) listener}.</li>
+	 * <li>{@value ScenarioShard#INDEX_PROPERTY} and
+	 * {@value ScenarioShard#COUNT_PROPERTY}: the {@link #shard(int, int)
+	 * shard}.</li>
+	 * <li>{@code junitcast.incremental.dir}: generates
+	 * {@link #incremental(boolean) incremental} parameters when set.</li>
+	 * <li>{@value #SHARED_PROPERTY}: {@link #shared(boolean) shares} the
+	 * parameters between forks when true.</li>
+	 * </ul>
+	 *
+	 * @param <T> scenario element type.
+	 * @return the configured generator.
+	 * @throws JUnitCastException when the listener cannot be created.
+	 */
+	public static <T> ParameterGenerator<T> fromSystemProperties()
+	{
+		final ParameterGenerator<T> retval = new ParameterGenerator<>();
+		final String directory = System.getProperty(CACHE_PROPERTY);
+		if (directory != null && !directory.isBlank()) {
+			retval.cacheDirectory = Paths.get(directory);
+		}
+
+		final String listenerClass = System.getProperty(LISTENER_PROPERTY);
+		if (listenerClass != null && !listenerClass.isBlank()) {
+			retval.listener = newListener(listenerClass.trim());
+		}
+
+		retval.shard = ScenarioShard.fromSystemProperties();
+
+		final String incrementalDirectory = System.getProperty(IncrementalStore.DIRECTORY_PROPERTY);
+		retval.incremental = incrementalDirectory != null && !incrementalDirectory.isBlank();
+		retval.shared = Boolean.getBoolean(SHARED_PROPERTY);
+		return retval;
+	}
+
+	/**
+	 * @param className class name of the listener.
+	 * @return a new instance of the listener.
+	 */
+	private static GenerationListener newListener(final String className)
+	{
+		try {
+			return (GenerationListener) Class.forName(className).getDeclaredConstructor()
+					.newInstance();
+		} catch (final ReflectiveOperationException | ClassCastException e) {
+			throw new JUnitCastException(e);
+		}
+	}
+
+	/**
+	 * Builder pattern. When enabled, parameters are {@link TrackedParameter}
+	 * instances carrying the fingerprint of their inputs. When the
+	 * {@code junitcast.incremental.dir} system property is set, an
+	 * {@link IncrementalTestCase} skips the parameters whose fingerprint passed
+	 * in a previous run and records the ones that pass.
+	 *
+	 * @param enabled true to generate fingerprinted parameters.
+	 * @return this instance.
+	 */
+	public ParameterGenerator<T> incremental(final boolean enabled)
+	{
+		this.incremental = enabled;
+		return this;
+	}
+
+	/**
+	 * Builder pattern. Only the scenarios assigned to the shard are generated, the
+	 * others are skipped before their rule is evaluated, see
+	 * {@link ScenarioShard}.
+	 *
+	 * @param index zero-based index of the shard.
+	 * @param count number of shards, 1 to generate every scenario.
+	 * @return this instance.
+	 */
+	public ParameterGenerator<T> shard(final int index, final int count)
+	{
+		this.shard = count == 1 && index == 0 ? null : new ScenarioShard(index, count);
+		return this;
+	}
+
+	/**
+	 * Builder pattern. The listener receives the time spent in each generation
+	 * stage and the counters of each computed case, see
+	 * {@link GenerationStatistics} and {@link LoggingGenerationListener}.
+	 *
+	 * @param pListener the listener, null to disable.
+	 * @return this instance.
+	 */
+	public ParameterGenerator<T> listener(final GenerationListener pListener)
+	{
+		this.listener = pListener;
+		return this;
+	}
+
+	/**
+	 * Builder pattern. When enabled, computed parameters are
+	 * {@link IndexedParameter} instances that share the table of their case and
+	 * only hold the index of their scenario.
+	 *
+	 * @param enabled true to generate compact parameters.
+	 * @return this instance.
+	 */
+	public ParameterGenerator<T> compact(final boolean enabled)
+	{
+		this.compact = enabled;
+		return this;
+	}
+
+	/**
+	 * Builder pattern. Enables the on-disk cache of the parameters generated by
+	 * {@link #genVarData(String)}, for example {@code target/junit-cast-cache}.
+	 * Entries are keyed by the content of the resource and of its converter
+	 * classes, a hit skips the parsing of the resource and the rule evaluation.
+	 * The cache is not used when {@link #incremental(boolean)} or
+	 * {@link #compact(boolean)} is enabled.
+	 *
+	 * @param directory the cache directory, null to disable the cache.
+	 * @return this instance.
+	 */
+	public ParameterGenerator<T> cacheDirectory(final Path directory)
+	{
+		this.cacheDirectory = directory;
+		return this;
+	}
+
+	/**
+	 * Builder pattern. When enabled, {@link #genVarData(String)} shares its
+	 * parameters between the test forks that start together, e.g. with a surefire
+	 * {@code forkCount} above one. The first fork generates them and writes their
+	 * scenario table to the cache directory, or to {@value #SHARED_DIRECTORY}
+	 * when there is none, while the others wait for it. Every fork then maps the
+	 * table read-only and decodes each parameter when it is read. Incremental
+	 * parameters are never shared, nor are the parameters of a generation that
+	 * is observed by a listener or recorded as a flight recorder event.
+	 *
+	 * @param enabled true to share the parameters.
+	 * @return this instance.
+	 */
+	public ParameterGenerator<T> shared(final boolean enabled)
+	{
+		this.shared = enabled;
+		return this;
+	}
+
+	/**
+	 * Builder pattern. When enabled, the rule and exemptions of a case are
+	 * evaluated over all of its scenarios at once as bitsets, see
+	 * {@link TruthTable}. Cases whose product is too big, or whose rule definition
+	 * is not known, are still evaluated one scenario at a time.
+	 *
+	 * <p>
+	 * A truth table trades memory for speed. Each mask takes one bit per scenario,
+	 * up to 2MB at {@link TruthTable#MAX_SCENARIOS}, and a case holds one mask per
+	 * outcome plus a few working masks while it is evaluated, e.g. about 24MB for
+	 * a case of 2<sup>24</sup> scenarios with four outcomes.
+	 *
+	 * @param enabled true to enable truth table evaluation.
+	 * @return this instance.
+	 */
+	public ParameterGenerator<T> truthTable(final boolean enabled)
+	{
+		this.truthTable = enabled;
+		return this;
+	}
+
+	/**
+	 * Builder pattern. Computed parameters are returned in generation order: cases
+	 * in the order they are defined, then the scenarios of each case in
+	 * lexicographic order of its variable groups. When enabled, they are sorted by
+	 * display name instead, the name of each parameter being computed only once.
+	 *
+	 * @param enabled true to sort by display name.
+	 * @return this instance.
+	 */
+	public ParameterGenerator<T> sorted(final boolean enabled)
+	{
+		this.sorted = enabled;
+		return this;
+	}
+
 	/**
 	 * Generate parameters from set of variables. This will calculate every possible
 	 * combination minus any defined exemption.
@@ -36,10 +274,66 @@ public class ParameterGenerator<T> {
 	 */
 	public Collection<Object[]> genVarData(final String resourceUri)
 	{
-		final ResourceFixture resFixFactory = new ResourceFixture(resourceUri);
-		@SuppressWarnings("unchecked")
-		final List<CaseFixture<T>> fixtures = (List<CaseFixture<T>>) resFixFactory.getFixtures();
-		return generateData(fixtures);
+		final boolean sharing = this.shared && !this.incremental && this.listener == null
+				&& !new CastEvents.Generation().isEnabled();
+		/*
+		 * Cached parameters carry neither a fingerprint nor a case table, incremental
+		 * and compact runs bypass the cache.
+		 */
+		final FixtureCache cache = this.incremental || this.compact ? null
+				: FixtureCache.forResource(
+						sharing && this.cacheDirectory == null ? Paths.get(SHARED_DIRECTORY)
+								: this.cacheDirectory,
+						resourceUri, ScenarioTables.variant(this.sorted)
+								+ (this.shard == null ? "" : " " + this.shard));
+		if (cache != null && sharing) {
+			return Lists.transform(cache.share(() -> {
+				@SuppressWarnings("unchecked")
+				final List<Parameter<T>> parameters = generateData(resourceUri,
+						loadFixtures(resourceUri), true).stream()
+								.map(paramArr -> (Parameter<T>) paramArr[0])
+								.collect(Collectors.toList());
+				return parameters;
+			}), parameter -> new Object[] { parameter });
+		}
+		if (cache != null) {
+			final List<Parameter<T>> cached = cache.read();
+			if (cached != null) {
+				return Lists.transform(cached, parameter -> new Object[] { parameter });
+			}
+		}
+
+		final Collection<Object[]> retval = generateData(resourceUri, loadFixtures(resourceUri),
+				true);
+		if (cache != null) {
+			@SuppressWarnings("unchecked")
+			final List<Parameter<T>> parameters = retval.stream()
+					.map(paramArr -> (Parameter<T>) paramArr[0]).collect(Collectors.toList());
+			cache.write(parameters);
+		}
+		return retval;
+	}
+
+	/**
+	 * Loads the parameters of a resource from the scenario table precomputed at
+	 * build time, see {@link ScenarioTables}. The resource is not parsed and no
+	 * rule is evaluated, so the listener, shard and incremental options do not
+	 * apply.
+	 *
+	 * @param resourceUri resource bundle URI.
+	 * @return the precomputed list of scenario tokens.
+	 * @throws JUnitCastException when no table on the classpath matches the
+	 *                            current content of the resource.
+	 */
+	public Collection<Object[]> genTableData(final String resourceUri)
+	{
+		final List<Parameter<T>> table = FixtureCache.readTable(resourceUri,
+				ScenarioTables.variant(this.sorted));
+		if (table == null) {
+			throw new JUnitCastException("No precomputed scenario table matches " + resourceUri
+					+ ", run the junit-cast generate goal");
+		}
+		return Lists.transform(table, parameter -> new Object[] { parameter });
 	}
 
 	/**
@@ -48,11 +342,59 @@ public class ParameterGenerator<T> {
 	 * @param resourceUri resource bundle URI.
 	 * @return the list of scenario tokens computed from a fixed list of variables.
 	 */
-	@SuppressWarnings("unchecked")
 	public Collection<Object[]> genFixedData(final String resourceUri)
 	{
-		final ResourceFixture resFixFactory = new ResourceFixture(resourceUri);
-		return generateData((List<CaseFixture<T>>) resFixFactory.getFixtures(), false);
+		return generateData(resourceUri, loadFixtures(resourceUri), false);
+	}
+
+	/**
+	 * Generate parameters from a t-wise covering array of the variables instead of
+	 * their full product. Every combination of tokens from any {@code strength}
+	 * variable groups appears in at least one scenario, minus the combinations
+	 * that are only possible in exempted scenarios. Expected outcomes are still
+	 * computed through the rule.
+	 *
+	 * @param resourceUri resource bundle URI.
+	 * @param strength    number of variable groups covered together, 2 for
+	 *                    pairwise.
+	 * @return the generated list of of scenario tokens.
+	 */
+	public Collection<Object[]> genCoveringData(final String resourceUri, final int strength)
+	{
+		return streamCoveringData(loadFixtures(resourceUri), strength)
+				.map(parameter -> new Object[] { parameter }).collect(Collectors.toList());
+	}
+
+	/**
+	 * Computes the parameters of the given fixtures from t-wise covering arrays.
+	 * The covering array of a case is built when the stream reaches the case.
+	 *
+	 * @param fixTureList list of test cases.
+	 * @param strength    number of variable groups covered together.
+	 * @return the stream of parameters.
+	 */
+	public Stream<Parameter<T>> streamCoveringData(final List<CaseFixture<T>> fixTureList,
+			final int strength)
+	{
+		return fixTureList.stream().flatMap(caseFixture -> track(caseFixture,
+				compact(caseFixture, coveringCaseStream(caseFixture, strength))));
+	}
+
+	/**
+	 * Generates the parameters of a case from its covering array.
+	 *
+	 * @param caseFixture the case fixture.
+	 * @param strength    number of variable groups covered together.
+	 * @return the stream of parameters of the case.
+	 */
+	private Stream<Parameter<T>> coveringCaseStream(final CaseFixture<T> caseFixture,
+			final int strength)
+	{
+		return new CoveringArray<>(caseFixture.getVariables(), strength,
+				caseFixture.getExemptionPredicate()).generate().stream()
+						.filter(scenario -> owns(caseFixture, scenario))
+						.map(scenario -> new Parameter<>(caseFixture.getCaseDesc(), scenario,
+								validateRule(scenario, caseFixture), caseFixture.getCaseId()));
 	}
 
 	/**
@@ -73,86 +415,315 @@ public class ParameterGenerator<T> {
 	 * @param fixTureList list of test cases.
 	 * @param isComputed  false when data is fixed list other wise it is the
 	 *                    combination of all variables.
-	 * @return the list of scenario tokens to be used as parameters in the test.
+	 * @return the list of scenario tokens to be used as parameters in the test, in
+	 *         generation order unless {@link #sorted(boolean)} is enabled.
 	 */
 	public Collection<Object[]> generateData(final List<CaseFixture<T>> fixTureList,
 			final boolean isComputed)
 	{
-		final List<Object[]> retval = new ArrayList<>();
-		for (final CaseFixture<T> caseFixture : fixTureList) {
-			if (isComputed) {
-				addCase(retval, caseFixture);
-			} else {
-				addFixedCase(retval, caseFixture);
-			}
+		return generateData(null, fixTureList, isComputed);
+	}
+
+	/**
+	 * Computes the actual list of scenario tokens.
+	 *
+	 * @param resource    resource bundle URI, null when the fixtures were given.
+	 * @param fixTureList list of test cases.
+	 * @param isComputed  false when data is fixed list other wise it is the
+	 *                    combination of all variables.
+	 * @return the list of scenario tokens.
+	 */
+	private Collection<Object[]> generateData(final String resource,
+			final List<CaseFixture<T>> fixTureList, final boolean isComputed)
+	{
+		final Stream<Parameter<T>> parameters = streamData(resource, fixTureList, isComputed);
+		if (!isComputed || !this.sorted) {
+			return parameters.map(parameter -> new Object[] { parameter })
+					.collect(Collectors.toList());
 		}
 
-		if (isComputed) {
-			retval.sort(new Comparator<>() {
-				@Override
-				@SuppressWarnings({ "PMD.UseVarargs", "unchecked" })
-				public int compare(final Object[] paramArr1, final Object[] paramArr2)
-				{
-					final Parameter<T> param1 = (Parameter<T>) paramArr1[0];
-					final Parameter<T> param2 = (Parameter<T>) paramArr2[0];
-					return param1.toString().compareTo(param2.toString());
-				}
-			});
+		final List<Map.Entry<String, Parameter<T>>> named = parameters
+				.map(parameter -> new SimpleImmutableEntry<>(parameter.toString(), parameter))
+				.collect(Collectors.toList());
+		final long start = System.nanoTime();
+		named.sort(Map.Entry.comparingByKey());
+		if (this.listener != null) {
+			this.listener.stageCompleted(resource, GenerationListener.Stage.SORTING, null,
+					System.nanoTime() - start);
 		}
-		return retval;
+		return named.stream().map(entry -> new Object[] { entry.getValue() })
+				.collect(Collectors.toList());
 	}
 
 	/**
-	 * Add a case in a parameterized test case.
+	 * Streams the parameters from set of variables. This is the lazy counterpart
+	 * of {@link #genVarData(String)}, each combination is only built, checked for
+	 * exemption, and evaluated against the rule when the stream pulls it.
 	 *
-	 * @param paramCollection the List of Object array in parameterized test.
-	 * @param caseFixture     the case fixture.
+	 * @param resourceUri resource bundle URI.
+	 * @return the stream of parameters in generation order.
 	 */
-	private void addCase(final List<Object[]> paramCollection, final CaseFixture<T> caseFixture)
+	public Stream<Parameter<T>> streamVarData(final String resourceUri)
 	{
-		final List<List<T>> combinations = Lists.cartesianProduct(caseFixture.getVariables());
-		for (final List<T> scenario : combinations) {
-			if (isValidCase(scenario, caseFixture)) {
-				final String result = validateRule(scenario, caseFixture);
-				paramCollection.add(new Object[] { new Parameter<>(caseFixture.getCaseDesc(),
-						scenario, result, caseFixture.getCaseId()) });
-			}
+		return streamData(resourceUri, loadFixtures(resourceUri), true);
+	}
 
-		}
+	/**
+	 * Streams the parameters from a fixed set of test data. This is the lazy
+	 * counterpart of {@link #genFixedData(String)}.
+	 *
+	 * @param resourceUri resource bundle URI.
+	 * @return the stream of parameters in the order they are defined.
+	 */
+	public Stream<Parameter<T>> streamFixedData(final String resourceUri)
+	{
+		return streamData(resourceUri, loadFixtures(resourceUri), false);
 	}
 
 	/**
-	 * Add a case in a parameterized test case.
+	 * Loads the case fixtures of a resource bundle, reporting the load of the
+	 * bundle and the initialization of the cases to the listener.
 	 *
-	 * @param paramCollection the List of Object array in parameterized test.
-	 * @param caseFixture     the case fixture.
+	 * @param resourceUri resource bundle URI.
+	 * @return the case fixtures.
 	 */
 	@SuppressWarnings("unchecked")
-	private void addFixedCase(final List<Object[]> paramCollection,
-			final CaseFixture<T> caseFixture)
+	private List<CaseFixture<T>> loadFixtures(final String resourceUri)
 	{
-		for (final List<T> scenario : caseFixture.getVariables()) {
-			@SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
-			final List<T> scenList = new ArrayList<>(scenario);
+		final long start = System.nanoTime();
+		final ResourceFixture resFixFactory = new ResourceFixture(resourceUri);
+		if (this.listener != null) {
+			this.listener.stageCompleted(resourceUri, GenerationListener.Stage.BUNDLE_LOAD, null,
+					System.nanoTime() - start);
+		}
+		return (List<CaseFixture<T>>) resFixFactory.listener(this.listener).getFixtures();
+	}
 
-			final String matched = caseFixture.getRuleOutcome((List<String>) scenario);
+	/**
+	 * Lazily computes the parameters of the given fixtures. Cases are visited in
+	 * the order of the list, and the combinations within a case are visited in
+	 * lexicographic order of the variable groups, the last group varying fastest.
+	 * Memory use does not depend on the size of the product.
+	 *
+	 * @param fixTureList list of test cases.
+	 * @param isComputed  false when data is fixed list other wise it is the
+	 *                    combination of all variables.
+	 * @return the stream of parameters in generation order.
+	 */
+	public Stream<Parameter<T>> streamData(final List<CaseFixture<T>> fixTureList,
+			final boolean isComputed)
+	{
+		return streamData(null, fixTureList, isComputed);
+	}
 
-			String result;
-			if (matched == null) {
+	/**
+	 * Lazily computes the parameters of the given fixtures.
+	 *
+	 * @param resource    resource bundle URI, null when the fixtures were given.
+	 * @param fixTureList list of test cases.
+	 * @param isComputed  false when data is fixed list other wise it is the
+	 *                    combination of all variables.
+	 * @return the stream of parameters in generation order.
+	 */
+	private Stream<Parameter<T>> streamData(final String resource,
+			final List<CaseFixture<T>> fixTureList, final boolean isComputed)
+	{
+		return fixTureList.stream().flatMap(caseFixture -> track(caseFixture, isComputed
+				? compact(caseFixture, caseStream(resource, caseFixture))
+				: fixedCaseStream(caseFixture)));
+	}
+
+	/**
+	 * Replaces the parameters of a case with index-addressed ones when enabled and
+	 * the product of the case can be indexed.
+	 *
+	 * @param caseFixture the case fixture.
+	 * @param parameters  the parameters of the case.
+	 * @return the compact parameters, or the given ones.
+	 */
+	private Stream<Parameter<T>> compact(final CaseFixture<T> caseFixture,
+			final Stream<Parameter<T>> parameters)
+	{
+		if (!this.compact || !CaseTable.fits(caseFixture.getVariables())) {
+			return parameters;
+		}
+
+		final CaseTable<T> table = new CaseTable<>(caseFixture.getCaseDesc(),
+				caseFixture.getCaseId(), caseFixture.getVariables());
+		return parameters.map(parameter -> new IndexedParameter<>(table,
+				table.indexOf(parameter.getScenario()), parameter.getExpected()));
+	}
+
+	/**
+	 * Wraps the parameters of a case with their fingerprint when incremental
+	 * parameters are enabled.
+	 *
+	 * @param caseFixture the case fixture.
+	 * @param parameters  the parameters of the case.
+	 * @return the tracked parameters, or the given ones.
+	 */
+	private Stream<Parameter<T>> track(final CaseFixture<T> caseFixture,
+			final Stream<Parameter<T>> parameters)
+	{
+		if (!this.incremental) {
+			return parameters;
+		}
+
+		final HashCode caseDigest = TrackedParameter.digest(caseFixture);
+		return parameters.map(parameter -> new TrackedParameter<>(parameter, caseDigest,
+				this.shard));
+	}
+
+	/**
+	 * Lazily generates the parameters of a case from the product of its variables.
+	 * When a listener is set or the generation event is recorded, the case is
+	 * reported once its parameters are all generated, and a scenario that does not
+	 * match exactly one outcome fails the case only after it is enumerated, see
+	 * {@link GenerationProbe}.
+	 *
+	 * @param resource    resource bundle URI, may be null.
+	 * @param caseFixture the case fixture.
+	 * @return the stream of valid parameters of the case.
+	 */
+	private Stream<Parameter<T>> caseStream(final String resource, final CaseFixture<T> caseFixture)
+	{
+		final CastEvents.Generation event = new CastEvents.Generation();
+		final GenerationProbe probe = this.listener == null && !event.isEnabled() ? null
+				: new GenerationProbe(this.listener, resource, caseFixture, event);
+		final Stream<Parameter<T>> retval;
+		if (this.truthTable && caseFixture.getCompiledRule() != null
+				&& TruthTable.fits(caseFixture.getVariables())) {
+			retval = truthTableStream(caseFixture, probe);
+		} else {
+			retval = scenarioStream(caseFixture, probe);
+		}
+		return probe == null ? retval
+				: Stream.concat(retval.peek(parameter -> probe.emitted()),
+						Stream.of(probe).flatMap(GenerationProbe::<Parameter<T>>failure))
+						.onClose(() -> probe.report(caseFixture.getVariables()));
+	}
+
+	/**
+	 * Walks the product of the variables of a case, see {@link ScenarioIterator}.
+	 *
+	 * @param caseFixture the case fixture.
+	 * @param probe       probe of the case, may be null.
+	 * @return the stream of valid parameters of the case.
+	 */
+	private Stream<Parameter<T>> scenarioStream(final CaseFixture<T> caseFixture,
+			final GenerationProbe probe)
+	{
+		Iterator<List<T>> scenarios = new ScenarioIterator<>(caseFixture.getVariables(),
+				caseFixture.getExemptionPredicate(), probe);
+		if (probe != null) {
+			scenarios = probe.enumerate(scenarios);
+		}
 
-//				assert !caseFixture.getPairMap().isEmpty()
-//						: "Unmatched result is applicable only to binary result";
+		return Streams.stream(scenarios).filter(scenario -> owns(caseFixture, scenario))
+				.map(scenario -> {
+					final String result = validateRule(scenario, caseFixture, probe);
+					return result == null ? null
+							: new Parameter<>(caseFixture.getCaseDesc(), scenario, result,
+									caseFixture.getCaseId());
+				}).filter(Objects::nonNull);
+	}
+
+	/**
+	 * Generates the parameters of a case from its truth table. The masks are
+	 * computed upfront, the scenarios are only decoded when the stream pulls them.
+	 * A scenario that does not match exactly one outcome is handed to
+	 * {@link #validateRule(List, CaseFixture)} to fail the same way.
+	 *
+	 * @param caseFixture the case fixture.
+	 * @param probe       probe of the case, may be null.
+	 * @return the stream of valid parameters of the case.
+	 */
+	@SuppressWarnings("unchecked")
+	private Stream<Parameter<T>> truthTableStream(final CaseFixture<T> caseFixture,
+			final GenerationProbe probe)
+	{
+		final TruthTable table = new TruthTable(caseFixture.getVariables());
+		final CompiledRule compiledRule = caseFixture.getCompiledRule();
+		final TruthTable.Evaluation evaluation = probe == null
+				? table.evaluate(compiledRule, caseFixture.getExemptionPredicate())
+				: probe.time(GenerationListener.Stage.EVALUATION,
+						() -> table.evaluate(compiledRule, caseFixture.getExemptionPredicate()));
+		final List<String> outcomes = compiledRule.getOutcomes();
+
+		return evaluation.scenarios().mapToObj(index -> {
+			final List<T> scenario = (List<T>) (probe == null ? table.scenario(index)
+					: probe.time(GenerationListener.Stage.ENUMERATION, () -> table.scenario(index)));
+			if (!owns(caseFixture, scenario)) {
+				return null;
+			}
 
-				result = caseFixture.getPairMap().values().iterator().next();
+			String result;
+			if (!evaluation.isUnique(index)) {
+				result = validateRule(scenario, caseFixture, probe);
+				if (result == null) {
+					return null;
+				}
+			} else if (outcomes.size() == 1) {
+				result = getBinaryOutput(outcomes.get(0), caseFixture, evaluation.outcome(index) == 0);
 			} else {
-				result = matched;
+				result = outcomes.get(evaluation.outcome(index));
 			}
-			Assert.assertNotNull("Scenario must fall into a unique rule output/clause: " + scenario
-					+ " did not match", result);
+			return new Parameter<>(caseFixture.getCaseDesc(), scenario, result,
+					caseFixture.getCaseId());
+		}).filter(Objects::nonNull);
+	}
 
-			paramCollection.add(new Object[] { new Parameter<>(caseFixture.getCaseDesc(), scenList,
-					result, caseFixture.getCaseId()) });
+	/**
+	 * Lazily generates the parameters of a case from its fixed list of variables.
+	 *
+	 * @param caseFixture the case fixture.
+	 * @return the stream of parameters of the case.
+	 */
+	private Stream<Parameter<T>> fixedCaseStream(final CaseFixture<T> caseFixture)
+	{
+		return caseFixture.getVariables().stream().filter(scenario -> owns(caseFixture, scenario))
+				.map(scenario -> fixedCase(scenario, caseFixture));
+	}
+
+	/**
+	 * @param caseFixture the case fixture.
+	 * @param scenario    the scenario tokens.
+	 * @return true when the scenario is assigned to the shard of this generator.
+	 */
+	private boolean owns(final CaseFixture<T> caseFixture, final List<T> scenario)
+	{
+		return this.shard == null || this.shard.owns(caseFixture.getCaseDesc(), scenario);
+	}
+
+	/**
+	 * Creates the parameter of a single fixed scenario.
+	 *
+	 * @param scenario    the fixed scenario.
+	 * @param caseFixture the case fixture.
+	 * @return the parameter of the fixed scenario.
+	 */
+	@SuppressWarnings("unchecked")
+	private Parameter<T> fixedCase(final List<T> scenario, final CaseFixture<T> caseFixture)
+	{
+		final List<T> scenList = new ArrayList<>(scenario);
+
+		final String matched = caseFixture.getRuleOutcome((List<String>) scenario);
+
+		String result;
+		if (matched == null) {
+
+//			assert !caseFixture.getPairMap().isEmpty()
+//					: "Unmatched result is applicable only to binary result";
+
+			result = caseFixture.getPairMap().values().iterator().next();
+		} else {
+			result = matched;
 		}
+		Assert.assertNotNull("Scenario must fall into a unique rule output/clause: " + scenario
+				+ " did not match", result);
+
+		return new Parameter<>(caseFixture.getCaseDesc(), scenList, result,
+				caseFixture.getCaseId());
 	}
 
 	/**
@@ -164,6 +735,51 @@ public class ParameterGenerator<T> {
 	 * @return the single rule that satisfies the given scenario.
 	 */
 	public String validateRule(final List<T> scenario, final CaseFixture<T> fixture)
+	{
+		final CompiledRule compiledRule = fixture.getCompiledRule();
+		if (compiledRule == null) {
+			return interpretRule(scenario, fixture);
+		}
+
+		final List<String> outcomes = compiledRule.getOutcomes();
+		final int matched = compiledRule.evaluate(scenario);
+		if (outcomes.size() == 1) {
+			return getBinaryOutput(outcomes.get(0), fixture, matched == 0);
+		}
+
+		if (matched < 0) {
+			final List<String> matchedOutputs = compiledRule.matchedOutcomes(scenario);
+			Assert.assertEquals("Scenario must fall into a unique rule output/clause: " + scenario
+					+ ", matched: " + matchedOutputs, 1, matchedOutputs.size());
+		}
+		return outcomes.get(matched);
+	}
+
+	/**
+	 * Validates the rule of a scenario, timed by the probe when given.
+	 *
+	 * @param scenario current Test scenario.
+	 * @param fixture  test fixture.
+	 * @param probe    probe of the case, may be null.
+	 * @return the single rule that satisfies the given scenario, or null when it
+	 *         failed and the probe counted it.
+	 */
+	private String validateRule(final List<T> scenario, final CaseFixture<T> fixture,
+			final GenerationProbe probe)
+	{
+		return probe == null ? validateRule(scenario, fixture)
+				: probe.evaluate(() -> validateRule(scenario, fixture));
+	}
+
+	/**
+	 * Evaluates the rule through the rule engine. This is used when the fixture
+	 * was not given the rule definition and so cannot be compiled.
+	 *
+	 * @param scenario current Test scenario.
+	 * @param fixture  test fixture.
+	 * @return the single rule that satisfies the given scenario.
+	 */
+	private String interpretRule(final List<T> scenario, final CaseFixture<T> fixture)
 	{
 		final Rule rule = fixture.getRule();
 		String retval = null; // NOPMD: null default, conditionally redefine.
@@ -235,24 +851,4 @@ public class ParameterGenerator<T> {
 
 		return fixture.getPairMap().get(ruleOutput);
 	}
-
-	/**
-	 * Custom invalid, and for UI null facility status is unexpected.
-	 *
-	 * @param scenario current Test scenario.
-	 * @param fixture  test case fixture.
-	 * @return the result of the validation.
-	 */
-	@SuppressWarnings("unchecked")
-	private boolean isValidCase(final List<T> scenario, final CaseFixture<T> fixture)
-	{
-		if (fixture.getExemptRule() == null) {
-			return true;
-		}
-
-		final String exemptRule = fixture.getExemptRule();
-		final RuleEvaluator ruleEvaluator = new RuleEvaluator(fixture.getRuleConverter());
-		ruleEvaluator.parse(exemptRule);
-		return !ruleEvaluator.evaluate((List<Object>) scenario);
-	}
 }
@@ -2,6 +2,7 @@ package io.github.roycetech.junitcast;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
@@ -18,6 +19,7 @@ import com.github.roycetech.ruleengine.converter.ElementConverter;
 import com.github.roycetech.ruleengine.converter.StringConverter;
 import com.github.roycetech.ruleengine.utils.StringUtil;
 
+import io.github.roycetech.junitcast.GenerationListener.Stage;
 import io.github.roycetech.junitcast.initializer.CasesInitializer;
 import io.github.roycetech.junitcast.initializer.ExemptInitializer;
 import io.github.roycetech.junitcast.initializer.IdentifierInitializer;
@@ -66,26 +68,36 @@ public class ResourceFixture {
 	 */
 	private final transient Map<Integer, String> caseExemptMap = new ConcurrentHashMap<>();
 
+	/**
+	 * Cases index, exempt rules kept separately, common exemption first.
+	 */
+	private final transient Map<Integer, List<String>> caseExemptions = new ConcurrentHashMap<>();
+
 	/**
 	 * Pair mapping for binary cases.
 	 */
 	private final transient Map<Integer, String> listPairMap = new ConcurrentHashMap<>();
 
 	/**
-	 * Can be set in resource to skip prior indexes to speed up testing.
+	 * Indexed case model, built once the cases are generated.
 	 */
-	private transient int debugStart;
+	private transient List<CaseDefinition> caseModel;
 
 	/**
-	 * Converter map.
+	 * Can be set in resource to skip prior indexes to speed up testing.
 	 */
-	private static final Map<Class<? extends ElementConverter>, ElementConverter> convertMap = new ConcurrentHashMap<>();
+	private transient int debugStart;
 
 	/**
 	 * The configuration to be parsed by this instance.
 	 */
 	private final transient ResourceBundle resourceBundle;
 
+	/**
+	 * Receives the time spent initializing the cases, may be null.
+	 */
+	private transient GenerationListener listener;
+
 	/**
 	 * Resource file key prefix.
 	 */
@@ -165,12 +177,47 @@ public class ResourceFixture {
 	 */
 	/* default */ void generateCases()
 	{
-		new CasesInitializer(this).initialize();
-		new VariablesInitializer(this).initialize();
-		initRules();
-		new IdentifierInitializer(this).initialize();
-		new ExemptInitializer(this).initialize();
-		initPair();
+		timed(Stage.INITIALIZER, "CasesInitializer", new CasesInitializer(this)::initialize);
+		timed(Stage.INITIALIZER, "VariablesInitializer",
+				new VariablesInitializer(this)::initialize);
+		timed(Stage.RULE_PARSING, null, this::initRules);
+		timed(Stage.INITIALIZER, "IdentifierInitializer",
+				new IdentifierInitializer(this)::initialize);
+		timed(Stage.INITIALIZER, "ExemptInitializer", new ExemptInitializer(this)::initialize);
+		timed(Stage.INITIALIZER, "pair", this::initPair);
+	}
+
+	/**
+	 * Runs a step of the case generation, reporting its time to the listener.
+	 *
+	 * @param stage the stage of the step.
+	 * @param name  the name of the step, may be null.
+	 * @param step  the step.
+	 */
+	private void timed(final Stage stage, final String name, final Runnable step)
+	{
+		if (this.listener == null) {
+			step.run();
+			return;
+		}
+
+		final long start = System.nanoTime();
+		step.run();
+		this.listener.stageCompleted(this.resourceBundle.getBaseBundleName(), stage, name,
+				System.nanoTime() - start);
+	}
+
+	/**
+	 * Builder pattern.
+	 *
+	 * @param pListener receives the time spent in each initializer and in the
+	 *                  parsing of the rules, may be null.
+	 * @return this instance.
+	 */
+	public ResourceFixture listener(final GenerationListener pListener)
+	{
+		this.listener = pListener;
+		return this;
 	}
 
 	/**
@@ -182,25 +229,75 @@ public class ResourceFixture {
 	public List<?> getFixtures()
 	{
 		generateCases();
-		final List<CaseFixture<String>> fixtureList = new ArrayList<>(getCaseList().size());
-		for (int index = 0; index < getCaseList().size(); index++) {
-			final String caseDesc = getCaseList().toArray(new String[0])[index];
-			final List<List<Object>> variables = getCaseVarList().get(index);
+		final List<CaseFixture<String>> fixtureList = new ArrayList<>(getCaseModel().size());
+		timed(Stage.RULE_PARSING, null, () -> addFixtures(fixtureList));
+		return fixtureList;
+	}
 
-			final Rule rule = new Rule(RuleUtil.parseRuleDefinition(getRuleList().get(index)));
-			final String pair = this.listPairMap.get(index);
-			final String exempt = getCaseExemptMap().get(index);
-			final List<String> caseId = getAttrList().get(index);
+	/**
+	 * Creates the fixture of each case, parsing its rule.
+	 *
+	 * @param fixtureList the list to add the fixtures to.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void addFixtures(final List<CaseFixture<String>> fixtureList)
+	{
+		for (final CaseDefinition definition : getCaseModel()) {
+			final Map<String, Object> ruleDefinition = RuleUtil
+					.parseRuleDefinition(definition.getRule());
 
 			// @formatter:off
-			fixtureList.add(new CaseFixture(caseDesc, variables, rule)
-				.pair(pair).exempt(exempt)
-				.caseIdentifier(caseId)
-				.convert(this.caseConverterList.get(index))
-				.ruleConverter(this.ruleTokenConverter.get(index)));
+			fixtureList.add(new CaseFixture(definition.getDescription(),
+					definition.getVariables(), new Rule(ruleDefinition))
+				.pair(definition.getPair()).exempt(definition.getExempt())
+				.exemptions(definition.getExemptions())
+				.caseIdentifier(definition.getIdentifiers())
+				.convert(definition.getConverters())
+				.ruleConverter(definition.getRuleTokenConverter())
+				.ruleDefinition(ruleDefinition));
 			// @formatter:on
 		}
-		return fixtureList;
+	}
+
+	/**
+	 * Builds the indexed case model in a single pass over the cases. Must be
+	 * called after the cases are generated.
+	 *
+	 * @return the case definitions, in case index order.
+	 */
+	private List<CaseDefinition> buildCaseModel()
+	{
+		final List<CaseDefinition> retval = new ArrayList<>(getCaseList().size());
+		int index = 0; // NOPMD: accumulator.
+		for (final String caseDesc : getCaseList()) {
+			// @formatter:off
+			retval.add(new CaseDefinition(index, caseDesc,
+					getCaseVarList().get(index),
+					this.caseConverterList.get(index),
+					getRuleList().get(index),
+					getRuleTokenConverter().get(index),
+					getAttrList().get(index),
+					this.listPairMap.get(index),
+					getCaseExemptMap().get(index),
+					getCaseExemptions().get(index)));
+			// @formatter:on
+			index++;
+		}
+		return Collections.unmodifiableList(retval);
+	}
+
+	/**
+	 * Returns the indexed case model, built on first access after the cases are
+	 * generated.
+	 *
+	 * @return the immutable case definitions, in case index order.
+	 */
+	public synchronized List<CaseDefinition> getCaseModel()
+	{
+		if (this.caseModel == null) {
+			this.caseModel = buildCaseModel();
+		}
+		return this.caseModel;
 	}
 
 	/**
@@ -320,29 +417,11 @@ public class ResourceFixture {
 
 	/**
 	 * @param converterClsName converter class name.
+	 * @return the shared converter, see {@link ConverterRegistry#get(String)}.
 	 */
-	@SuppressWarnings("unchecked")
-	/* default */ synchronized ElementConverter getConverter(final String converterClsName)
+	/* default */ ElementConverter getConverter(final String converterClsName)
 	{
-		Class<ElementConverter> converterCls;
-		try {
-			converterCls = (Class<ElementConverter>) Class.forName(converterClsName);
-		} catch (final ClassNotFoundException e1) {
-			throw new ResourceFixtureException("Cannot find converter class: " + converterClsName,
-					e1);
-		}
-
-		if (convertMap.get(converterCls) == null) {
-			try {
-				convertMap.put(converterCls,
-						converterCls.getDeclaredConstructor(new Class[0]).newInstance());
-			} catch (final Exception e) {
-				throw new ResourceFixtureException("Error instantiating converter: " + converterCls,
-						e);
-
-			}
-		}
-		return convertMap.get(converterCls);
+		return ConverterRegistry.get(converterClsName);
 	}
 
 	/**
@@ -429,6 +508,17 @@ public class ResourceFixture {
 		return this.caseExemptMap;
 	}
 
+	/**
+	 * Gets the mapping of case indices to the individual exemption rules.
+	 *
+	 * @return A map containing the list of exemption rules associated with
+	 *         specific case indices, the common exemption first.
+	 */
+	public Map<Integer, List<String>> getCaseExemptions()
+	{
+		return this.caseExemptions;
+	}
+
 	/**
 	 * Returns the debugStart property for test-ability purpose.
 	 *
@@ -459,17 +549,3 @@ public class ResourceFixture {
 		return this.ruleTokenConverter;
 	}
 }
-
-/**
- * Custom class exception.
- */
-class ResourceFixtureException extends RuntimeException {
-	private static final long serialVersionUID = 3996097978039160817L;
-
-	/**
-	 * @param string exception message.
-	 */
-	/* default */ ResourceFixtureException(final String string, final Throwable cause) {
-		super(string, cause);
-	}
-}
@@ -0,0 +1,37 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+/**
+ * Custom class exception.
+ */
+public class ResourceFixtureException extends RuntimeException {
+	private static final long serialVersionUID = 3996097978039160817L;
+
+	/**
+	 * @param message exception message.
+	 */
+	public ResourceFixtureException(final String message) {
+		super(message);
+	}
+
+	/**
+	 * @param string exception message.
+	 */
+	/* default */ ResourceFixtureException(final String string, final Throwable cause) {
+		super(string, cause);
+	}
+}
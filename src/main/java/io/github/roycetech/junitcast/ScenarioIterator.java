@@ -0,0 +1,226 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.google.common.math.LongMath;
+
+import io.github.roycetech.junitcast.rule.Clause;
+import io.github.roycetech.junitcast.rule.Decision;
+import io.github.roycetech.junitcast.rule.ExemptionPredicate;
+
+/**
+ * Lazily walks the product of the variable groups of a case, like an odometer.
+ * The last group varies fastest so the order is the same as
+ * {@link com.google.common.collect.Lists#cartesianProduct(List)}, but there is
+ * no limit on the size of the product and only the current combination is held
+ * in memory.
+ *
+ * <p>
+ * Exemptions are pushed down into the walk. Each time a group is fixed, the
+ * exemption is evaluated against the partial scenario, and the remaining groups
+ * are skipped as soon as the exemption is decided either way. A heavily
+ * exempted case is then walked in time proportional to its valid scenarios.
+ *
+ * @param <T> scenario element type.
+ */
+class ScenarioIterator<T> implements Iterator<List<T>> {
+
+	/** Marks that no prefix is known to be free of exemptions. */
+	private static final int NONE = Integer.MAX_VALUE;
+
+	/** Variable groups of the case. */
+	private final transient List<List<T>> groups;
+
+	/** Exemptions of the case, null when there are none. */
+	private final transient ExemptionPredicate exemption;
+
+	/** Probe timing the exemptions, null when not instrumented. */
+	private final transient GenerationProbe probe;
+
+	/** Current token index per group. */
+	private final transient int[] digits;
+
+	/** Current token per group, {@link Clause#UNSET} past the current level. */
+	private final transient Object[] partial;
+
+	/** Number of scenarios under a prefix that ends at each level. */
+	private final transient long[] subtreeSize;
+
+	/**
+	 * Lowest level whose prefix was decided to be free of exemptions, or
+	 * {@link #NONE}.
+	 */
+	private transient int freeLevel;
+
+	/** True when the current digits have not been returned yet. */
+	private transient boolean hasPending;
+
+	/**
+	 * @param pGroups variable groups of the case, must not be null.
+	 */
+	/* default */ ScenarioIterator(final List<List<T>> pGroups) {
+		this(pGroups, null);
+	}
+
+	/**
+	 * @param pGroups    variable groups of the case, must not be null.
+	 * @param pExemption exemptions of the case, may be null.
+	 */
+	/* default */ ScenarioIterator(final List<List<T>> pGroups,
+			final ExemptionPredicate pExemption) {
+		this(pGroups, pExemption, null);
+	}
+
+	/**
+	 * @param pGroups    variable groups of the case, must not be null.
+	 * @param pExemption exemptions of the case, may be null.
+	 * @param pProbe     probe timing the exemptions, may be null.
+	 */
+	/* default */ ScenarioIterator(final List<List<T>> pGroups,
+			final ExemptionPredicate pExemption, final GenerationProbe pProbe) {
+		this.groups = pGroups;
+		this.exemption = pExemption;
+		this.probe = pProbe;
+		this.digits = new int[pGroups.size()];
+		this.partial = new Object[pGroups.size()];
+		Arrays.fill(this.partial, Clause.UNSET);
+
+		this.subtreeSize = new long[pGroups.size()];
+		long size = 1; // NOPMD: accumulator.
+		for (int level = pGroups.size() - 1; level >= 0; level--) {
+			this.subtreeSize[level] = size;
+			size = LongMath.saturatedMultiply(size, pGroups.get(level).size());
+		}
+
+		this.freeLevel = pExemption == null ? 0 : NONE;
+		this.hasPending = pGroups.stream().noneMatch(List::isEmpty) && walk(0, false);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean hasNext()
+	{
+		return this.hasPending;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<T> next()
+	{
+		if (!this.hasPending) {
+			throw new NoSuchElementException();
+		}
+
+		final List<T> scenario = (List<T>) Collections
+				.unmodifiableList(Arrays.asList(this.partial.clone()));
+		this.hasPending = !this.groups.isEmpty() && walk(this.groups.size() - 1, true);
+		return scenario;
+	}
+
+	/**
+	 * Moves to the next scenario that is not exempted. Fixes the groups from a
+	 * level down to the last one, and moves to the next token of a group when its
+	 * prefix is exempted, backtracking when the group is exhausted.
+	 *
+	 * @param start the level to start from.
+	 * @param bump  true to move to the next token of the start level first.
+	 * @return false when the product is exhausted.
+	 */
+	private boolean walk(final int start, final boolean bump)
+	{
+		int level = start;
+		boolean increment = bump;
+		while (true) {
+			if (increment) {
+				level = increment(level);
+				if (level < 0) {
+					return false;
+				}
+				increment = false;
+			}
+
+			if (level == this.groups.size()) {
+				return true;
+			}
+
+			this.partial[level] = this.groups.get(level).get(this.digits[level]);
+			if (this.freeLevel > level) {
+				final Decision decision = decide(level);
+				if (decision == Decision.TRUE) {
+					increment = true;
+					continue;
+				}
+				if (decision == Decision.FALSE) {
+					this.freeLevel = level;
+				}
+			}
+			level++;
+		}
+	}
+
+	/**
+	 * Decides if the exemptions remove every scenario under the current prefix.
+	 *
+	 * @param level the last fixed level of the prefix.
+	 * @return the decision of the exemptions.
+	 */
+	private Decision decide(final int level)
+	{
+		if (this.probe == null) {
+			return this.exemption.decide(this.partial, this.groups, this.subtreeSize[level]);
+		}
+
+		final long start = System.nanoTime();
+		final Decision retval = this.exemption.decide(this.partial, this.groups,
+				this.subtreeSize[level]);
+		this.probe.exemption(System.nanoTime() - start);
+		return retval;
+	}
+
+	/**
+	 * Moves to the next token of a level, backtracking when the level is
+	 * exhausted.
+	 *
+	 * @param start the level to increment.
+	 * @return the level that was incremented, negative when the product is
+	 *         exhausted.
+	 */
+	private int increment(final int start)
+	{
+		int level = start;
+		while (level >= 0) {
+			if (this.freeLevel >= level) {
+				this.freeLevel = this.exemption == null ? 0 : NONE;
+			}
+
+			this.digits[level]++;
+			if (this.digits[level] < this.groups.get(level).size()) {
+				return level;
+			}
+			this.digits[level] = 0;
+			this.partial[level] = Clause.UNSET;
+			level--;
+		}
+		return level;
+	}
+}
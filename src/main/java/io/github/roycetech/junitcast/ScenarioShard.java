@@ -0,0 +1,145 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * A slice of the scenarios, for splitting a test class across JVM forks or CI
+ * nodes. A scenario is assigned to a shard from a murmur3 hash of its case
+ * description and tokens, so the assignment does not depend on the position of
+ * the scenario and is the same on every node and after other cases change.
+ */
+public final class ScenarioShard {
+
+	/** System property holding the zero-based index of the shard. */
+	public static final String INDEX_PROPERTY = "junitcast.shard.index";
+
+	/** System property holding the number of shards. */
+	public static final String COUNT_PROPERTY = "junitcast.shard.count";
+
+	/** Stable hash, independent of the JVM. */
+	private static final HashFunction HASH = Hashing.murmur3_32_fixed();
+
+	/** Zero-based index of this shard. */
+	private final transient int index;
+
+	/** Number of shards. */
+	private final transient int count;
+
+	/**
+	 * @param pIndex zero-based index of this shard.
+	 * @param pCount number of shards.
+	 */
+	public ScenarioShard(final int pIndex, final int pCount) {
+		if (pCount < 1 || pIndex < 0 || pIndex >= pCount) {
+			throw new IllegalArgumentException(
+					"Shard index must be from 0 to count - 1: " + pIndex + '/' + pCount);
+		}
+		this.index = pIndex;
+		this.count = pCount;
+	}
+
+	/**
+	 * Reads the shard from the {@value #INDEX_PROPERTY} and
+	 * {@value #COUNT_PROPERTY} system properties.
+	 *
+	 * @return the shard, or null when the count is not set.
+	 */
+	public static ScenarioShard fromSystemProperties()
+	{
+		final String countValue = System.getProperty(COUNT_PROPERTY);
+		if (countValue == null || countValue.isBlank()) {
+			return null;
+		}
+
+		final String indexValue = System.getProperty(INDEX_PROPERTY, "0");
+		try {
+			return new ScenarioShard(Integer.parseInt(indexValue.trim()),
+					Integer.parseInt(countValue.trim()));
+		} catch (final NumberFormatException e) {
+			throw new IllegalArgumentException(
+					"Invalid shard: " + indexValue + '/' + countValue, e);
+		}
+	}
+
+	/**
+	 * Computes the shard of a scenario.
+	 *
+	 * @param caseDesc case description.
+	 * @param scenario scenario tokens.
+	 * @param count    number of shards.
+	 * @return the zero-based index of the shard of the scenario.
+	 */
+	public static int assign(final String caseDesc, final List<?> scenario, final int count)
+	{
+		final Hasher hasher = HASH.newHasher();
+		putString(hasher, caseDesc);
+		for (final Object token : scenario) {
+			putString(hasher, String.valueOf(token));
+		}
+		return Math.floorMod(hasher.hash().asInt(), count);
+	}
+
+	/**
+	 * Hashes a length-prefixed string, so that token boundaries are significant.
+	 *
+	 * @param hasher the hasher.
+	 * @param value  the string.
+	 */
+	private static void putString(final Hasher hasher, final String value)
+	{
+		hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param caseDesc case description.
+	 * @param scenario scenario tokens.
+	 * @return true when the scenario is assigned to this shard.
+	 */
+	public boolean owns(final String caseDesc, final List<?> scenario)
+	{
+		return assign(caseDesc, scenario, this.count) == this.index;
+	}
+
+	/**
+	 * @return the zero-based index of this shard.
+	 */
+	public int getIndex()
+	{
+		return this.index;
+	}
+
+	/**
+	 * @return the number of shards.
+	 */
+	public int getCount()
+	{
+		return this.count;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String toString()
+	{
+		return this.index + "/" + this.count;
+	}
+}
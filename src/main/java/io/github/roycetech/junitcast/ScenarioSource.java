@@ -17,8 +17,6 @@ package io.github.roycetech.junitcast;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Scenario observable.
@@ -34,10 +32,9 @@ public class ScenarioSource<S> {
 	private final transient AbstractTestCase<?, S> testCase;
 
 	/**
-	 * 
+	 * Observers indexed by the ordinal of their Var enum case, null when none.
 	 */
-	@SuppressWarnings("rawtypes")
-	private final transient Map<Enum, List<CaseObserver<S>>> enumObsMap = new ConcurrentHashMap<>();
+	private transient List<CaseObserver<S>>[] observers;
 
 	/**
 	 *
@@ -45,6 +42,11 @@ public class ScenarioSource<S> {
 	@SuppressWarnings("rawtypes")
 	private final transient Class<? extends Enum> enumType;
 
+	/**
+	 * Scenario token to Var enum case table, null without a Var enum.
+	 */
+	private final transient EnumTokenTable tokenTable;
+
 	/**
 	 * By convention, accessible Variable enum defined on the test class.
 	 *
@@ -64,6 +66,7 @@ public class ScenarioSource<S> {
 		this.testCase = pTestCase;
 //		this.enumType = findVariableEnum(pVarSource == null ? pTestCase : _pVarSource);
 		this.enumType = findVariableEnum(pTestCase);
+		this.tokenTable = this.enumType == null ? null : EnumTokenTable.of(this.enumType);
 	}
 
 	/**
@@ -72,15 +75,9 @@ public class ScenarioSource<S> {
 	 * @param pTestCase Not null.
 	 * @return null when Variable enum is not found.
 	 */
-	@SuppressWarnings("unchecked")
 	/* default */ final Class<? extends Enum<?>> findVariableEnum(final Object pVarSource)
 	{
-		for (final Class<?> innerClass : pVarSource.getClass().getDeclaredClasses()) {
-			if (innerClass.getSimpleName().startsWith("Var")) {
-				return (Class<? extends Enum<?>>) innerClass;
-			}
-		}
-		return null;
+		return TestCaseMetadata.of(pVarSource.getClass()).getVariableEnum();
 	}
 
 	/**
@@ -191,32 +188,37 @@ public class ScenarioSource<S> {
 	 * @param kaso     enum case.
 	 * @param observer case observer instance.
 	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public void addObserver(final Enum<?> kaso, final CaseObserver<S> observer)
 	{
-		if (this.enumObsMap.get(kaso) == null) {
-			this.enumObsMap.put(kaso, new ArrayList<>());
+		/* Cases of another enum can never match a scenario token. */
+		if (kaso.getDeclaringClass() != this.enumType) {
+			return;
 		}
-		final List<CaseObserver<S>> caseObsList = this.enumObsMap.get(kaso);
-		caseObsList.add(observer);
+
+		if (this.observers == null) {
+			/* A generic array cannot be created, only List<CaseObserver<S>> is stored. */
+			this.observers = new List[this.tokenTable.size()];
+		}
+		if (this.observers[kaso.ordinal()] == null) {
+			this.observers[kaso.ordinal()] = new ArrayList<>();
+		}
+		this.observers[kaso.ordinal()].add(observer);
 	}
 
 	/** Notify all case observers. */
 	public void notifyObservers()
 	{
-
-		for (int i = 0; i < this.testCase.getParameter().getScenario().size(); i++) {
-			final S nextCase = this.testCase.getParameter().getScenario().get(i);
-
-			@SuppressWarnings("unchecked")
-			final Enum<?> nextEnum = Enum.valueOf(this.enumType,
-					nextCase.toString().replaceAll(" ", ""));
-
-			final List<CaseObserver<S>> caseObserverList = this.enumObsMap.get(nextEnum);
-
-			prepareObserver(nextCase, i, caseObserverList);
+		final List<S> scenario = this.testCase.getParameter().getScenario();
+		for (int i = 0; i < scenario.size(); i++) {
+			final S nextCase = scenario.get(i);
+			final Enum<?> nextEnum = this.tokenTable.lookup(nextCase);
+			if (this.observers != null) {
+				prepareObserver(nextCase, i, this.observers[nextEnum.ordinal()]);
+			}
 		}
 
-		this.enumObsMap.clear();
+		this.observers = null;
 	}
 
 	/**
@@ -228,8 +230,8 @@ public class ScenarioSource<S> {
 			final List<CaseObserver<S>> caseObsList)
 	{
 		if (caseObsList != null) {
-			for (final CaseObserver<S> nextCaseObserver : caseObsList) {
-				nextCaseObserver.prepareCase(scenarioIndex, nextCase);
+			for (int i = 0; i < caseObsList.size(); i++) {
+				caseObsList.get(i).prepareCase(scenarioIndex, nextCase);
 			}
 		}
 
@@ -0,0 +1,175 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Scenario tables precomputed at build time, e.g. by the generate goal of the
+ * junit-cast-maven-plugin. The parameters that
+ * {@link ParameterGenerator#genVarData(String)} computes for a resource are
+ * written once under {@value #DIRECTORY} of the test resources, in the format of
+ * the on-disk cache of {@link ParameterGenerator#cacheDirectory(java.nio.file.Path)}.
+ * The table is named after the content of the resource and of its converters,
+ * so a table that no longer matches its resource is never read.
+ *
+ * <p>
+ * {@link ParameterGenerator#genTableData(String)} loads a table from the
+ * classpath. The generated {@code <Resource>Scenarios} class calls it, for use
+ * in a {@code @Parameters} method.
+ */
+public final class ScenarioTables {
+
+	/** Classpath directory of the tables. */
+	public static final String DIRECTORY = "META-INF/junit-cast";
+
+	/** Suffix of the generated class name. */
+	public static final String SUFFIX = "Scenarios";
+
+	/** Utility class. */
+	private ScenarioTables() {}
+
+	/**
+	 * Generates the parameters of a resource and writes them as a table. Nothing
+	 * is generated when the table of the current content already exists, and the
+	 * other tables of the resource are deleted.
+	 *
+	 * @param resourceUri     resource bundle URI.
+	 * @param outputDirectory root of the generated test resources.
+	 * @param sorted          true for the parameters sorted by display name, see
+	 *                        {@link ParameterGenerator#sorted(boolean)}.
+	 * @return the table file, or null when the tokens of the resource cannot be
+	 *         stored or the write failed.
+	 * @throws JUnitCastException when the resource is not found.
+	 */
+	public static Path writeTable(final String resourceUri, final Path outputDirectory,
+			final boolean sorted)
+	{
+		final Path directory = outputDirectory.resolve(DIRECTORY);
+		final FixtureCache table = FixtureCache.forResource(directory, resourceUri,
+				variant(sorted));
+		if (table == null) {
+			throw new JUnitCastException("Resource not found: " + resourceUri);
+		}
+		deleteStale(directory, resourceUri, table.getFile());
+		if (Files.isRegularFile(table.getFile())) {
+			return table.getFile();
+		}
+
+		@SuppressWarnings("unchecked")
+		final List<Parameter<Object>> parameters = new ParameterGenerator<>().cacheDirectory(null)
+				.listener(null).shard(0, 1).incremental(false).sorted(sorted)
+				.genVarData(resourceUri).stream().map(paramArr -> (Parameter<Object>) paramArr[0])
+				.collect(Collectors.toList());
+		return table.write(parameters) ? table.getFile() : null;
+	}
+
+	/**
+	 * Writes the {@code <Resource>Scenarios} class of a resource, next to where
+	 * the test class of the resource would be.
+	 *
+	 * @param resourceUri     resource bundle URI.
+	 * @param sourceDirectory root of the generated test sources.
+	 * @param sorted          true to load the sorted table.
+	 * @return the source file.
+	 * @throws JUnitCastException when the source cannot be written.
+	 */
+	public static Path writeSource(final String resourceUri, final Path sourceDirectory,
+			final boolean sorted)
+	{
+		final int lastDot = resourceUri.lastIndexOf('.');
+		final String className = resourceUri.substring(lastDot + 1) + SUFFIX;
+		final Path retval = sourceDirectory.resolve(
+				resourceUri.substring(0, lastDot + 1).replace('.', '/') + className + ".java");
+		try {
+			Files.createDirectories(retval.getParent());
+			try (PrintWriter writer = new PrintWriter(
+					Files.newBufferedWriter(retval, StandardCharsets.UTF_8))) {
+				if (lastDot > 0) {
+					writer.println("package " + resourceUri.substring(0, lastDot) + ";");
+					writer.println();
+				}
+				writer.println("/**");
+				writer.println(" * Scenarios of " + resourceUri.replace('.', '/')
+						+ ".properties, precomputed at build time.");
+				writer.println(" */");
+				writer.println("@javax.annotation.processing.Generated(\"" + ScenarioTables.class.getName()
+						+ "\")");
+				writer.println("public final class " + className + " {");
+				writer.println();
+				writer.println("\t/** Resource bundle URI. */");
+				writer.println("\tpublic static final String RESOURCE = \"" + resourceUri + "\";");
+				writer.println();
+				writer.println("\tprivate " + className + "() {}");
+				writer.println();
+				writer.println("\t/**");
+				writer.println("\t * @return the precomputed parameters, for a @Parameters method.");
+				writer.println("\t */");
+				writer.println("\tpublic static java.util.Collection<Object[]> parameters()");
+				writer.println("\t{");
+				writer.println("\t\treturn new " + ParameterGenerator.class.getName()
+						+ "<Object>().sorted(" + sorted + ").genTableData(RESOURCE);");
+				writer.println("\t}");
+				writer.println("}");
+			}
+		} catch (final IOException e) {
+			throw new JUnitCastException(e);
+		}
+		return retval;
+	}
+
+	/**
+	 * @param sorted true for the parameters sorted by display name.
+	 * @return the variant of the table, as keyed by {@link ParameterGenerator}.
+	 */
+	/* default */ static String variant(final boolean sorted)
+	{
+		return sorted ? "sorted" : "generated";
+	}
+
+	/**
+	 * Deletes the tables of a resource other than the current one.
+	 *
+	 * @param directory   the table directory.
+	 * @param resourceUri resource bundle URI.
+	 * @param current     the table of the current content.
+	 */
+	private static void deleteStale(final Path directory, final String resourceUri,
+			final Path current)
+	{
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+
+		try (DirectoryStream<Path> tables = Files.newDirectoryStream(directory,
+				resourceUri + "-*.bin")) {
+			for (final Path table : tables) {
+				if (!table.equals(current)) {
+					Files.deleteIfExists(table);
+				}
+			}
+		} catch (final IOException e) {
+			throw new JUnitCastException(e);
+		}
+	}
+}
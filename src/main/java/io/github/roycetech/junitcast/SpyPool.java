@@ -0,0 +1,122 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.mockito.Mockito;
+
+/**
+ * Spies reused across the scenarios run by a thread, one per subject type.
+ * Creating a spy is the costly part of the subject setup, so only the first
+ * scenario of a thread creates one. The following scenarios still construct a
+ * fresh real subject, then reset the pooled spy and copy the state of the real
+ * subject into it, which leaves the spy as if it was just created. Types whose
+ * fields cannot be copied, e.g. JDK types, are never pooled.
+ */
+final class SpyPool {
+
+	/** Instance fields per subject type, null when they cannot all be copied. */
+	private static final ClassValue<Field[]> FIELDS = new ClassValue<Field[]>() {
+		@Override
+		protected Field[] computeValue(final Class<?> type)
+		{
+			return instanceFields(type);
+		}
+	};
+
+	/** Pooled spy per subject type, for the current thread. */
+	private static final ThreadLocal<Map<Class<?>, Object>> SPIES = ThreadLocal
+			.withInitial(HashMap::new);
+
+	/**
+	 * Utility class.
+	 */
+	private SpyPool()
+	{
+	}
+
+	/**
+	 * Returns a spy of a freshly constructed real subject.
+	 *
+	 * @param <T>  subject type.
+	 * @param real the real subject.
+	 * @return the pooled spy restored to the state of the real subject, or a new
+	 *         spy when the type cannot be pooled.
+	 */
+	@SuppressWarnings("unchecked")
+	/* default */ static <T> T spy(final T real)
+	{
+		final Field[] fields = FIELDS.get(real.getClass());
+		if (fields == null) {
+			return Mockito.spy(real);
+		}
+
+		final Map<Class<?>, Object> spies = SPIES.get();
+		final T pooled = (T) spies.get(real.getClass());
+		if (pooled == null) {
+			final T retval = Mockito.spy(real);
+			spies.put(real.getClass(), retval);
+			return retval;
+		}
+
+		Mockito.reset(pooled);
+		try {
+			for (final Field field : fields) {
+				field.set(pooled, field.get(real));
+			}
+		} catch (final IllegalAccessException e) {
+			throw new JUnitCastException(e);
+		}
+		return pooled;
+	}
+
+	/**
+	 * Drops the spies pooled by the current thread.
+	 */
+	/* default */ static void clear()
+	{
+		SPIES.remove();
+	}
+
+	/**
+	 * @param type the subject type.
+	 * @return the accessible instance fields of the type and its super classes,
+	 *         or null when one of them cannot be made accessible.
+	 */
+	private static Field[] instanceFields(final Class<?> type)
+	{
+		final List<Field> retval = new ArrayList<>();
+		for (Class<?> current = type; current != null
+				&& current != Object.class; current = current.getSuperclass()) {
+			for (final Field field : current.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers())) {
+					continue;
+				}
+				if (!field.trySetAccessible()) {
+					return null;
+				}
+				retval.add(field);
+			}
+		}
+		return retval.toArray(new Field[0]);
+	}
+}
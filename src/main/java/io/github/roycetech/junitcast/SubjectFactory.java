@@ -0,0 +1,257 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.primitives.Primitives;
+
+/**
+ * Creates the instances of a subject type. The constructor is resolved once
+ * per argument type signature, by compatibility of every parameter type with
+ * the method invocation conversions of the JLS: boxing, and unboxing followed
+ * by primitive widening, the most specific one winning. It is then invoked
+ * through a method handle, so no reflection is left on the per-scenario path.
+ */
+final class SubjectFactory {
+
+	/** Primitive widening conversions, JLS 5.1.2, keyed by the source type. */
+	private static final Map<Class<?>, Set<Class<?>>> WIDENING = Map.of(
+			byte.class, Set.of(short.class, int.class, long.class, float.class, double.class),
+			short.class, Set.of(int.class, long.class, float.class, double.class),
+			char.class, Set.of(int.class, long.class, float.class, double.class),
+			int.class, Set.of(long.class, float.class, double.class),
+			long.class, Set.of(float.class, double.class),
+			float.class, Set.of(double.class));
+
+	/** Factory per subject type. */
+	private static final ClassValue<SubjectFactory> FACTORIES = new ClassValue<>() {
+		@Override
+		protected SubjectFactory computeValue(final Class<?> type)
+		{
+			return new SubjectFactory(type);
+		}
+	};
+
+	/** Lookup used to unreflect the accessible constructors. */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/** The subject type. */
+	private final transient Class<?> subjectType;
+
+	/** Resolved constructors keyed by argument types, null for a null argument. */
+	private final transient Map<List<Class<?>>, Resolved> resolved = new ConcurrentHashMap<>();
+
+	/**
+	 * @param pSubjectType the subject type.
+	 */
+	private SubjectFactory(final Class<?> pSubjectType) {
+		this.subjectType = pSubjectType;
+	}
+
+	/**
+	 * Returns the factory of a subject type.
+	 *
+	 * @param subjectType the subject type.
+	 * @return the shared factory.
+	 */
+	/* default */ static SubjectFactory of(final Class<?> subjectType)
+	{
+		return FACTORIES.get(subjectType);
+	}
+
+	/**
+	 * Creates an instance of the subject.
+	 *
+	 * @param arguments the constructor arguments, null for none.
+	 * @return the new instance.
+	 * @throws JUnitCastException when no constructor accepts the arguments, or
+	 *                            wrapping what the constructor threw.
+	 */
+	/* default */ Object newInstance(final List<Object> arguments)
+	{
+		final Object[] argumentArray = arguments == null ? new Object[0] : arguments.toArray();
+		final Resolved constructor = resolve(argumentArray);
+		if (constructor == null) {
+			throw new JUnitCastException("No constructor of " + this.subjectType.getName()
+					+ " accepts " + Arrays.toString(argumentArray));
+		}
+
+		try {
+			return constructor.handle.invokeExact(argumentArray);
+		} catch (final Throwable e) { // NOPMD: wraps what the constructor throws.
+			throw new JUnitCastException(e);
+		}
+	}
+
+	/**
+	 * Finds the constructor that accepts the arguments.
+	 *
+	 * @param arguments the constructor arguments.
+	 * @return the accessible constructor, or null when none accepts them.
+	 */
+	/* default */ Constructor<?> findConstructor(final List<Object> arguments)
+	{
+		final Resolved retval = resolve(arguments.toArray());
+		return retval == null ? null : retval.constructor;
+	}
+
+	/**
+	 * @param arguments the constructor arguments.
+	 * @return the cached resolution, null when no constructor accepts them.
+	 */
+	private Resolved resolve(final Object... arguments)
+	{
+		final List<Class<?>> signature = new ArrayList<>(arguments.length);
+		for (final Object argument : arguments) {
+			signature.add(argument == null ? null : argument.getClass());
+		}
+
+		final Resolved retval = this.resolved.computeIfAbsent(signature, this::resolve);
+		return retval == Resolved.NONE ? null : retval;
+	}
+
+	/**
+	 * Picks the most specific constructor compatible with an argument signature.
+	 *
+	 * @param signature the argument types, null for a null argument.
+	 * @return the resolution, {@link Resolved#NONE} when none is compatible.
+	 */
+	private Resolved resolve(final List<Class<?>> signature)
+	{
+		final List<Constructor<?>> compatible = new ArrayList<>();
+		for (final Constructor<?> candidate : this.subjectType.getDeclaredConstructors()) {
+			if (isCompatible(candidate.getParameterTypes(), signature)) {
+				compatible.add(candidate);
+			}
+		}
+		if (compatible.isEmpty()) {
+			return Resolved.NONE;
+		}
+
+		for (final Constructor<?> candidate : compatible) {
+			if (isMostSpecific(candidate, compatible)) {
+				return new Resolved(candidate);
+			}
+		}
+		throw new JUnitCastException("Ambiguous constructors of " + this.subjectType.getName()
+				+ " for " + signature);
+	}
+
+	/**
+	 * @param parameterTypes the constructor parameter types.
+	 * @param signature      the argument types, null for a null argument.
+	 * @return true when every argument can be passed to its parameter.
+	 */
+	private static boolean isCompatible(final Class<?>[] parameterTypes,
+			final List<Class<?>> signature)
+	{
+		if (parameterTypes.length != signature.size()) {
+			return false;
+		}
+		for (int i = 0; i < parameterTypes.length; i++) {
+			final Class<?> argumentType = signature.get(i);
+			if (argumentType == null ? parameterTypes[i].isPrimitive()
+					: !isConvertible(argumentType, parameterTypes[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param candidate  a compatible constructor.
+	 * @param compatible all the compatible constructors.
+	 * @return true when every parameter of the candidate can be passed to each of
+	 *         the other constructors.
+	 */
+	private static boolean isMostSpecific(final Constructor<?> candidate,
+			final List<Constructor<?>> compatible)
+	{
+		final Class<?>[] candidateTypes = candidate.getParameterTypes();
+		for (final Constructor<?> other : compatible) {
+			final Class<?>[] otherTypes = other.getParameterTypes();
+			for (int i = 0; i < candidateTypes.length; i++) {
+				if (!isConvertible(Primitives.wrap(candidateTypes[i]), otherTypes[i])) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param from a reference type.
+	 * @param to   the target type.
+	 * @return true when a value of the reference type can be passed as the target
+	 *         type, unboxed then widened when the target is primitive.
+	 */
+	private static boolean isConvertible(final Class<?> from, final Class<?> to)
+	{
+		if (to.isPrimitive()) {
+			final Class<?> primitive = Primitives.unwrap(from);
+			return primitive == to || WIDENING.getOrDefault(primitive, Set.of()).contains(to);
+		}
+		return to.isAssignableFrom(from);
+	}
+
+	/**
+	 * A resolved constructor with its spreading method handle.
+	 */
+	private static final class Resolved {
+
+		/** Marks a signature that no constructor accepts. */
+		private static final Resolved NONE = new Resolved();
+
+		/** The accessible constructor. */
+		private final transient Constructor<?> constructor;
+
+		/** Takes the arguments as an array and returns the instance as an Object. */
+		private final transient MethodHandle handle;
+
+		/**
+		 * Marker constructor.
+		 */
+		private Resolved() {
+			this.constructor = null;
+			this.handle = null;
+		}
+
+		/**
+		 * @param pConstructor the resolved constructor.
+		 */
+		private Resolved(final Constructor<?> pConstructor) {
+			this.constructor = pConstructor;
+			this.constructor.setAccessible(true);
+			try {
+				this.handle = LOOKUP.unreflectConstructor(pConstructor).asFixedArity()
+						.asSpreader(Object[].class, pConstructor.getParameterCount())
+						.asType(MethodType.methodType(Object.class, Object[].class));
+			} catch (final IllegalAccessException e) {
+				throw new JUnitCastException(e);
+			}
+		}
+	}
+}
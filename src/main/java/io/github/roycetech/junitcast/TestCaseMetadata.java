@@ -0,0 +1,113 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Reflective facts about a test class, resolved once per class and shared by
+ * all of its scenarios: the subject type declared as the first type argument
+ * of the superclass and the Var enum nested in the test class. Subject
+ * constructors are resolved by {@link SubjectFactory}.
+ */
+final class TestCaseMetadata {
+
+	/** Metadata per test class. */
+	private static final ClassValue<TestCaseMetadata> CACHE = new ClassValue<>() {
+		@Override
+		protected TestCaseMetadata computeValue(final Class<?> type)
+		{
+			return new TestCaseMetadata(type);
+		}
+	};
+
+	/** The subject type, null when the superclass declares none. */
+	private final transient Class<?> subjectType;
+
+	/** The Var enum of the test class, null when there is none. */
+	private final transient Class<? extends Enum<?>> variableEnum;
+
+	/**
+	 * @param testClass the test class.
+	 */
+	private TestCaseMetadata(final Class<?> testClass) {
+		this.subjectType = resolveSubjectType(testClass);
+		this.variableEnum = resolveVariableEnum(testClass);
+	}
+
+	/**
+	 * Returns the metadata of a test class.
+	 *
+	 * @param testClass the test class.
+	 * @return the shared metadata.
+	 */
+	/* default */ static TestCaseMetadata of(final Class<?> testClass)
+	{
+		return CACHE.get(testClass);
+	}
+
+	/**
+	 * @param testClass the test class.
+	 * @return the first type argument of the superclass, or null.
+	 */
+	private static Class<?> resolveSubjectType(final Class<?> testClass)
+	{
+		if (!(testClass.getGenericSuperclass() instanceof ParameterizedType)) {
+			return null;
+		}
+
+		final Type type = ((ParameterizedType) testClass.getGenericSuperclass())
+				.getActualTypeArguments()[0];
+		if (type instanceof ParameterizedType) {
+			return (Class<?>) ((ParameterizedType) type).getRawType();
+		}
+		return type instanceof Class ? (Class<?>) type : null;
+	}
+
+	/**
+	 * Looks for a Var enum in the test class.
+	 *
+	 * @param testClass the test class.
+	 * @return null when Variable enum is not found.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Class<? extends Enum<?>> resolveVariableEnum(final Class<?> testClass)
+	{
+		for (final Class<?> innerClass : testClass.getDeclaredClasses()) {
+			if (innerClass.getSimpleName().startsWith("Var")) {
+				return (Class<? extends Enum<?>>) innerClass;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the subject type, or null when the superclass declares none.
+	 */
+	/* default */ Class<?> getSubjectType()
+	{
+		return this.subjectType;
+	}
+
+	/**
+	 * @return the Var enum of the test class, or null.
+	 */
+	/* default */ Class<? extends Enum<?>> getVariableEnum()
+	{
+		return this.variableEnum;
+	}
+}
@@ -0,0 +1,183 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.github.roycetech.ruleengine.Rule;
+import com.github.roycetech.ruleengine.converter.ElementConverter;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import io.github.roycetech.junitcast.rule.RuleCompiler;
+
+/**
+ * Parameter that carries the fingerprint of the inputs that determine it, for
+ * incremental runs. The fingerprint covers the variables, rule, rule token
+ * converters, exemption and pair of its case, then its own scenario and
+ * expected outcome. Editing one rule of a resource only changes the
+ * fingerprints of the scenarios of that case.
+ *
+ * @param <E> scenario element type.
+ */
+public final class TrackedParameter<E> extends Parameter<E> {
+
+	/** Digest of the inputs. */
+	private static final HashFunction HASH = Hashing.sha256();
+
+	/** The tracked parameter. */
+	private final transient Parameter<E> parameter;
+
+	/** Digest of the inputs of the case, shared by its parameters. */
+	private final transient HashCode caseDigest;
+
+	/** Shard of the generator, null when it generated every scenario. */
+	private final transient ScenarioShard shard;
+
+	/**
+	 * @param pParameter  the tracked parameter.
+	 * @param pCaseDigest digest of the inputs of the case, see
+	 *                    {@link #digest(CaseFixture)}.
+	 * @param pShard      shard of the generator, may be null.
+	 */
+	/* default */ TrackedParameter(final Parameter<E> pParameter, final HashCode pCaseDigest,
+			final ScenarioShard pShard) {
+		super();
+		this.parameter = pParameter;
+		this.caseDigest = pCaseDigest;
+		this.shard = pShard;
+	}
+
+	/**
+	 * Computes the digest of the inputs of a case.
+	 *
+	 * @param fixture the case fixture.
+	 * @return the digest of the case.
+	 */
+	/* default */ static HashCode digest(final CaseFixture<?> fixture)
+	{
+		final Hasher hasher = HASH.newHasher();
+		putString(hasher, fixture.getCaseDesc());
+		putString(hasher, String.valueOf(fixture.getCaseId()));
+		for (final List<?> group : fixture.getVariables()) {
+			hasher.putInt(group.size());
+			putTokens(hasher, group);
+		}
+
+		final Rule rule = fixture.getRule();
+		final Map<String, Object> clauses = new TreeMap<>();
+		for (final String outcome : rule.getOutcomes()) {
+			clauses.put(outcome, rule.getClause(outcome));
+		}
+		final List<List<String>> normalized = RuleCompiler.normalize(clauses);
+		hasher.putInt(normalized.size());
+		for (final List<String> entry : normalized) {
+			putString(hasher, entry.get(0));
+			putString(hasher, entry.get(1));
+		}
+
+		final Map<String, ElementConverter> converters = fixture.getRuleConverter();
+		if (converters != null) {
+			for (final Map.Entry<String, ElementConverter> entry : new TreeMap<>(converters)
+					.entrySet()) {
+				putString(hasher, entry.getKey());
+				putString(hasher, entry.getValue().getClass().getName());
+			}
+		}
+		putString(hasher, String.valueOf(fixture.getExemptRule()));
+		putString(hasher, String.valueOf(new TreeMap<>(fixture.getPairMap())));
+		return hasher.hash();
+	}
+
+	/**
+	 * Hashes tokens with their type, so that 1 and "1" differ.
+	 *
+	 * @param hasher the hasher.
+	 * @param tokens the tokens.
+	 */
+	private static void putTokens(final Hasher hasher, final List<?> tokens)
+	{
+		for (final Object token : tokens) {
+			putString(hasher, token == null ? "null" : token.getClass().getName());
+			putString(hasher, String.valueOf(token));
+		}
+	}
+
+	/**
+	 * Hashes a length-prefixed string, so that boundaries are significant.
+	 *
+	 * @param hasher the hasher.
+	 * @param value  the string.
+	 */
+	private static void putString(final Hasher hasher, final String value)
+	{
+		hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Computes the fingerprint of this parameter.
+	 *
+	 * @return the hexadecimal fingerprint.
+	 */
+	public String getFingerprint()
+	{
+		final Hasher hasher = HASH.newHasher().putBytes(this.caseDigest.asBytes());
+		putTokens(hasher, getScenario());
+		putString(hasher, getExpected());
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * @return the shard of the generator, null when it generated every scenario.
+	 */
+	/* default */ ScenarioShard getShard()
+	{
+		return this.shard;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String getExpected()
+	{
+		return this.parameter.getExpected();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<String> getIdentifier()
+	{
+		return this.parameter.getIdentifier();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<E> getScenario()
+	{
+		return this.parameter.getScenario();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public String getCaseDesc()
+	{
+		return this.parameter.getCaseDesc();
+	}
+}
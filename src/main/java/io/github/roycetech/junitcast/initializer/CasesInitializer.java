@@ -5,6 +5,7 @@ package io.github.roycetech.junitcast.initializer;
 
 import io.github.roycetech.junitcast.ResourceFixture;
 import io.github.roycetech.junitcast.ResourceFixture.ResourceKey;
+import io.github.roycetech.junitcast.ResourceFixtureException;
 
 /**
  * This class initializes the casesdesc parameter from the resource fixture.
@@ -59,18 +60,21 @@ public class CasesInitializer implements ResourceParameterInitializer {
 	private void initializeCases()
 	{
 		int caseIndex = getResourceFixture().getDebugStart();
-		/*
-		 * 10 is a safe value, used during test where the stubbing can make the loop go
-		 * on forever so this limit serves as a safety off switch.
-		 */
-		while (caseIndex < 10) {
+		while (true) {
 			final String key = ResourceKey.casedesc.name() + caseIndex++;
-			if (getResourceFixture().getResourceBundle().containsKey(key)) {
-				final String kaso = getResourceFixture().getResourceString(key);
-				getResourceFixture().getCaseList().add(kaso.trim());
-			} else {
+			if (!getResourceFixture().getResourceBundle().containsKey(key)) {
 				break;
 			}
+
+			final String kaso = getResourceFixture().getResourceString(key);
+			/*
+			 * A repeated description would merge two cases. This is also the safety off
+			 * switch during test where the stubbing can make the loop go on forever.
+			 */
+			if (!getResourceFixture().getCaseList().add(kaso.trim())) {
+				throw new ResourceFixtureException(
+						"Duplicate case description in " + key + ": " + kaso.trim());
+			}
 		}
 	}
 
@@ -3,6 +3,9 @@
  */
 package io.github.roycetech.junitcast.initializer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.github.roycetech.ruleengine.utils.StringUtil;
 
 import io.github.roycetech.junitcast.ResourceFixture;
@@ -47,26 +50,33 @@ public class ExemptInitializer implements ResourceParameterInitializer {
 
 	/**
 	 * Initializes common exemption for a specific case index and updates the
-	 * exemption map.
+	 * exemption map. The exemptions are also kept separately so they can be
+	 * compiled and counted individually.
 	 *
 	 * @param commonExempt The common exemption string.
 	 * @param caseIndex    The index of the case.
 	 */
 	private void initializeCommonExemptions(final String commonExempt, final int caseIndex)
 	{
-		final StringBuilder exemptRule = new StringBuilder();
 		final String caseExempt = computeCaseExempt(caseIndex);
 
-		if (StringUtil.hasValue(commonExempt) && StringUtil.hasValue(caseExempt)) {
-			exemptRule.append(String.format("(%s)|%s", commonExempt, caseExempt));
-		} else if (StringUtil.hasValue(caseExempt)) {
-			exemptRule.append(caseExempt);
-		} else if (StringUtil.hasValue(commonExempt)) {
-			exemptRule.append(commonExempt);
+		final List<String> exemptions = new ArrayList<>(2);
+		if (StringUtil.hasValue(commonExempt)) {
+			exemptions.add(commonExempt);
+		}
+		if (StringUtil.hasValue(caseExempt)) {
+			exemptions.add(caseExempt);
+		}
+
+		if (exemptions.size() == 2) {
+			getResourceFixture().getCaseExemptMap().put(caseIndex,
+					"(" + commonExempt + ")|" + caseExempt);
+		} else if (!exemptions.isEmpty()) {
+			getResourceFixture().getCaseExemptMap().put(caseIndex, exemptions.get(0));
 		}
 
-		if (StringUtil.hasValue(exemptRule.toString())) {
-			getResourceFixture().getCaseExemptMap().put(caseIndex, exemptRule.toString());
+		if (!exemptions.isEmpty()) {
+			getResourceFixture().getCaseExemptions().put(caseIndex, exemptions);
 		}
 	}
 
@@ -36,17 +36,16 @@ public class IdentifierInitializer implements ResourceParameterInitializer {
 	@Override
 	public void initialize()
 	{
-		for (int i = 0; i < getResourceFixture().getCaseList().size(); i++) {
-			final int actualIdx = i + getResourceFixture().getDebugStart();
+		int index = 0; // NOPMD: accumulator.
+		for (final String caseDesc : getResourceFixture().getCaseList()) {
+			final int actualIdx = index++ + getResourceFixture().getDebugStart();
 			final String key = ResourceKey.caseId.name() + actualIdx;
 			if (getResourceFixture().getResourceBundle().containsKey(key)) {
 				final String raw = getResourceFixture().getResourceString(key);
 				getResourceFixture().getAttrList()
 					.add(Arrays.asList(StringUtil.trimArray(raw.split(","))));
 			} else {
-				final String caseId = getResourceFixture().getCaseList()
-					.toArray(new String[0])[i];
-				getResourceFixture().getAttrList().add(List.of(caseId));
+				getResourceFixture().getAttrList().add(List.of(caseDesc));
 			}
 		}
 	}
@@ -0,0 +1,246 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.StandardLocation;
+
+import io.github.roycetech.junitcast.CastTokens;
+
+/**
+ * Generates a {@code <TestClass>Tokens} class for each test class annotated
+ * with {@link CastTokens}, from the .properties resource of the test.
+ *
+ * The generated {@code variable(Object)} and {@code outcome(Object)} methods
+ * are a string switch over the declared tokens: the raw token is matched as
+ * is, without replacing its spaces, and the hash of a token is computed once
+ * per string instance.
+ */
+@SupportedAnnotationTypes("io.github.roycetech.junitcast.CastTokens")
+public class TokenProcessor extends AbstractProcessor {
+
+	/** Suffix of the generated class name. */
+	/* default */ static final String SUFFIX = "Tokens";
+
+	/** Locations searched for the resource, the sources first. */
+	private static final JavaFileManager.Location[] LOCATIONS = {
+			StandardLocation.SOURCE_PATH, StandardLocation.CLASS_OUTPUT,
+			StandardLocation.CLASS_PATH };
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations,
+			final RoundEnvironment roundEnv)
+	{
+		for (final Element element : roundEnv.getElementsAnnotatedWith(CastTokens.class)) {
+			if (element instanceof TypeElement) {
+				generate((TypeElement) element);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param testClass the annotated test class.
+	 */
+	private void generate(final TypeElement testClass)
+	{
+		final String configured = testClass.getAnnotation(CastTokens.class).value();
+		final String resourceUri = configured.isEmpty()
+				? processingEnv.getElementUtils().getBinaryName(testClass).toString()
+				: configured;
+		final String resourceName = resourceUri.replace('.', '/') + ".properties";
+
+		final Properties properties = load(resourceUri);
+		if (properties == null) {
+			error(testClass, "Resource not found: " + resourceName);
+			return;
+		}
+
+		final TokenResource resource = new TokenResource(resourceName, properties);
+		if (!resource.getErrors().isEmpty()) {
+			resource.getErrors().forEach(message -> error(testClass, message));
+			return;
+		}
+
+		final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(testClass);
+		final String className = testClass.getSimpleName() + SUFFIX;
+		final String qualifiedName = pkg.isUnnamed() ? className
+				: pkg.getQualifiedName() + "." + className;
+		try (PrintWriter writer = new PrintWriter(processingEnv.getFiler()
+				.createSourceFile(qualifiedName, testClass).openWriter())) {
+			write(writer, pkg, className, resourceName, resource);
+		} catch (final IOException e) {
+			error(testClass, "Failed to write " + qualifiedName + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @param resourceUri the resource base name.
+	 * @return the loaded resource, or null when it is not found.
+	 */
+	private Properties load(final String resourceUri)
+	{
+		final int lastDot = resourceUri.lastIndexOf('.');
+		final String pkg = lastDot < 0 ? "" : resourceUri.substring(0, lastDot);
+		final String relativeName = resourceUri.substring(lastDot + 1) + ".properties";
+		for (final JavaFileManager.Location location : LOCATIONS) {
+			try {
+				final FileObject file = processingEnv.getFiler().getResource(location, pkg,
+						relativeName);
+				try (InputStream input = file.openInputStream();
+						Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+					final Properties retval = new Properties();
+					retval.load(reader);
+					return retval;
+				}
+			} catch (final IOException | IllegalArgumentException e) { // NOPMD: next location.
+				continue;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param element the element to report on.
+	 * @param message the error message.
+	 */
+	private void error(final Element element, final String message)
+	{
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+	/**
+	 * Writes the generated class.
+	 *
+	 * @param writer       the source file writer.
+	 * @param pkg          the package of the test class.
+	 * @param className    the generated class name.
+	 * @param resourceName the resource path, for the documentation.
+	 * @param resource     the tokens of the resource.
+	 */
+	private static void write(final PrintWriter writer, final PackageElement pkg,
+			final String className, final String resourceName, final TokenResource resource)
+	{
+		if (!pkg.isUnnamed()) {
+			writer.println("package " + pkg.getQualifiedName() + ";");
+			writer.println();
+		}
+		writer.println("/**");
+		writer.println(" * Tokens of " + resourceName + ".");
+		writer.println(" */");
+		writer.println("@javax.annotation.processing.Generated(\"" + TokenProcessor.class.getName()
+				+ "\")");
+		writer.println("public final class " + className + " {");
+		writer.println();
+		writeEnum(writer, "Variable", "token", "Scenario variables.", resource.getVariables());
+		writeEnum(writer, "Outcome", "value", "Rule outcomes.", resource.getOutcomes());
+		writer.println("\tprivate " + className + "() {}");
+		writer.println();
+		writeLookup(writer, "Variable", "variable", resource.getVariables());
+		writeLookup(writer, "Outcome", "outcome", resource.getOutcomes());
+		writer.println("}");
+	}
+
+	/**
+	 * @param writer    the source file writer.
+	 * @param enumName  the enum name.
+	 * @param accessor  the name of the method returning the raw token.
+	 * @param doc       the enum documentation.
+	 * @param constants token to constant name.
+	 */
+	private static void writeEnum(final PrintWriter writer, final String enumName,
+			final String accessor, final String doc, final Map<String, String> constants)
+	{
+		writer.println("\t/** " + doc + " */");
+		writer.println("\tpublic enum " + enumName + " {");
+		int remaining = constants.size();
+		for (final Map.Entry<String, String> entry : constants.entrySet()) {
+			remaining--;
+			writer.println("\t\t" + entry.getValue() + "(" + TokenResource.literal(entry.getKey())
+					+ ")" + (remaining == 0 ? ";" : ","));
+		}
+		if (constants.isEmpty()) {
+			writer.println("\t\t;");
+		}
+		writer.println();
+		writer.println("\t\tprivate final String token;");
+		writer.println();
+		writer.println("\t\t" + enumName + "(final String pToken) {");
+		writer.println("\t\t\tthis.token = pToken;");
+		writer.println("\t\t}");
+		writer.println();
+		writer.println("\t\t/** @return the token as written in the resource. */");
+		writer.println("\t\tpublic String " + accessor + "()");
+		writer.println("\t\t{");
+		writer.println("\t\t\treturn this.token;");
+		writer.println("\t\t}");
+		writer.println("\t}");
+		writer.println();
+	}
+
+	/**
+	 * @param writer    the source file writer.
+	 * @param enumName  the enum name.
+	 * @param method    the lookup method name.
+	 * @param constants token to constant name.
+	 */
+	private static void writeLookup(final PrintWriter writer, final String enumName,
+			final String method, final Map<String, String> constants)
+	{
+		writer.println("\t/**");
+		writer.println("\t * @param token a raw token, as found in a scenario.");
+		writer.println("\t * @return the constant of the token.");
+		writer.println("\t * @throws IllegalArgumentException when the token is not declared.");
+		writer.println("\t */");
+		writer.println("\tpublic static " + enumName + " " + method + "(final Object token)");
+		writer.println("\t{");
+		writer.println("\t\tswitch (String.valueOf(token)) {");
+		for (final Map.Entry<String, String> entry : constants.entrySet()) {
+			writer.println("\t\t\tcase " + TokenResource.literal(entry.getKey()) + ":");
+			writer.println("\t\t\t\treturn " + enumName + "." + entry.getValue() + ";");
+		}
+		writer.println("\t\t\tdefault:");
+		writer.println("\t\t\t\tthrow new IllegalArgumentException(\"Undeclared token: \" + token);");
+		writer.println("\t\t}");
+		writer.println("\t}");
+		writer.println();
+	}
+}
@@ -0,0 +1,275 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.processor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.lang.model.SourceVersion;
+
+/**
+ * The tokens declared by a test resource: the variables of every case and the
+ * outcomes of its rules and pairs. Rule, pair and exemption clauses are checked
+ * against the declared variables, and each token is given a Java constant
+ * name.
+ */
+final class TokenResource {
+
+	/** Rule clause operators, like the rule parser. */
+	private static final Pattern OPERATORS = Pattern.compile("[&|!()]");
+
+	/** Token followed by the index of its variable group. */
+	private static final Pattern POSITIONAL = Pattern.compile("(.*?)\\s*\\[(\\d+)\\]");
+
+	/** Name of the resource, for the messages. */
+	private final transient String name;
+
+	/** Variable token to constant name, in declaration order. */
+	private final transient Map<String, String> variables = new LinkedHashMap<>();
+
+	/** Outcome token to constant name, in declaration order. */
+	private final transient Map<String, String> outcomes = new LinkedHashMap<>();
+
+	/** Problems found in the resource. */
+	private final transient List<String> errors = new ArrayList<>();
+
+	/**
+	 * Reads the cases of a test resource.
+	 *
+	 * @param pName      name of the resource, for the messages.
+	 * @param properties the loaded resource.
+	 */
+	/* default */ TokenResource(final String pName, final Properties properties) {
+		this.name = pName;
+
+		final List<List<String>> commonVars = groups(properties.getProperty("commonvar"));
+		final String commonExempt = properties.getProperty("commonexempt");
+		for (int i = 0; properties.containsKey("casedesc" + i); i++) {
+			final List<List<String>> caseVars = groups(properties.getProperty("var" + i));
+			caseVars.addAll(commonVars);
+			caseVars.forEach(group -> group.forEach(token -> addConstant(this.variables, token)));
+
+			readRule(i, properties.getProperty("rule" + i), caseVars);
+			readPair(i, properties.getProperty("pair" + i));
+			checkClause("exempt" + i, properties.getProperty("exempt" + i), caseVars);
+			checkClause("commonexempt", commonExempt, caseVars);
+		}
+
+		if (this.variables.isEmpty()) {
+			this.errors.add("No case variables found in " + this.name);
+		}
+	}
+
+	/**
+	 * @return variable token to constant name, in declaration order.
+	 */
+	/* default */ Map<String, String> getVariables()
+	{
+		return this.variables;
+	}
+
+	/**
+	 * @return outcome token to constant name, in declaration order.
+	 */
+	/* default */ Map<String, String> getOutcomes()
+	{
+		return this.outcomes;
+	}
+
+	/**
+	 * @return the problems found, empty when the resource is valid.
+	 */
+	/* default */ List<String> getErrors()
+	{
+		return this.errors;
+	}
+
+	/**
+	 * Splits a variable definition into its groups of tokens, like
+	 * ResourceFixture#extractCombinations.
+	 *
+	 * @param raw the pipe separated groups of comma separated tokens, may be null.
+	 * @return the groups of trimmed tokens.
+	 */
+	private static List<List<String>> groups(final String raw)
+	{
+		final List<List<String>> retval = new ArrayList<>();
+		if (raw == null) {
+			return retval;
+		}
+
+		for (final String group : raw.split("\\|")) {
+			if (!group.isBlank()) {
+				final List<String> tokens = new ArrayList<>();
+				for (final String token : group.split(",")) {
+					tokens.add(token.trim());
+				}
+				retval.add(tokens);
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @param caseIndex the case index.
+	 * @param rule      the tilde separated outcome:clause pairs, may be null.
+	 * @param caseVars  the variable groups of the case.
+	 */
+	private void readRule(final int caseIndex, final String rule,
+			final List<List<String>> caseVars)
+	{
+		if (rule == null) {
+			this.errors.add("Missing rule" + caseIndex + " in " + this.name);
+			return;
+		}
+
+		for (final String outcomeClause : rule.split("~")) {
+			if (outcomeClause.isBlank()) {
+				continue;
+			}
+			final int separator = outcomeClause.indexOf(':');
+			if (separator < 0) {
+				this.errors.add("Missing outcome in rule" + caseIndex + " of " + this.name + ": "
+						+ outcomeClause.trim());
+				continue;
+			}
+			addConstant(this.outcomes, outcomeClause.substring(0, separator).trim());
+			checkClause("rule" + caseIndex, outcomeClause.substring(separator + 1), caseVars);
+		}
+	}
+
+	/**
+	 * @param caseIndex the case index.
+	 * @param pair      the colon separated pair of outcomes, may be null.
+	 */
+	private void readPair(final int caseIndex, final String pair)
+	{
+		if (pair != null) {
+			for (final String outcome : pair.split(":")) {
+				addConstant(this.outcomes, outcome.trim());
+			}
+		}
+	}
+
+	/**
+	 * Checks that a clause only names the variables of its case.
+	 *
+	 * @param key      the key of the clause, for the messages.
+	 * @param clause   the clause, may be null.
+	 * @param caseVars the variable groups of the case.
+	 */
+	private void checkClause(final String key, final String clause,
+			final List<List<String>> caseVars)
+	{
+		if (clause == null) {
+			return;
+		}
+
+		for (final String operand : OPERATORS.split(clause)) {
+			final String token = operand.trim();
+			if (token.isEmpty()) {
+				continue;
+			}
+
+			final Matcher positional = POSITIONAL.matcher(token);
+			final boolean declared;
+			if (positional.matches()) {
+				final int group = Integer.parseInt(positional.group(2));
+				declared = group < caseVars.size()
+						&& caseVars.get(group).contains(positional.group(1));
+			} else {
+				declared = caseVars.stream().anyMatch(group -> group.contains(token));
+			}
+			if (!declared) {
+				this.errors.add("Undeclared token '" + token + "' in " + key + " of " + this.name);
+			}
+		}
+	}
+
+	/**
+	 * Adds a token with its constant name, reporting two tokens sharing a name.
+	 *
+	 * @param constants token to constant name.
+	 * @param token     the token to add.
+	 */
+	private void addConstant(final Map<String, String> constants, final String token)
+	{
+		if (token.isEmpty() || constants.containsKey(token)) {
+			return;
+		}
+
+		final String constant = constantName(token);
+		for (final Map.Entry<String, String> entry : constants.entrySet()) {
+			if (entry.getValue().equals(constant)) {
+				this.errors.add("Tokens '" + entry.getKey() + "' and '" + token
+						+ "' share the constant " + constant + " in " + this.name);
+				return;
+			}
+		}
+		constants.put(token, constant);
+	}
+
+	/**
+	 * Derives a Java identifier from a token. Spaces and other symbols become
+	 * underscores, a leading minus becomes "minus", a leading digit is prefixed
+	 * with an underscore, and a keyword is suffixed with one.
+	 *
+	 * @param token the raw token.
+	 * @return the constant name.
+	 */
+	/* default */ static String constantName(final String token)
+	{
+		final StringBuilder retval = new StringBuilder(token.length() + 5);
+		int start = 0;
+		if (token.charAt(0) == '-') {
+			retval.append("minus");
+			start = 1;
+		}
+		for (int i = start; i < token.length(); i++) {
+			final char next = token.charAt(i);
+			retval.append(Character.isJavaIdentifierPart(next) ? next : '_');
+		}
+
+		if (!Character.isJavaIdentifierStart(retval.charAt(0))) {
+			retval.insert(0, '_');
+		}
+		if (!SourceVersion.isName(retval)) {
+			retval.append('_');
+		}
+		return retval.toString();
+	}
+
+	/**
+	 * @param token a raw token.
+	 * @return the token as a Java string literal.
+	 */
+	/* default */ static String literal(final String token)
+	{
+		final StringBuilder retval = new StringBuilder(token.length() + 2).append('"');
+		for (final char next : token.toCharArray()) {
+			if (next == '"' || next == '\\') {
+				retval.append('\\');
+			}
+			retval.append(next);
+		}
+		return retval.append('"').toString();
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * Compile time support. {@link io.github.roycetech.junitcast.processor.TokenProcessor}
+ * generates the token enums of the test classes annotated with
+ * {@link io.github.roycetech.junitcast.CastTokens}.
+ */
+package io.github.roycetech.junitcast.processor;
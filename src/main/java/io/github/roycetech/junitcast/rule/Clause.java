@@ -0,0 +1,305 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.rule;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiled rule clause, bound to the converted token values of a case. Nodes
+ * are immutable so a clause can be shared between threads.
+ */
+public abstract class Clause {
+
+	/** Placeholder for a scenario position whose token is not chosen yet. */
+	public static final Object UNSET = new Object() {
+		@Override
+		public String toString()
+		{
+			return "UNSET";
+		}
+	};
+
+	/** Only the nested node types may extend this. */
+	/* default */ Clause() {
+	}
+
+	/**
+	 * Evaluates this clause against a scenario.
+	 *
+	 * @param scenario the scenario tokens, one per variable group.
+	 * @return true when the scenario satisfies this clause.
+	 */
+	public abstract boolean test(List<?> scenario);
+
+	/**
+	 * Evaluates this clause against a partially chosen scenario.
+	 *
+	 * @param partial the chosen token per variable group, or {@link #UNSET}.
+	 * @param domains the tokens of each variable group, used to tell if an unset
+	 *                position can still match.
+	 * @return the decision, exact when no position is unset.
+	 */
+	public abstract Decision decide(Object[] partial, List<? extends List<?>> domains);
+
+	/**
+	 * Evaluates this clause over every scenario of a truth table.
+	 *
+	 * @param table the truth table of the case.
+	 * @return a new mask of the scenarios that satisfy this clause.
+	 */
+	public abstract BitSet mask(TruthTable table);
+
+	/**
+	 * Matches a single token value, the same way the rule engine does: a
+	 * positional token must equal the element at its position, while a token
+	 * that may appear anywhere also matches an element that is not a String
+	 * but prints as the token, e.g. the unconverted token 1 matches the Integer
+	 * 1.
+	 */
+	/* default */ static final class Token extends Clause {
+
+		/** Converted token value. */
+		private final transient Object value;
+
+		/** Scenario position, or -1 when the token may appear anywhere. */
+		private final transient int position;
+
+		/**
+		 * @param pValue    converted token value.
+		 * @param pPosition scenario position, or -1 for any position.
+		 */
+		/* default */ Token(final Object pValue, final int pPosition) {
+			this.value = pValue;
+			this.position = pPosition;
+		}
+
+		@Override
+		public boolean test(final List<?> scenario)
+		{
+			if (this.position < 0) {
+				for (final Object element : scenario) {
+					if (matches(this.value, element)) {
+						return true;
+					}
+				}
+				return false;
+			}
+			return this.position < scenario.size()
+					&& Objects.equals(this.value, scenario.get(this.position));
+		}
+
+		@Override
+		public Decision decide(final Object[] partial, final List<? extends List<?>> domains)
+		{
+			if (this.position >= 0) {
+				if (this.position >= partial.length) {
+					return Decision.FALSE;
+				}
+				final Object chosen = partial[this.position];
+				if (chosen == UNSET) { // NOPMD: identity check on the placeholder.
+					return Decision.UNDECIDED;
+				}
+				return Objects.equals(this.value, chosen) ? Decision.TRUE : Decision.FALSE;
+			}
+
+			Decision retval = Decision.FALSE;
+			for (int i = 0; i < partial.length; i++) {
+				if (partial[i] == UNSET) { // NOPMD: identity check on the placeholder.
+					if (matchesAny(this.value, domains.get(i))) {
+						retval = Decision.UNDECIDED;
+					}
+				} else if (matches(this.value, partial[i])) {
+					return Decision.TRUE;
+				}
+			}
+			return retval;
+		}
+
+		@Override
+		public BitSet mask(final TruthTable table)
+		{
+			return table.token(this.value, this.position);
+		}
+
+		/**
+		 * Checks if a token that may appear anywhere matches a scenario element.
+		 *
+		 * @param value   converted token value.
+		 * @param element the scenario element.
+		 * @return true when equal, or when the token is a String and the element
+		 *         is not but has the same string form.
+		 */
+		/* default */ static boolean matches(final Object value, final Object element)
+		{
+			return Objects.equals(value, element) || value instanceof String && element != null
+					&& !(element instanceof String) && value.equals(String.valueOf(element));
+		}
+
+		/**
+		 * @param value  converted token value.
+		 * @param tokens the tokens of a variable group.
+		 * @return true when any of the tokens matches, see
+		 *         {@link #matches(Object, Object)}.
+		 */
+		private static boolean matchesAny(final Object value, final List<?> tokens)
+		{
+			for (final Object token : tokens) {
+				if (matches(value, token)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/** Short-circuit AND. */
+	/* default */ static final class And extends Clause {
+
+		/** Operands of the conjunction. */
+		private final transient Clause[] operands;
+
+		/**
+		 * @param pOperands two or more operands.
+		 */
+		/* default */ And(final Clause... pOperands) {
+			this.operands = pOperands;
+		}
+
+		@Override
+		public boolean test(final List<?> scenario)
+		{
+			for (final Clause operand : this.operands) {
+				if (!operand.test(scenario)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public Decision decide(final Object[] partial, final List<? extends List<?>> domains)
+		{
+			Decision retval = Decision.TRUE;
+			for (final Clause operand : this.operands) {
+				final Decision decision = operand.decide(partial, domains);
+				if (decision == Decision.FALSE) {
+					return Decision.FALSE;
+				}
+				if (decision == Decision.UNDECIDED) {
+					retval = Decision.UNDECIDED;
+				}
+			}
+			return retval;
+		}
+
+		@Override
+		public BitSet mask(final TruthTable table)
+		{
+			final BitSet retval = this.operands[0].mask(table);
+			for (int i = 1; i < this.operands.length && !retval.isEmpty(); i++) {
+				retval.and(this.operands[i].mask(table));
+			}
+			return retval;
+		}
+	}
+
+	/** Short-circuit OR. */
+	/* default */ static final class Or extends Clause {
+
+		/** Operands of the disjunction. */
+		private final transient Clause[] operands;
+
+		/**
+		 * @param pOperands two or more operands.
+		 */
+		/* default */ Or(final Clause... pOperands) {
+			this.operands = pOperands;
+		}
+
+		@Override
+		public boolean test(final List<?> scenario)
+		{
+			for (final Clause operand : this.operands) {
+				if (operand.test(scenario)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public Decision decide(final Object[] partial, final List<? extends List<?>> domains)
+		{
+			Decision retval = Decision.FALSE;
+			for (final Clause operand : this.operands) {
+				final Decision decision = operand.decide(partial, domains);
+				if (decision == Decision.TRUE) {
+					return Decision.TRUE;
+				}
+				if (decision == Decision.UNDECIDED) {
+					retval = Decision.UNDECIDED;
+				}
+			}
+			return retval;
+		}
+
+		@Override
+		public BitSet mask(final TruthTable table)
+		{
+			final BitSet retval = this.operands[0].mask(table);
+			for (int i = 1; i < this.operands.length; i++) {
+				retval.or(this.operands[i].mask(table));
+			}
+			return retval;
+		}
+	}
+
+	/** Logical negation. */
+	/* default */ static final class Not extends Clause {
+
+		/** Negated operand. */
+		private final transient Clause operand;
+
+		/**
+		 * @param pOperand the negated operand.
+		 */
+		/* default */ Not(final Clause pOperand) {
+			this.operand = pOperand;
+		}
+
+		@Override
+		public boolean test(final List<?> scenario)
+		{
+			return !this.operand.test(scenario);
+		}
+
+		@Override
+		public Decision decide(final Object[] partial, final List<? extends List<?>> domains)
+		{
+			return this.operand.decide(partial, domains).negate();
+		}
+
+		@Override
+		public BitSet mask(final TruthTable table)
+		{
+			final BitSet retval = table.all();
+			retval.andNot(this.operand.mask(table));
+			return retval;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.github.roycetech.junitcast.JUnitCastException;
+
+/**
+ * Recursive descent parser for a rule clause. Precedence from highest to
+ * lowest is: parenthesis, NOT (!), AND (&amp;), OR (|). Anything between the
+ * operators is a token, with surrounding whitespace removed.
+ *
+ * <p>
+ * A well formed clause is read the same way as the rule engine reads it: only
+ * spaces separate operators, any other whitespace is part of the token text
+ * until it is trimmed. A malformed clause is rejected where the rule engine
+ * would silently evaluate part of it: an empty token, a missing closing
+ * parenthesis, and anything left after the clause, like a stray ')' or '('.
+ */
+final class ClauseParser {
+
+	/** Operator characters, these cannot be part of a token. */
+	private static final String OPERATORS = "&|!()";
+
+	/** Token with a scenario position suffix, e.g. true[0]. */
+	private static final Pattern POSITIONAL = Pattern.compile("(.*?)\\s*\\[(\\d+)\\]");
+
+	/** The clause being parsed. */
+	private final transient String clause;
+
+	/** Current parse position. */
+	private transient int cursor;
+
+	/**
+	 * @param pClause the clause to parse, must not be null.
+	 */
+	/* default */ ClauseParser(final String pClause) {
+		this.clause = pClause;
+	}
+
+	/**
+	 * Parses the whole clause.
+	 *
+	 * @return the parsed expression.
+	 */
+	/* default */ Expression parse()
+	{
+		final Expression retval = parseOr();
+		if (peek() != 0) {
+			throw new JUnitCastException(
+					"Unexpected '" + peek() + "' at " + this.cursor + " in clause: " + this.clause);
+		}
+		return retval;
+	}
+
+	/**
+	 * Parses operands separated by OR, the lowest precedence.
+	 *
+	 * @return the disjunction, or the only operand.
+	 */
+	private Expression parseOr()
+	{
+		final List<Expression> operands = new ArrayList<>();
+		operands.add(parseAnd());
+		while (peek() == '|') {
+			this.cursor++;
+			operands.add(parseAnd());
+		}
+		return operands.size() == 1 ? operands.get(0) : new Expression.Disjunction(operands);
+	}
+
+	/**
+	 * Parses operands separated by AND.
+	 *
+	 * @return the conjunction, or the only operand.
+	 */
+	private Expression parseAnd()
+	{
+		final List<Expression> operands = new ArrayList<>();
+		operands.add(parseNot());
+		while (peek() == '&') {
+			this.cursor++;
+			operands.add(parseNot());
+		}
+		return operands.size() == 1 ? operands.get(0) : new Expression.Conjunction(operands);
+	}
+
+	/**
+	 * Parses a negation, a parenthesized clause or a token.
+	 *
+	 * @return the parsed operand.
+	 */
+	private Expression parseNot()
+	{
+		final char next = peek();
+		if (next == '!') {
+			this.cursor++;
+			return new Expression.Negation(parseNot());
+		}
+
+		if (next == '(') {
+			this.cursor++;
+			final Expression retval = parseOr();
+			if (peek() != ')') {
+				throw new JUnitCastException("Missing closing parenthesis in clause: " + this.clause);
+			}
+			this.cursor++;
+			return retval;
+		}
+		return parseLiteral();
+	}
+
+	/**
+	 * Parses a token up to the next operator, with its optional position suffix.
+	 *
+	 * @return the literal.
+	 */
+	private Expression parseLiteral()
+	{
+		final int start = this.cursor;
+		while (this.cursor < this.clause.length()
+				&& OPERATORS.indexOf(this.clause.charAt(this.cursor)) < 0) {
+			this.cursor++;
+		}
+
+		final String token = this.clause.substring(start, this.cursor).trim();
+		if (token.isEmpty()) {
+			throw new JUnitCastException("Missing token at " + start + " in clause: " + this.clause);
+		}
+
+		final Matcher matcher = POSITIONAL.matcher(token);
+		if (matcher.matches()) {
+			return new Expression.Literal(matcher.group(1), Integer.parseInt(matcher.group(2)));
+		}
+		return new Expression.Literal(token, -1);
+	}
+
+	/**
+	 * Skips spaces, but not other whitespace, and returns the next character without consuming it.
+	 *
+	 * @return the next character, or 0 at the end of the clause.
+	 */
+	private char peek()
+	{
+		while (this.cursor < this.clause.length()
+				&& this.clause.charAt(this.cursor) == ' ') {
+			this.cursor++;
+		}
+		return this.cursor < this.clause.length() ? this.clause.charAt(this.cursor) : 0;
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rule compiled for a case. Holds one compiled clause per outcome, in the order
+ * the outcomes are defined.
+ */
+public final class CompiledRule {
+
+	/** Returned by {@link #evaluate(List)} when no outcome matched. */
+	public static final int NO_MATCH = -1;
+
+	/** Returned by {@link #evaluate(List)} when more than one outcome matched. */
+	public static final int AMBIGUOUS = -2;
+
+	/** Rule outcomes. */
+	private final transient List<String> outcomes;
+
+	/** Compiled clause per outcome. */
+	private final transient Clause[] clauses;
+
+	/**
+	 * @param pOutcomes rule outcomes, unmodifiable.
+	 * @param pClauses  compiled clause per outcome.
+	 */
+	/* default */ CompiledRule(final List<String> pOutcomes, final Clause... pClauses) {
+		this.outcomes = pOutcomes;
+		this.clauses = pClauses;
+	}
+
+	/**
+	 * Evaluates the rule against a scenario.
+	 *
+	 * @param scenario the scenario tokens, one per variable group.
+	 * @return the index of the single matching outcome, {@link #NO_MATCH} or
+	 *         {@link #AMBIGUOUS}.
+	 */
+	public int evaluate(final List<?> scenario)
+	{
+		int retval = NO_MATCH; // NOPMD: redefined inside loop.
+		for (int i = 0; i < this.clauses.length; i++) {
+			if (this.clauses[i].test(scenario)) {
+				if (retval != NO_MATCH) {
+					return AMBIGUOUS;
+				}
+				retval = i;
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * Lists every outcome matched by a scenario. This is meant for error reporting,
+	 * use {@link #evaluate(List)} otherwise.
+	 *
+	 * @param scenario the scenario tokens, one per variable group.
+	 * @return the matched outcomes.
+	 */
+	public List<String> matchedOutcomes(final List<?> scenario)
+	{
+		final List<String> retval = new ArrayList<>();
+		for (int i = 0; i < this.clauses.length; i++) {
+			if (this.clauses[i].test(scenario)) {
+				retval.add(this.outcomes.get(i));
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * Returns the rule outcomes.
+	 *
+	 * @return the outcomes, in the order they are defined.
+	 */
+	public List<String> getOutcomes()
+	{
+		return this.outcomes;
+	}
+
+	/**
+	 * Returns the compiled clause of an outcome.
+	 *
+	 * @param index the outcome index.
+	 * @return the compiled clause.
+	 */
+	public Clause getClause(final int index)
+	{
+		return this.clauses[index];
+	}
+}
@@ -0,0 +1,48 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.rule;
+
+/**
+ * Outcome of evaluating a clause against a partially chosen scenario.
+ */
+public enum Decision {
+
+	/** The clause is false whatever the remaining tokens are. */
+	FALSE,
+
+	/** The clause is true whatever the remaining tokens are. */
+	TRUE,
+
+	/** The clause depends on tokens not chosen yet. */
+	UNDECIDED;
+
+	/**
+	 * Returns the logical negation.
+	 *
+	 * @return the negated decision, UNDECIDED stays UNDECIDED.
+	 */
+	public Decision negate()
+	{
+		switch (this) {
+		case TRUE:
+			return FALSE;
+		case FALSE:
+			return TRUE;
+		default:
+			return UNDECIDED;
+		}
+	}
+}
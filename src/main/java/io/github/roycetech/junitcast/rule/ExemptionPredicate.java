@@ -0,0 +1,181 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.rule;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.roycetech.ruleengine.converter.ElementConverter;
+
+/**
+ * Exemptions of a case, compiled once and reused for every scenario. Also
+ * counts how many scenarios each exemption removed. Safe to share between
+ * threads.
+ */
+public final class ExemptionPredicate {
+
+	/** Exemption clauses as defined. */
+	private final transient List<String> exemptions;
+
+	/** Compiled clause per exemption. */
+	private final transient Clause[] clauses;
+
+	/** Number of scenarios removed per exemption. */
+	private final transient LongAdder[] counters;
+
+	/**
+	 * Compiles the exemptions of a case.
+	 *
+	 * @param pExemptions exemption clauses, e.g. the commonexempt and the exemptN
+	 *                    values.
+	 * @param converters  rule token converters of the case, may be null.
+	 */
+	public ExemptionPredicate(final List<String> pExemptions,
+			final Map<String, ElementConverter> converters) {
+		this.exemptions = List.copyOf(pExemptions);
+		this.clauses = new Clause[this.exemptions.size()];
+		this.counters = new LongAdder[this.exemptions.size()];
+		for (int i = 0; i < this.clauses.length; i++) {
+			this.clauses[i] = RuleCompiler.compileClause(this.exemptions.get(i), converters);
+			this.counters[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Checks if a scenario is exempted. The scenario is counted against the first
+	 * exemption that matches it.
+	 *
+	 * @param scenario the scenario tokens, one per variable group.
+	 * @return true when the scenario must be skipped.
+	 */
+	public boolean test(final List<?> scenario)
+	{
+		for (int i = 0; i < this.clauses.length; i++) {
+			if (this.clauses[i].test(scenario)) {
+				this.counters[i].increment();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Decides if every scenario starting with a partially chosen scenario is
+	 * exempted. When it is, the scenarios are counted against the first exemption
+	 * that decided it. An exemption that decides it while an earlier one is still
+	 * undecided cannot be credited with every scenario, some of them belong to the
+	 * earlier exemption: the prefix is then reported as UNDECIDED, so the counts
+	 * stay exact at the cost of descending further.
+	 *
+	 * @param partial   the chosen token per variable group, or
+	 *                  {@link Clause#UNSET}.
+	 * @param domains   the tokens of each variable group.
+	 * @param scenarios number of scenarios covered by the partial scenario.
+	 * @return TRUE when all are exempted, FALSE when none is, UNDECIDED otherwise.
+	 */
+	public Decision decide(final Object[] partial, final List<? extends List<?>> domains,
+			final long scenarios)
+	{
+		Decision retval = Decision.FALSE;
+		for (int i = 0; i < this.clauses.length; i++) {
+			final Decision decision = this.clauses[i].decide(partial, domains);
+			if (decision == Decision.TRUE) {
+				if (retval == Decision.UNDECIDED) {
+					return Decision.UNDECIDED;
+				}
+				this.counters[i].add(scenarios);
+				return Decision.TRUE;
+			}
+			if (decision == Decision.UNDECIDED) {
+				retval = Decision.UNDECIDED;
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * Decides if every scenario starting with a partially chosen scenario is
+	 * exempted, without counting them.
+	 *
+	 * @param partial the chosen token per variable group, or {@link Clause#UNSET}.
+	 * @param domains the tokens of each variable group.
+	 * @return TRUE when all are exempted, FALSE when none is, UNDECIDED otherwise.
+	 */
+	public Decision decide(final Object[] partial, final List<? extends List<?>> domains)
+	{
+		Decision retval = Decision.FALSE;
+		for (final Clause clause : this.clauses) {
+			final Decision decision = clause.decide(partial, domains);
+			if (decision == Decision.TRUE) {
+				return Decision.TRUE;
+			}
+			if (decision == Decision.UNDECIDED) {
+				retval = Decision.UNDECIDED;
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * Evaluates the exemptions over every scenario of a truth table. Each
+	 * scenario is counted against the first exemption that matches it.
+	 *
+	 * @param table the truth table of the case.
+	 * @return a new mask of the exempted scenarios.
+	 */
+	public BitSet mask(final TruthTable table)
+	{
+		final BitSet retval = new BitSet(table.size());
+		for (int i = 0; i < this.clauses.length; i++) {
+			final BitSet exempted = this.clauses[i].mask(table);
+			exempted.andNot(retval);
+			this.counters[i].add(exempted.cardinality());
+			retval.or(exempted);
+		}
+		return retval;
+	}
+
+	/**
+	 * Returns the number of scenarios removed by each exemption so far.
+	 *
+	 * @return exemption clause to count, in the order the exemptions are defined.
+	 */
+	public Map<String, Long> getExemptedCounts()
+	{
+		final Map<String, Long> retval = new LinkedHashMap<>();
+		for (int i = 0; i < this.clauses.length; i++) {
+			retval.merge(this.exemptions.get(i), this.counters[i].sum(), Long::sum);
+		}
+		return retval;
+	}
+
+	/**
+	 * Returns the total number of scenarios removed so far.
+	 *
+	 * @return the number of exempted scenarios.
+	 */
+	public long getExemptedCount()
+	{
+		long retval = 0; // NOPMD: accumulator.
+		for (final LongAdder counter : this.counters) {
+			retval += counter.sum();
+		}
+		return retval;
+	}
+}
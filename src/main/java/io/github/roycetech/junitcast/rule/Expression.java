@@ -0,0 +1,141 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.rule;
+
+import java.util.List;
+import java.util.Map;
+
+import com.github.roycetech.ruleengine.converter.ElementConverter;
+
+/**
+ * Parsed clause that is not yet bound to the token converters of a case. This
+ * is the form that is shared between cases with the same rule text.
+ */
+abstract class Expression {
+
+	/**
+	 * Binds this expression to the converters of a case.
+	 *
+	 * @param converters rule token converters, may be null.
+	 * @return the evaluable clause.
+	 */
+	/* default */ abstract Clause bind(Map<String, ElementConverter> converters);
+
+	/**
+	 * Binds each of the given expressions.
+	 *
+	 * @param operands   the expressions to bind.
+	 * @param converters rule token converters, may be null.
+	 * @return the bound clauses, in the same order.
+	 */
+	/* default */ static Clause[] bindAll(final List<Expression> operands,
+			final Map<String, ElementConverter> converters)
+	{
+		final Clause[] retval = new Clause[operands.size()];
+		for (int i = 0; i < retval.length; i++) {
+			retval[i] = operands.get(i).bind(converters);
+		}
+		return retval;
+	}
+
+	/** Variable token, optionally bound to a scenario position, e.g. true[0]. */
+	/* default */ static final class Literal extends Expression {
+
+		/** Token text without the position suffix. */
+		private final transient String text;
+
+		/** Scenario position, or -1 when the token may appear anywhere. */
+		private final transient int position;
+
+		/**
+		 * @param pText     token text without the position suffix.
+		 * @param pPosition scenario position, or -1 for any position.
+		 */
+		/* default */ Literal(final String pText, final int pPosition) {
+			this.text = pText;
+			this.position = pPosition;
+		}
+
+		@Override
+		/* default */ Clause bind(final Map<String, ElementConverter> converters)
+		{
+			final ElementConverter converter = converters == null ? null
+					: converters.get(this.text);
+			final Object value = converter == null ? this.text : converter.convert(this.text);
+			return new Clause.Token(value, this.position);
+		}
+	}
+
+	/** All operands must be true. */
+	/* default */ static final class Conjunction extends Expression {
+
+		/** Operands of the conjunction. */
+		private final transient List<Expression> operands;
+
+		/**
+		 * @param pOperands two or more operands.
+		 */
+		/* default */ Conjunction(final List<Expression> pOperands) {
+			this.operands = pOperands;
+		}
+
+		@Override
+		/* default */ Clause bind(final Map<String, ElementConverter> converters)
+		{
+			return new Clause.And(bindAll(this.operands, converters));
+		}
+	}
+
+	/** At least one operand must be true. */
+	/* default */ static final class Disjunction extends Expression {
+
+		/** Operands of the disjunction. */
+		private final transient List<Expression> operands;
+
+		/**
+		 * @param pOperands two or more operands.
+		 */
+		/* default */ Disjunction(final List<Expression> pOperands) {
+			this.operands = pOperands;
+		}
+
+		@Override
+		/* default */ Clause bind(final Map<String, ElementConverter> converters)
+		{
+			return new Clause.Or(bindAll(this.operands, converters));
+		}
+	}
+
+	/** Logical negation of the operand. */
+	/* default */ static final class Negation extends Expression {
+
+		/** Negated operand. */
+		private final transient Expression operand;
+
+		/**
+		 * @param pOperand the negated operand.
+		 */
+		/* default */ Negation(final Expression pOperand) {
+			this.operand = pOperand;
+		}
+
+		@Override
+		/* default */ Clause bind(final Map<String, ElementConverter> converters)
+		{
+			return new Clause.Not(this.operand.bind(converters));
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.rule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.github.roycetech.ruleengine.converter.ElementConverter;
+
+/**
+ * Compiles rule definitions into {@link CompiledRule} instances. Parsing is done
+ * once per normalized rule and shared across cases and test classes, only the
+ * conversion of the tokens is done per case.
+ */
+public final class RuleCompiler {
+
+	/** Spaces around operators are not significant. */
+	private static final Pattern OPERATOR_SPACES = Pattern.compile(" *([&|!()]) *");
+
+	/** Parsed rules keyed by normalized rule. */
+	private static final Map<List<List<String>>, Template> TEMPLATES = new ConcurrentHashMap<>();
+
+	/** Parsed standalone clauses keyed by normalized clause text. */
+	private static final Map<String, Expression> CLAUSES = new ConcurrentHashMap<>();
+
+	/**
+	 * Utility class.
+	 */
+	private RuleCompiler()
+	{
+	}
+
+	/**
+	 * Compiles a rule definition for a case.
+	 *
+	 * @param ruleDefinition outcome to clause mapping, as parsed by
+	 *                       {@link io.github.roycetech.junitcast.util.RuleUtil#parseRuleDefinition(String)}.
+	 * @param converters     rule token converters of the case, may be null.
+	 * @return the compiled rule.
+	 */
+	public static CompiledRule compile(final Map<String, Object> ruleDefinition,
+			final Map<String, ElementConverter> converters)
+	{
+		return TEMPLATES.computeIfAbsent(normalize(ruleDefinition), key -> parse(ruleDefinition))
+				.bind(converters);
+	}
+
+	/**
+	 * Compiles a standalone clause for a case, like an exemption.
+	 *
+	 * @param clause     the clause text.
+	 * @param converters rule token converters of the case, may be null.
+	 * @return the compiled clause.
+	 */
+	public static Clause compileClause(final String clause,
+			final Map<String, ElementConverter> converters)
+	{
+		return CLAUSES
+				.computeIfAbsent(normalizeClause(clause), key -> new ClauseParser(key).parse())
+				.bind(converters);
+	}
+
+	/**
+	 * Normalizes a rule definition so that equivalent rules share the same key.
+	 * The outcomes and clauses are kept apart instead of joined, so an outcome
+	 * containing a separator cannot collide with another rule.
+	 *
+	 * @param ruleDefinition outcome to clause mapping.
+	 * @return the outcome and normalized clause of each entry, in order.
+	 */
+	public static List<List<String>> normalize(final Map<String, Object> ruleDefinition)
+	{
+		return ruleDefinition.entrySet().stream()
+				.map(entry -> List.of(entry.getKey(),
+						normalizeClause(String.valueOf(entry.getValue()))))
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	/**
+	 * Removes the insignificant spaces of a clause.
+	 *
+	 * @param clause the clause text.
+	 * @return the normalized clause text.
+	 */
+	/* default */ static String normalizeClause(final String clause)
+	{
+		return OPERATOR_SPACES.matcher(clause.trim()).replaceAll("$1");
+	}
+
+	/**
+	 * Parses every clause of a rule definition.
+	 *
+	 * @param ruleDefinition outcome to clause mapping.
+	 * @return the parsed rule.
+	 */
+	private static Template parse(final Map<String, Object> ruleDefinition)
+	{
+		final List<String> outcomes = new ArrayList<>(ruleDefinition.size());
+		final List<Expression> expressions = new ArrayList<>(ruleDefinition.size());
+		for (final Map.Entry<String, Object> entry : ruleDefinition.entrySet()) {
+			outcomes.add(entry.getKey());
+			expressions.add(new ClauseParser(String.valueOf(entry.getValue())).parse());
+		}
+		return new Template(Collections.unmodifiableList(outcomes), expressions);
+	}
+
+	/**
+	 * Parsed rule that is not yet bound to token converters.
+	 */
+	private static final class Template {
+
+		/** Rule outcomes. */
+		private final transient List<String> outcomes;
+
+		/** Parsed clause per outcome. */
+		private final transient List<Expression> expressions;
+
+		/**
+		 * @param pOutcomes    rule outcomes.
+		 * @param pExpressions parsed clause per outcome.
+		 */
+		private Template(final List<String> pOutcomes, final List<Expression> pExpressions) {
+			this.outcomes = pOutcomes;
+			this.expressions = pExpressions;
+		}
+
+		/**
+		 * @param converters rule token converters of the case, may be null.
+		 * @return the compiled rule for the case.
+		 */
+		private CompiledRule bind(final Map<String, ElementConverter> converters)
+		{
+			return new CompiledRule(this.outcomes, Expression.bindAll(this.expressions, converters));
+		}
+	}
+}
@@ -0,0 +1,295 @@
+/**
+ *   Copyright 2013 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.roycetech.junitcast.rule;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates clauses over every scenario of a case at once. Each scenario is
+ * identified by its mixed-radix index, the last variable group varying
+ * fastest, and each token gets a column bitmask over that index space. The
+ * AND, OR and NOT of a clause are then word-wise operations on the masks.
+ *
+ * <p>
+ * Each mask takes one bit per scenario. Token masks are built when a clause
+ * needs them and dropped with its result, so an evaluation only holds one mask
+ * per outcome and a few working masks.
+ */
+public final class TruthTable {
+
+	/** Largest product evaluated this way, each mask then takes 2MB. */
+	public static final long MAX_SCENARIOS = 1L << 24;
+
+	/** Variable groups of the case. */
+	private final transient List<? extends List<?>> groups;
+
+	/** Index distance between two consecutive tokens of each group. */
+	private final transient int[] strides;
+
+	/** Number of scenarios. */
+	private final transient int size;
+
+	/**
+	 * @param pGroups variable groups of the case, the product must fit, see
+	 *                {@link #fits(List)}.
+	 */
+	public TruthTable(final List<? extends List<?>> pGroups) {
+		if (!fits(pGroups)) {
+			throw new IllegalArgumentException("Too many scenarios for a truth table");
+		}
+
+		this.groups = pGroups;
+		this.strides = new int[pGroups.size()];
+		int stride = 1; // NOPMD: accumulator.
+		for (int i = pGroups.size() - 1; i >= 0; i--) {
+			this.strides[i] = stride;
+			stride *= pGroups.get(i).size();
+		}
+		this.size = stride;
+	}
+
+	/**
+	 * Checks if the product of the groups is small enough for a truth table.
+	 *
+	 * @param groups variable groups of the case.
+	 * @return true when the product is at most {@link #MAX_SCENARIOS}.
+	 */
+	public static boolean fits(final List<? extends List<?>> groups)
+	{
+		long product = 1; // NOPMD: accumulator.
+		for (final List<?> group : groups) {
+			product *= group.size();
+			if (product > MAX_SCENARIOS) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of scenarios.
+	 *
+	 * @return the size of the product.
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * Decodes a scenario from its index.
+	 *
+	 * @param index the scenario index.
+	 * @return the scenario tokens, one per variable group.
+	 */
+	public List<Object> scenario(final int index)
+	{
+		final Object[] retval = new Object[this.groups.size()];
+		for (int i = 0; i < retval.length; i++) {
+			retval[i] = this.groups.get(i).get(index / this.strides[i] % this.groups.get(i).size());
+		}
+		return Collections.unmodifiableList(Arrays.asList(retval));
+	}
+
+	/**
+	 * Evaluates a rule and its exemptions over every scenario.
+	 *
+	 * @param rule      the compiled rule.
+	 * @param exemption the compiled exemptions, may be null.
+	 * @return the outcome of every scenario.
+	 */
+	public Evaluation evaluate(final CompiledRule rule, final ExemptionPredicate exemption)
+	{
+		final BitSet valid = all();
+		if (exemption != null) {
+			valid.andNot(exemption.mask(this));
+		}
+
+		final BitSet[] outcomes = new BitSet[rule.getOutcomes().size()];
+		final BitSet once = new BitSet(this.size);
+		final BitSet twice = new BitSet(this.size);
+		for (int i = 0; i < outcomes.length; i++) {
+			outcomes[i] = rule.getClause(i).mask(this);
+
+			final BitSet again = (BitSet) once.clone();
+			again.and(outcomes[i]);
+			twice.or(again);
+			once.or(outcomes[i]);
+		}
+
+		final BitSet invalid = new BitSet(this.size);
+		if (outcomes.length > 1) {
+			once.andNot(twice);
+			invalid.or(valid);
+			invalid.andNot(once);
+		}
+		return new Evaluation(valid, outcomes, invalid);
+	}
+
+	/**
+	 * Returns a new mask with every scenario set.
+	 *
+	 * @return the mask of all scenarios.
+	 */
+	/* default */ BitSet all()
+	{
+		final BitSet retval = new BitSet(this.size);
+		retval.set(0, this.size);
+		return retval;
+	}
+
+	/**
+	 * Builds the column mask of a token. The mask is not kept, so it takes no
+	 * memory once the caller drops it.
+	 *
+	 * @param value    converted token value.
+	 * @param position scenario position, or -1 for any position.
+	 * @return a new mask of the scenarios that contain the token.
+	 */
+	/* default */ BitSet token(final Object value, final int position)
+	{
+		if (position >= this.groups.size()) {
+			return new BitSet();
+		}
+
+		final BitSet retval = new BitSet(this.size);
+		if (position >= 0) {
+			column(retval, value, position, false);
+		} else {
+			for (int i = 0; i < this.groups.size(); i++) {
+				column(retval, value, i, true);
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * Adds the column mask of a token in one group. The index of a token repeats
+	 * in runs of the group stride.
+	 *
+	 * @param mask        the mask to add the scenarios to.
+	 * @param value       converted token value.
+	 * @param position    the group index.
+	 * @param anyPosition true for a token that may appear anywhere, which also
+	 *                    matches a non String token with the same string form.
+	 */
+	private void column(final BitSet mask, final Object value, final int position,
+			final boolean anyPosition)
+	{
+		final List<?> group = this.groups.get(position);
+		final int stride = this.strides[position];
+		final int period = stride * group.size();
+		for (int digit = 0; digit < group.size(); digit++) {
+			if (anyPosition ? Clause.Token.matches(value, group.get(digit))
+					: Objects.equals(value, group.get(digit))) {
+				for (int start = digit * stride; start < this.size; start += period) {
+					mask.set(start, start + stride);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Outcome of every scenario of a case.
+	 */
+	public static final class Evaluation {
+
+		/** Scenarios that are not exempted. */
+		private final transient BitSet valid;
+
+		/** Scenarios matching each outcome. */
+		private final transient BitSet[] outcomes;
+
+		/** Valid scenarios not matching exactly one of several outcomes. */
+		private final transient BitSet invalid;
+
+		/**
+		 * @param pValid    scenarios that are not exempted.
+		 * @param pOutcomes scenarios matching each outcome.
+		 * @param pInvalid  valid scenarios not matching exactly one outcome.
+		 */
+		/* default */ Evaluation(final BitSet pValid, final BitSet[] pOutcomes,
+				final BitSet pInvalid) {
+			this.valid = pValid;
+			this.outcomes = pOutcomes.clone();
+			this.invalid = pInvalid;
+		}
+
+		/**
+		 * Returns the indexes of the scenarios that are not exempted.
+		 *
+		 * @return the lazily computed, ascending scenario indexes.
+		 */
+		public IntStream scenarios()
+		{
+			return this.valid.stream();
+		}
+
+		/**
+		 * Returns the number of scenarios that are not exempted.
+		 *
+		 * @return the population count of the valid mask.
+		 */
+		public int validCount()
+		{
+			return this.valid.cardinality();
+		}
+
+		/**
+		 * Returns the number of valid scenarios that do not match exactly one
+		 * outcome. Always zero for a binary rule.
+		 *
+		 * @return the population count of the invalid mask.
+		 */
+		public int invalidCount()
+		{
+			return this.invalid.cardinality();
+		}
+
+		/**
+		 * Checks if a scenario matches exactly one outcome, or is under a binary
+		 * rule.
+		 *
+		 * @param index the scenario index.
+		 * @return false when the scenario is ambiguous or unmatched.
+		 */
+		public boolean isUnique(final int index)
+		{
+			return !this.invalid.get(index);
+		}
+
+		/**
+		 * Returns the first outcome matched by a scenario.
+		 *
+		 * @param index the scenario index.
+		 * @return the outcome index, or {@link CompiledRule#NO_MATCH}.
+		 */
+		public int outcome(final int index)
+		{
+			for (int i = 0; i < this.outcomes.length; i++) {
+				if (this.outcomes[i].get(index)) {
+					return i;
+				}
+			}
+			return CompiledRule.NO_MATCH;
+		}
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * Compiled forms of the rule clauses. A rule is parsed once into a tree of
+ * {@link io.github.roycetech.junitcast.rule.Clause} nodes that is evaluated
+ * directly against each scenario.
+ */
+package io.github.roycetech.junitcast.rule;
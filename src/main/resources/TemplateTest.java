@@ -46,7 +46,7 @@ public class TemplateTest extends
 	{
 		final String currentClassName = new Object() {
 		}.getClass().getEnclosingClass().getName();
-		return new ParameterGenerator<String>().genVarData(currentClassName);
+		return ParameterGenerator.<String>fromSystemProperties().genVarData(currentClassName);
 	}
 
 	/**
@@ -0,0 +1,76 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.ResourceBundle;
+
+import org.junit.Test;
+public class CaseDefinitionTest {
+
+	@Test
+	public void testGetCaseModel_indexedCases()
+	{
+		final ResourceFixture sut = new ResourceFixture(
+				"io.github.roycetech.junitcast.ScenarioSourceTest");
+		sut.getFixtures();
+		final List<CaseDefinition> actual = sut.getCaseModel();
+
+		assertEquals(sut.getCaseList().size(), actual.size());
+		assertSame(actual, sut.getCaseModel());
+
+		final CaseDefinition second = actual.get(1);
+		assertEquals(1, second.getIndex());
+		assertEquals("checkValidTestCase", second.getDescription());
+		assertEquals(Collections.singletonList(Arrays.asList("null_param", "empty", "good")),
+				second.getVariables());
+		assertEquals("Good:Error", second.getPair());
+		assertEquals(Collections.singletonList("checkValidTestCase"), second.getIdentifiers());
+		assertNull(second.getExemptions());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testGetCaseModel_immutable()
+	{
+		final ResourceFixture sut = new ResourceFixture(
+				"io.github.roycetech.junitcast.ScenarioSourceTest");
+		sut.getFixtures();
+
+		sut.getCaseModel().get(0).getVariables().clear();
+	}
+
+	@Test
+	public void testGetFixtures_manyCases()
+	{
+		final int count = 2000;
+		final Object[][] contents = new Object[count * 3][];
+		for (int i = 0; i < count; i++) {
+			contents[i * 3] = new Object[] { "casedesc" + i, "case " + i };
+			contents[i * 3 + 1] = new Object[] { "var" + i, "a" + i + ", b" + i };
+			contents[i * 3 + 2] = new Object[] { "rule" + i, "yes:a" + i };
+		}
+		final ResourceBundle bundle = new ListResourceBundle() {
+			@Override
+			protected Object[][] getContents()
+			{
+				return contents;
+			}
+		};
+		final ResourceFixture sut = new ResourceFixture(null) {
+			@Override
+			public ResourceBundle getResourceBundle()
+			{
+				return bundle;
+			}
+		};
+
+		assertEquals(count, sut.getFixtures().size());
+		assertEquals("case 1999", sut.getCaseModel().get(count - 1).getDescription());
+		assertEquals("yes:a1999", sut.getCaseModel().get(count - 1).getRule());
+	}
+}
@@ -0,0 +1,102 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CaseRegistryTest {
+
+	enum Variable {
+		Regular, Holiday, Monday, Friday
+	}
+
+	enum Other {
+		Regular
+	}
+
+	static class SampleCase extends AbstractTransientValueTestCase<String, String, Object> {
+
+		private final List<String> prepared = new ArrayList<>();
+
+		SampleCase(final Parameter<String> pParameter) {
+			super(pParameter);
+		}
+
+		@Override
+		protected void setupTargetObject(final List<Object> constructorParams)
+		{
+		}
+
+		@Override
+		protected void prepare()
+		{
+		}
+
+		@Override
+		protected void execute()
+		{
+		}
+	}
+
+	private static final CaseRegistry<SampleCase, String> CASES = new CaseRegistry<SampleCase, String>(
+			Variable.class).addTransientCase("day", "weekday", Variable.Monday, Variable.Friday)
+					.addTransientCase("kind", new CaseParser() {
+						@Override
+						public <E extends Enum<E>> Object parse(final E kaso)
+						{
+							return kaso.name().toLowerCase();
+						}
+					}, Variable.Regular, Variable.Holiday)
+					.addObserver(Variable.Friday, (testCase, index, caseRaw) -> testCase.prepared
+							.add(index + ":" + caseRaw));
+
+	private static SampleCase sample(final String... scenario)
+	{
+		return new SampleCase(new Parameter<>("sample", Arrays.asList(scenario), "ok",
+				Collections.singletonList("sample")));
+	}
+
+	@Test
+	public void testNotifyObservers_bindsInstance()
+	{
+		final SampleCase friday = sample("Holiday", "Friday");
+		final SampleCase monday = sample("Regular", "Monday");
+
+		CASES.notifyObservers(friday);
+		CASES.notifyObservers(monday);
+
+		assertEquals("holiday", friday.getTransientValue("kind"));
+		assertEquals("weekday", friday.getTransientValue("day"));
+		assertEquals(Collections.singletonList("1:Friday"), friday.prepared);
+		assertEquals("regular", monday.getTransientValue("kind"));
+		assertEquals(Collections.emptyList(), monday.prepared);
+	}
+
+	@Test
+	public void testNotifyObservers_noObservers()
+	{
+		final SampleCase sut = sample("Regular");
+		new CaseRegistry<SampleCase, String>(Variable.class).notifyObservers(sut);
+
+		assertNull(sut.getTransientValue("kind"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddObserver_otherEnum()
+	{
+		new CaseRegistry<SampleCase, String>(Variable.class).addTransientCase("kind", "x",
+				Other.Regular);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddTransientCase_noCase()
+	{
+		new CaseRegistry<SampleCase, String>(Variable.class).addTransientCase("kind", "x");
+	}
+}
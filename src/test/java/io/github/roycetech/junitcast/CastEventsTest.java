@@ -0,0 +1,84 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+
+import io.github.roycetech.junitcast.example.WorkerWithExemptTest;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class CastEventsTest {
+
+	private static List<RecordedEvent> record(final Runnable action) throws IOException
+	{
+		final Path file = Files.createTempFile("junitcast", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("junitcast.Generation");
+			recording.enable("junitcast.Setup");
+			recording.enable("junitcast.Prepare");
+			recording.enable("junitcast.Execute");
+			recording.enable("junitcast.Verify");
+			recording.enable("junitcast.TearDown");
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testPhaseEvents() throws IOException
+	{
+		final List<RecordedEvent> events = record(
+				() -> assertTrue(JUnitCore.runClasses(WorkerWithExemptTest.class).wasSuccessful()));
+
+		final Map<String, Long> counts = events.stream()
+				.collect(Collectors.groupingBy(event -> event.getEventType().getName(),
+						Collectors.counting()));
+		assertEquals(Long.valueOf(1), counts.get("junitcast.Generation"));
+		assertEquals(Long.valueOf(10), counts.get("junitcast.Setup"));
+		assertEquals(Long.valueOf(10), counts.get("junitcast.Prepare"));
+		assertEquals(Long.valueOf(10), counts.get("junitcast.Execute"));
+		assertEquals(Long.valueOf(10), counts.get("junitcast.Verify"));
+		assertEquals(Long.valueOf(10), counts.get("junitcast.TearDown"));
+
+		final RecordedEvent execute = events.stream()
+				.filter(event -> "junitcast.Execute".equals(event.getEventType().getName()))
+				.findFirst().get();
+		assertEquals(WorkerWithExemptTest.class.getName(),
+				execute.getClass("testClass").getName());
+		assertEquals("Has Work", execute.getString("caseDescription"));
+		assertEquals(-1, execute.getLong("scenarioIndex"));
+	}
+
+	@Test
+	public void testGenerationEvent() throws IOException
+	{
+		final List<RecordedEvent> events = record(() -> new ParameterGenerator<String>()
+				.genVarData("io.github.roycetech.junitcast.example.WorkerWithExemptTest"));
+
+		final Map<String, RecordedEvent> byName = events.stream()
+				.collect(Collectors.toMap(event -> event.getEventType().getName(),
+						Function.identity()));
+		final RecordedEvent generation = byName.get("junitcast.Generation");
+		assertEquals("Has Work", generation.getString("caseDescription"));
+		assertEquals(14, generation.getLong("product"));
+		assertEquals(4, generation.getLong("exempted"));
+		assertEquals(10, generation.getLong("emitted"));
+	}
+}
@@ -0,0 +1,118 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.github.roycetech.ruleengine.converter.ElementConverter;
+import com.github.roycetech.ruleengine.converter.IntegerConverter;
+import com.github.roycetech.ruleengine.converter.StringConverter;
+
+public class ConverterRegistryTest {
+
+	private static final String STRING_CONVERTER = StringConverter.class.getName();
+
+	public static class FailingConverter extends StringConverter {
+		public FailingConverter() {
+			throw new IllegalStateException("failing");
+		}
+	}
+
+	public static class ArgumentConverter extends StringConverter {
+		public ArgumentConverter(final String argument) {
+			super();
+		}
+	}
+
+	@Test
+	public void testGet_sharedInstance() throws Exception
+	{
+		final ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			final List<Callable<ElementConverter>> tasks = IntStream.range(0, 64)
+					.mapToObj(i -> (Callable<ElementConverter>) () -> ConverterRegistry
+							.get(IntegerConverter.class.getName()))
+					.collect(Collectors.toList());
+			final ElementConverter expected = ConverterRegistry.get(IntegerConverter.class.getName());
+			for (final Future<ElementConverter> actual : pool.invokeAll(tasks)) {
+				assertSame(expected, actual.get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testNewConverter_newInstance()
+	{
+		final ElementConverter first = ConverterRegistry.newConverter(STRING_CONVERTER);
+
+		assertEquals(StringConverter.class, first.getClass());
+		assertNotSame(first, ConverterRegistry.newConverter(STRING_CONVERTER));
+	}
+
+	@Test
+	public void testRegister_takesPrecedence()
+	{
+		final ElementConverter upper = new StringConverter();
+		ConverterRegistry.register("upper", upper);
+		try {
+			assertSame(upper, ConverterRegistry.get("upper"));
+			assertSame(upper, new ResourceFixture(null).getConverter("upper"));
+		} finally {
+			ConverterRegistry.unregister("upper");
+		}
+	}
+
+	@Test
+	public void testRegister_underClassName()
+	{
+		final ElementConverter converter = new StringConverter();
+		ConverterRegistry.register(converter);
+		try {
+			assertSame(converter, ConverterRegistry.get(STRING_CONVERTER));
+		} finally {
+			ConverterRegistry.unregister(STRING_CONVERTER);
+		}
+	}
+
+	@Test
+	public void testNewConverter_failingConstructor()
+	{
+		try {
+			ConverterRegistry.newConverter(FailingConverter.class.getName());
+			fail("Expected ResourceFixtureException");
+		} catch (final ResourceFixtureException e) {
+			assertEquals(IllegalStateException.class, e.getCause().getClass());
+		}
+	}
+
+	@Test(expected = ResourceFixtureException.class)
+	public void testGet_noDefaultConstructor()
+	{
+		ConverterRegistry.get(ArgumentConverter.class.getName());
+	}
+
+	@Test(expected = ResourceFixtureException.class)
+	public void testGet_notAConverter()
+	{
+		ConverterRegistry.get("java.lang.String");
+	}
+
+	@Test(expected = ResourceFixtureException.class)
+	public void testGet_classNotFound()
+	{
+		ConverterRegistry.get("java.util.Unicorn");
+	}
+}
@@ -0,0 +1,246 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import io.github.roycetech.junitcast.rule.ExemptionPredicate;
+
+public class CoveringArrayTest {
+
+	private static List<List<String>> groups(final int count, final int tokens)
+	{
+		final List<List<String>> retval = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			final List<String> group = new ArrayList<>();
+			for (int j = 0; j < tokens; j++) {
+				group.add(String.valueOf((char) ('a' + i)) + j);
+			}
+			retval.add(group);
+		}
+		return retval;
+	}
+
+	private static Set<List<String>> tuples(final List<List<String>> scenarios)
+	{
+		final Set<List<String>> retval = new HashSet<>();
+		for (final List<String> scenario : scenarios) {
+			for (int i = 0; i < scenario.size(); i++) {
+				for (int j = i + 1; j < scenario.size(); j++) {
+					retval.add(Arrays.asList(scenario.get(i), scenario.get(j)));
+				}
+			}
+		}
+		return retval;
+	}
+
+	@Test
+	public void testGenerate_coversEveryPair()
+	{
+		final List<List<String>> groups = groups(10, 3);
+		final List<List<String>> actual = new CoveringArray<>(groups, 2, null).generate();
+
+		assertEquals(45 * 9, tuples(actual).size());
+		assertTrue("Scenarios: " + actual.size(), actual.size() < 30);
+	}
+
+	@Test
+	public void testGenerate_coversEveryTriple()
+	{
+		final List<List<String>> groups = groups(6, 2);
+		final List<List<String>> actual = new CoveringArray<>(groups, 3, null).generate();
+
+		final Set<List<String>> triples = new HashSet<>();
+		for (final List<String> scenario : actual) {
+			for (int i = 0; i < 6; i++) {
+				for (int j = i + 1; j < 6; j++) {
+					for (int k = j + 1; k < 6; k++) {
+						triples.add(Arrays.asList(scenario.get(i), scenario.get(j), scenario.get(k)));
+					}
+				}
+			}
+		}
+		assertEquals(20 * 8, triples.size());
+		assertTrue("Scenarios: " + actual.size(), actual.size() < 64);
+	}
+
+	@Test
+	public void testGenerate_respectsExemptions()
+	{
+		final List<List<String>> groups = groups(5, 3);
+		final ExemptionPredicate exemption = new ExemptionPredicate(
+				Arrays.asList("a0&b1", "c2[2]&e0[4]"), null);
+		final List<List<String>> actual = new CoveringArray<>(groups, 2, exemption).generate();
+
+		for (final List<String> scenario : actual) {
+			assertFalse(scenario.toString(), exemption.test(scenario));
+		}
+		final Set<List<String>> tuples = tuples(actual);
+		assertFalse(tuples.contains(Arrays.asList("a0", "b1")));
+		assertFalse(tuples.contains(Arrays.asList("c2", "e0")));
+		assertEquals(10 * 9 - 2, tuples.size());
+	}
+
+	@Test(timeout = 10_000)
+	public void testGenerate_excludedTokenIsLeftOut()
+	{
+		final List<List<String>> groups = groups(18, 2);
+		final ExemptionPredicate exemption = new ExemptionPredicate(Arrays.asList("a0&r0", "a0&r1"),
+				null);
+		final List<List<String>> actual = new CoveringArray<>(groups, 2, exemption).generate();
+
+		for (final List<String> scenario : actual) {
+			assertFalse(scenario.toString(), scenario.contains("a0"));
+		}
+		assertEquals(18 * 17 / 2 * 4 - 17 * 2, tuples(actual).size());
+	}
+
+	@Test
+	public void testGenerate_undecidedExemptionKeepsPairs()
+	{
+		final List<List<String>> groups = Arrays.asList(Arrays.asList("t0_0", "t0_1"),
+				Arrays.asList("t1_0", "t1_1"), Arrays.asList("t2_0", "t2_1", "t2_2"),
+				Arrays.asList("t3_0", "t3_1"));
+		final List<String> exemptions = Arrays.asList("t3_0|t3_1&t1_0&t0_1");
+
+		assertCoversFeasibleTuples(groups, exemptions, 2);
+		assertTrue(tuples(new CoveringArray<>(groups, 2, new ExemptionPredicate(exemptions, null))
+				.generate()).contains(Arrays.asList("t1_0", "t2_1")));
+	}
+
+	@Test
+	public void testGenerate_coversEveryFeasibleTuple()
+	{
+		final Random random = new Random(42);
+		for (int run = 0; run < 200; run++) {
+			final List<List<String>> groups = new ArrayList<>();
+			final int count = 3 + random.nextInt(3);
+			for (int i = 0; i < count; i++) {
+				groups.add(groups(count, 2 + random.nextInt(2)).get(i));
+			}
+
+			final List<String> exemptions = new ArrayList<>();
+			for (int i = random.nextInt(4); i > 0; i--) {
+				final String[] operators = { "&", "|", "&!" };
+				final StringBuilder clause = new StringBuilder(randomToken(random, groups));
+				for (int j = random.nextInt(3); j >= 0; j--) {
+					clause.append(operators[random.nextInt(operators.length)])
+							.append(randomToken(random, groups));
+				}
+				exemptions.add(clause.toString());
+			}
+
+			assertCoversFeasibleTuples(groups, exemptions, 2 + random.nextInt(2));
+		}
+	}
+
+	private static String randomToken(final Random random, final List<List<String>> groups)
+	{
+		final int group = random.nextInt(groups.size());
+		final List<String> tokens = groups.get(group);
+		final String token = tokens.get(random.nextInt(tokens.size()));
+		return random.nextBoolean() ? token : token + '[' + group + ']';
+	}
+
+	private static void assertCoversFeasibleTuples(final List<List<String>> groups,
+			final List<String> exemptions, final int strength)
+	{
+		final ExemptionPredicate exemption = new ExemptionPredicate(exemptions, null);
+		final Set<List<String>> expected = new HashSet<>();
+		for (final List<String> scenario : Lists.cartesianProduct(groups)) {
+			if (!exemption.test(scenario)) {
+				expected.addAll(tuples(scenario, strength));
+			}
+		}
+
+		final Set<List<String>> actual = new HashSet<>();
+		for (final List<String> scenario : new CoveringArray<>(groups, strength, exemption)
+				.generate()) {
+			assertFalse(scenario.toString(), exemption.test(scenario));
+			actual.addAll(tuples(scenario, strength));
+		}
+		assertEquals(groups + " " + exemptions + " t=" + strength, expected, actual);
+	}
+
+	private static Set<List<String>> tuples(final List<String> scenario, final int strength)
+	{
+		final Set<List<String>> retval = new HashSet<>();
+		final int[] columns = new int[strength];
+		for (int i = 0; i < strength; i++) {
+			columns[i] = i;
+		}
+		while (columns[0] <= scenario.size() - strength) {
+			final List<String> tuple = new ArrayList<>(strength);
+			for (final int column : columns) {
+				tuple.add(scenario.get(column));
+			}
+			retval.add(tuple);
+
+			int index = strength - 1;
+			while (index > 0 && columns[index] == scenario.size() - strength + index) {
+				index--;
+			}
+			columns[index]++;
+			for (int i = index + 1; i < strength; i++) {
+				columns[i] = columns[i - 1] + 1;
+			}
+		}
+		return retval;
+	}
+
+	@Test
+	public void testGenerate_fewGroupsIsFullProduct()
+	{
+		final List<List<String>> actual = new CoveringArray<>(groups(2, 2), 2, null).generate();
+
+		assertEquals(Arrays.asList(Arrays.asList("a0", "b0"), Arrays.asList("a0", "b1"),
+				Arrays.asList("a1", "b0"), Arrays.asList("a1", "b1")), actual);
+	}
+
+	@Test
+	public void testGenerate_emptyGroup()
+	{
+		final List<List<String>> groups = groups(3, 2);
+		groups.set(1, Collections.emptyList());
+
+		assertTrue(new CoveringArray<>(groups, 2, null).generate().isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_invalidStrength()
+	{
+		new CoveringArray<>(groups(3, 2), 0, null);
+	}
+
+	@Test
+	public void testGenCoveringData_expectedFromRule()
+	{
+		final String resourceUri = "io.github.roycetech.junitcast.example.WorkerWithExemptTest";
+		final Set<String> full = new HashSet<>();
+		for (final Object[] paramArr : new ParameterGenerator<String>().genVarData(resourceUri)) {
+			full.add(paramArr[0].toString());
+		}
+
+		final Collection<Object[]> actual = new ParameterGenerator<String>()
+				.genCoveringData(resourceUri, 1);
+
+		assertFalse(actual.isEmpty());
+		assertTrue(actual.size() <= full.size());
+		for (final Object[] paramArr : actual) {
+			assertTrue(paramArr[0].toString(), full.contains(paramArr[0].toString()));
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class EnumTokenTableTest {
+
+	enum Variable {
+		IsHoliday, Regular_Day, friday
+	}
+
+	@Test
+	public void testLookup_rawTokens()
+	{
+		final EnumTokenTable sut = EnumTokenTable.of(Variable.class);
+
+		assertSame(sut, EnumTokenTable.of(Variable.class));
+		assertEquals(3, sut.size());
+		assertSame(Variable.IsHoliday, sut.lookup("Is Holiday"));
+		assertSame(Variable.IsHoliday, sut.lookup("Is Holiday"));
+		assertSame(Variable.Regular_Day, sut.lookup("Regular_Day"));
+		assertSame(Variable.friday, sut.lookup(new StringBuilder("fri day")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLookup_unknownToken()
+	{
+		EnumTokenTable.of(Variable.class).lookup("Friday");
+	}
+}
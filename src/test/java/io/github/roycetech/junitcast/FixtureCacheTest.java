@@ -0,0 +1,333 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FixtureCacheTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private static List<String> describe(final Collection<Object[]> parameters)
+	{
+		return parameters.stream().map(paramArr -> {
+			final Parameter<?> parameter = (Parameter<?>) paramArr[0];
+			return parameter + " " + parameter.getIdentifier() + " "
+					+ parameter.getScenario().stream()
+							.map(token -> token == null ? "null" : token.getClass().getSimpleName())
+							.collect(Collectors.toList());
+		}).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testGenVarData_hitIsSameAsGenerated() throws IOException
+	{
+		final Path directory = this.folder.getRoot().toPath();
+		for (final String resourceUri : Arrays.asList(
+				"io.github.roycetech.junitcast.example.WorkerWithExemptTest",
+				"io.github.roycetech.junitcast.example.SimpleDividerTypedTest",
+				"io.github.roycetech.junitcast.util.StringUtilTest",
+				"io.github.roycetech.junitcast.ScenarioSourceTest")) {
+
+			final List<String> expected = describe(
+					new ParameterGenerator<>().genVarData(resourceUri));
+			final List<String> miss = describe(
+					new ParameterGenerator<>().cacheDirectory(directory).genVarData(resourceUri));
+			final FixtureCache cache = FixtureCache.forResource(directory, resourceUri, "generated");
+			assertTrue(resourceUri, Files.isRegularFile(cache.getFile()));
+
+			final List<String> hit = describe(
+					new ParameterGenerator<>().cacheDirectory(directory).genVarData(resourceUri));
+
+			assertEquals(resourceUri, expected, miss);
+			assertEquals(resourceUri, expected, hit);
+		}
+	}
+
+	@Test
+	public void testGenVarData_incrementalBypassesCache()
+	{
+		final Path directory = this.folder.getRoot().toPath();
+		System.setProperty(ParameterGenerator.CACHE_PROPERTY, directory.toString());
+		System.setProperty(IncrementalStore.DIRECTORY_PROPERTY,
+				directory.resolve("incremental").toString());
+		try {
+			for (int run = 0; run < 2; run++) {
+				final Collection<Object[]> parameters = ParameterGenerator.fromSystemProperties()
+						.genVarData("io.github.roycetech.junitcast.example.WorkerWithExemptTest");
+
+				assertEquals(10, parameters.size());
+				for (final Object[] paramArr : parameters) {
+					assertTrue(paramArr[0] instanceof TrackedParameter);
+				}
+			}
+			assertEquals(Collections.emptyList(), listFiles(directory));
+		} finally {
+			System.clearProperty(ParameterGenerator.CACHE_PROPERTY);
+			System.clearProperty(IncrementalStore.DIRECTORY_PROPERTY);
+		}
+	}
+
+	@Test
+	public void testGenVarData_compactBypassesCache()
+	{
+		final Path directory = this.folder.getRoot().toPath();
+		for (int run = 0; run < 2; run++) {
+			final Collection<Object[]> parameters = new ParameterGenerator<>()
+					.cacheDirectory(directory).compact(true)
+					.genVarData("io.github.roycetech.junitcast.example.WorkerWithExemptTest");
+
+			assertEquals(10, parameters.size());
+			for (final Object[] paramArr : parameters) {
+				assertTrue(paramArr[0] instanceof IndexedParameter);
+			}
+		}
+		assertEquals(Collections.emptyList(), listFiles(directory));
+	}
+
+	private static List<Path> listFiles(final Path directory)
+	{
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.collect(Collectors.toList());
+		} catch (final IOException e) {
+			throw new JUnitCastException(e);
+		}
+	}
+
+	@Test
+	public void testForResource_keyedByVariant()
+	{
+		final Path directory = this.folder.getRoot().toPath();
+		final String resourceUri = "io.github.roycetech.junitcast.example.WorkerTest";
+
+		assertEquals(FixtureCache.forResource(directory, resourceUri, "generated").getFile(),
+				FixtureCache.forResource(directory, resourceUri, "generated").getFile());
+		assertNotEquals(FixtureCache.forResource(directory, resourceUri, "generated").getFile(),
+				FixtureCache.forResource(directory, resourceUri, "sorted").getFile());
+	}
+
+	@Test
+	public void testForResource_disabledOrMissing()
+	{
+		assertNull(FixtureCache.forResource(null, "io.github.roycetech.junitcast.example.WorkerTest",
+				"generated"));
+		assertNull(FixtureCache.forResource(this.folder.getRoot().toPath(), "no.such.Resource",
+				"generated"));
+	}
+
+	@Test
+	public void testRead_corruptFileIsMiss() throws IOException
+	{
+		final FixtureCache sut = FixtureCache.forResource(this.folder.getRoot().toPath(),
+				"io.github.roycetech.junitcast.example.WorkerTest", "generated");
+		Files.write(sut.getFile(), new byte[] { 1, 2, 3 });
+
+		assertNull(sut.read());
+	}
+
+	private static Parameter<Object> parameter(final String caseDesc, final String expected,
+			final Object... scenario)
+	{
+		return new Parameter<>(caseDesc, Arrays.asList(scenario), expected,
+				Arrays.asList(caseDesc));
+	}
+
+	@Test
+	public void testRead_wrongHeaderIsMiss() throws IOException
+	{
+		final FixtureCache sut = FixtureCache.forResource(this.folder.getRoot().toPath(),
+				"io.github.roycetech.junitcast.example.WorkerTest", "generated");
+		Files.write(sut.getFile(), new byte[16]);
+
+		assertNull(sut.read());
+	}
+
+	@Test
+	public void testRead_oversizedFileIsMiss() throws IOException
+	{
+		final FixtureCache sut = FixtureCache.forResource(this.folder.getRoot().toPath(),
+				"io.github.roycetech.junitcast.example.WorkerTest", "generated");
+		try (RandomAccessFile file = new RandomAccessFile(sut.getFile().toFile(), "rw")) {
+			file.setLength(Integer.MAX_VALUE + 1L);
+		}
+
+		assertNull(sut.read());
+	}
+
+	@Test
+	public void testWrite_nullTokenAndCaseBoundaries()
+	{
+		final FixtureCache sut = FixtureCache.forResource(this.folder.getRoot().toPath(),
+				"io.github.roycetech.junitcast.example.WorkerTest", "generated");
+		final List<Parameter<Object>> parameters = Arrays.asList(
+				parameter("first", "one", null, 1), parameter("first", "two", "a"),
+				parameter("second", "one", 'b', 2L));
+		assertTrue(sut.write(parameters));
+
+		final List<Parameter<Object>> table = sut.read();
+		assertEquals(parameters.toString(), table.toString());
+		assertNull(table.get(0).getScenario().get(0));
+		assertEquals(Arrays.asList('b', 2L), table.get(2).getScenario());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testRead_indexOutOfBounds()
+	{
+		final FixtureCache sut = FixtureCache.forResource(this.folder.getRoot().toPath(),
+				"io.github.roycetech.junitcast.example.WorkerTest", "generated");
+		assertTrue(sut.write(Arrays.asList(parameter("first", "one", 1))));
+
+		sut.read().get(1);
+	}
+
+	@Test
+	public void testWrite_unstorableTokenIsRefused()
+	{
+		final FixtureCache sut = FixtureCache.forResource(this.folder.getRoot().toPath(),
+				"io.github.roycetech.junitcast.example.WorkerTest", "generated");
+
+		assertFalse(sut.write(Arrays.asList(parameter("first", "one", new Object()))));
+		assertFalse(Files.exists(sut.getFile()));
+	}
+
+	@Test
+	public void testWrite_unwritableCacheFails() throws IOException
+	{
+		final FixtureCache sut = FixtureCache.forResource(this.folder.newFile().toPath(),
+				"io.github.roycetech.junitcast.example.WorkerTest", "generated");
+
+		assertFalse(sut.write(Arrays.asList(parameter("first", "one", 1))));
+	}
+
+	@Test
+	public void testWrite_failedMoveLeavesNoTemporaryFile() throws IOException
+	{
+		final Path directory = this.folder.getRoot().toPath();
+		final FixtureCache sut = FixtureCache.forResource(directory,
+				"io.github.roycetech.junitcast.example.WorkerTest", "generated");
+		Files.createDirectories(sut.getFile());
+		Files.createFile(sut.getFile().resolve("occupied"));
+
+		assertFalse(sut.write(Arrays.asList(parameter("first", "one", 1))));
+		assertEquals(Arrays.asList(sut.getFile()), listFiles(directory));
+	}
+
+	@Test
+	public void testShare_unwritableCacheGenerates() throws IOException
+	{
+		final FixtureCache sut = FixtureCache.forResource(this.folder.newFile().toPath(),
+				"io.github.roycetech.junitcast.example.WorkerTest", "generated");
+		final List<Parameter<Object>> generated = Arrays.asList(parameter("first", "one", 1));
+
+		assertEquals(generated, sut.share(() -> generated));
+	}
+
+	@Test
+	public void testShare_unstorableTokenGenerates()
+	{
+		final FixtureCache sut = FixtureCache.forResource(this.folder.getRoot().toPath(),
+				"io.github.roycetech.junitcast.example.WorkerTest", "generated");
+		final List<Parameter<Object>> generated = Arrays
+				.asList(parameter("first", "one", new Object()));
+
+		assertEquals(generated, sut.share(() -> generated));
+	}
+
+	@Test
+	public void testRead_decodedOnAccess()
+	{
+		final String resourceUri = "io.github.roycetech.junitcast.util.StringUtilTest";
+		final List<Object> expected = new ParameterGenerator<>().genVarData(resourceUri).stream()
+				.map(paramArr -> paramArr[0]).collect(Collectors.toList());
+		final FixtureCache sut = FixtureCache.forResource(this.folder.getRoot().toPath(),
+				resourceUri, "generated");
+		@SuppressWarnings("unchecked")
+		final List<Parameter<Object>> parameters = expected.stream()
+				.map(parameter -> (Parameter<Object>) parameter).collect(Collectors.toList());
+		assertTrue(sut.write(parameters));
+
+		final List<Parameter<Object>> table = sut.read();
+		assertTrue(table instanceof RandomAccess);
+		assertEquals(expected.size(), table.size());
+		for (int i = expected.size() - 1; i >= 0; i--) {
+			final Parameter<?> parameter = (Parameter<?>) expected.get(i);
+			assertEquals(parameter.toString(), table.get(i).toString());
+			assertEquals(parameter.getIdentifier(), table.get(i).getIdentifier());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Parameter<Object>> generate(final String resourceUri)
+	{
+		return new ParameterGenerator<>().genVarData(resourceUri).stream()
+				.map(paramArr -> (Parameter<Object>) paramArr[0]).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testShare_generatedOnce() throws InterruptedException, ExecutionException
+	{
+		final String resourceUri = "io.github.roycetech.junitcast.example.WorkerWithExemptTest";
+		final AtomicInteger generated = new AtomicInteger();
+		final Callable<List<String>> fork = () -> FixtureCache
+				.forResource(this.folder.getRoot().toPath(), resourceUri, "generated")
+				.<Object>share(() -> {
+					generated.incrementAndGet();
+					return generate(resourceUri);
+				}).stream().map(Object::toString).collect(Collectors.toList());
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<List<String>>> forks = executor
+					.invokeAll(Collections.nCopies(4, fork));
+			for (final Future<List<String>> next : forks) {
+				assertEquals(forks.get(0).get(), next.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, generated.get());
+	}
+
+	@Test
+	public void testGenVarData_shared()
+	{
+		final Path directory = this.folder.getRoot().toPath();
+		final String resourceUri = "io.github.roycetech.junitcast.example.SimpleDividerTypedTest";
+
+		final List<String> expected = describe(new ParameterGenerator<>().genVarData(resourceUri));
+		final List<String> first = describe(new ParameterGenerator<>().cacheDirectory(directory)
+				.shared(true).genVarData(resourceUri));
+		final List<String> second = describe(new ParameterGenerator<>().cacheDirectory(directory)
+				.shared(true).genVarData(resourceUri));
+
+		assertTrue(Files.isRegularFile(
+				FixtureCache.forResource(directory, resourceUri, "generated").getFile()));
+		assertEquals(expected, first);
+		assertEquals(expected, second);
+	}
+}
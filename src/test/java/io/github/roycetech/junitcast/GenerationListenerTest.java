@@ -0,0 +1,165 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.github.roycetech.ruleengine.Rule;
+
+import io.github.roycetech.junitcast.GenerationListener.Stage;
+import io.github.roycetech.junitcast.util.RuleUtil;
+
+public class GenerationListenerTest {
+
+	private static final String WORKER_EXEMPT = "io.github.roycetech.junitcast.example.WorkerWithExemptTest";
+
+	private static final class RecordingListener extends GenerationStatistics {
+
+		private final Set<Stage> stages = EnumSet.noneOf(Stage.class);
+
+		private String resource;
+
+		@Override
+		public void stageCompleted(final String pResource, final Stage stage, final String name,
+				final long elapsed)
+		{
+			super.stageCompleted(pResource, stage, name, elapsed);
+			this.stages.add(stage);
+			this.resource = pResource;
+		}
+	}
+
+	@Test
+	public void testGenVarData_reportsStagesAndCounts()
+	{
+		final RecordingListener listener = new RecordingListener();
+
+		final int generated = new ParameterGenerator<String>().listener(listener).sorted(true)
+				.genVarData(WORKER_EXEMPT).size();
+
+		assertEquals(EnumSet.allOf(Stage.class), listener.stages);
+		assertEquals(WORKER_EXEMPT, listener.resource);
+		assertEquals(1, listener.getCaseCount());
+		assertEquals(14, listener.getProductSize());
+		assertEquals(4, listener.getExemptedCount());
+		assertEquals(generated, listener.getEmittedCount());
+		assertEquals(10, generated);
+		assertEquals(0, listener.getAmbiguousCount());
+	}
+
+	@Test
+	public void testGenVarData_truthTableCounts()
+	{
+		final GenerationStatistics statistics = new GenerationStatistics();
+
+		new ParameterGenerator<String>().listener(statistics).truthTable(true)
+				.genVarData(WORKER_EXEMPT);
+
+		assertEquals(14, statistics.getProductSize());
+		assertEquals(4, statistics.getExemptedCount());
+		assertEquals(10, statistics.getEmittedCount());
+		assertTrue(statistics.getNanos(Stage.EVALUATION) > 0);
+	}
+
+	@Test
+	public void testStreamData_countsAmbiguousScenarios()
+	{
+		final Map<String, Object> ruleDefinition = RuleUtil.parseRuleDefinition("A:x~B:x|y");
+		final CaseFixture<String> fixture = new CaseFixture<>("ambiguous",
+				Collections.singletonList(Arrays.asList("x", "y")), new Rule(ruleDefinition))
+						.ruleDefinition(ruleDefinition);
+		final GenerationStatistics statistics = new GenerationStatistics();
+
+		try {
+			new ParameterGenerator<String>().listener(statistics)
+					.generateData(Collections.singletonList(fixture));
+			fail("Ambiguous scenario must fail");
+		} catch (final AssertionError expected) {
+			assertEquals(1, statistics.getAmbiguousCount());
+			assertEquals(1, statistics.getEmittedCount());
+		}
+	}
+
+	@Test
+	public void testStreamData_failsAfterEnumeratingAmbiguousScenarios()
+	{
+		final Map<String, Object> ruleDefinition = RuleUtil.parseRuleDefinition("A:x|y~B:x|y|z");
+		final CaseFixture<String> fixture = new CaseFixture<>("ambiguous",
+				Collections.singletonList(Arrays.asList("x", "y", "z")), new Rule(ruleDefinition))
+						.ruleDefinition(ruleDefinition);
+		final GenerationStatistics statistics = new GenerationStatistics();
+
+		for (final boolean truthTable : new boolean[] { false, true }) {
+			try {
+				new ParameterGenerator<String>().listener(statistics).truthTable(truthTable)
+						.generateData(Collections.singletonList(fixture));
+				fail("Ambiguous scenarios must fail");
+			} catch (final AssertionError expected) {
+				assertTrue(expected.getMessage(), expected.getMessage().startsWith("2 scenario(s)"));
+			}
+		}
+		assertEquals(4, statistics.getAmbiguousCount());
+		assertEquals(2, statistics.getEmittedCount());
+	}
+
+	@Test
+	public void testGenVarData_withoutListener()
+	{
+		assertEquals(10,
+				new ParameterGenerator<String>().listener(null).genVarData(WORKER_EXEMPT).size());
+	}
+
+	@Test
+	public void testListenerProperty()
+	{
+		System.setProperty(ParameterGenerator.LISTENER_PROPERTY,
+				LoggingGenerationListener.class.getName());
+		try {
+			assertEquals(10, ParameterGenerator.<String>fromSystemProperties()
+					.genVarData(WORKER_EXEMPT).size());
+		} finally {
+			System.clearProperty(ParameterGenerator.LISTENER_PROPERTY);
+		}
+	}
+
+	@Test(expected = JUnitCastException.class)
+	public void testListenerProperty_notAListener()
+	{
+		System.setProperty(ParameterGenerator.LISTENER_PROPERTY, String.class.getName());
+		try {
+			ParameterGenerator.fromSystemProperties();
+		} finally {
+			System.clearProperty(ParameterGenerator.LISTENER_PROPERTY);
+		}
+	}
+
+	@Test
+	public void testListenerProperty_ignoredByDefaultConstructor()
+	{
+		System.setProperty(ParameterGenerator.LISTENER_PROPERTY, String.class.getName());
+		try {
+			assertEquals(10, new ParameterGenerator<String>().genVarData(WORKER_EXEMPT).size());
+		} finally {
+			System.clearProperty(ParameterGenerator.LISTENER_PROPERTY);
+		}
+	}
+
+	@Test
+	public void testStatistics_toString()
+	{
+		final GenerationStatistics statistics = new GenerationStatistics();
+		statistics.caseCompleted(null, "case", 4, 1, 3, 0);
+		statistics.stageCompleted(null, Stage.SORTING, null, 2_000_000);
+
+		assertTrue(statistics.toString().startsWith("cases=1, product=4, exempted=1, emitted=3"));
+		assertTrue(statistics.toString().contains("SORTING=2.000"));
+	}
+}
@@ -0,0 +1,191 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+import com.github.roycetech.ruleengine.Rule;
+
+import io.github.roycetech.junitcast.example.WorkerWithExemptTest;
+import io.github.roycetech.junitcast.util.RuleUtil;
+
+public class IncrementalStoreTest {
+
+	private Path directory;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		this.directory = Files.createTempDirectory("incremental");
+		System.setProperty(IncrementalStore.DIRECTORY_PROPERTY, this.directory.toString());
+	}
+
+	@After
+	public void tearDown() throws IOException
+	{
+		System.clearProperty(IncrementalStore.DIRECTORY_PROPERTY);
+		try (Stream<Path> files = Files.list(this.directory)) {
+			for (final Path file : files.collect(Collectors.toList())) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(this.directory);
+	}
+
+	private static List<String> fingerprints(final String rule)
+	{
+		final Map<String, Object> ruleDefinition = RuleUtil.parseRuleDefinition(rule);
+		final CaseFixture<String> fixture = new CaseFixture<>("case",
+				Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d")),
+				new Rule(ruleDefinition)).ruleDefinition(ruleDefinition);
+		return new ParameterGenerator<String>().incremental(true)
+				.streamData(Collections.singletonList(fixture), true)
+				.map(parameter -> ((TrackedParameter<String>) parameter).getFingerprint())
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	public void testRerun_skipsPassedScenarios() throws IOException
+	{
+		final Result first = JUnitCore.runClasses(WorkerWithExemptTest.class);
+		assertTrue(first.wasSuccessful());
+		assertEquals(10, first.getRunCount());
+		assertEquals(0, first.getAssumptionFailureCount());
+
+		final Path file = this.directory.resolve(WorkerWithExemptTest.class.getName() + ".txt");
+		assertEquals(11, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+
+		final Result second = JUnitCore.runClasses(WorkerWithExemptTest.class);
+		assertTrue(second.wasSuccessful());
+		assertEquals(10, second.getAssumptionFailureCount());
+	}
+
+	@Test
+	public void testFailedScenario_runsAgain()
+	{
+		final IncrementalStore store = IncrementalStore.forClass(IncrementalStoreTest.class, null);
+		store.passed("fingerprint");
+		assertTrue(store.isPassed("fingerprint"));
+
+		store.failed("fingerprint");
+		assertFalse(store.isPassed("fingerprint"));
+		assertTrue(store.flush());
+	}
+
+	@Test
+	public void testLoad_readsPassedFingerprints() throws IOException
+	{
+		final IncrementalStore store = IncrementalStore.forClass(IncrementalStoreTest.class, null);
+		store.passed("fingerprint");
+		store.passed("fingerprint");
+		assertTrue(store.flush());
+		assertTrue(store.flush());
+
+		final Path file = this.directory.resolve(IncrementalStoreTest.class.getName() + ".txt");
+		final Path copy = Files.createTempDirectory(this.directory, "copy");
+		Files.move(file, copy.resolve(file.getFileName()));
+		System.setProperty(IncrementalStore.DIRECTORY_PROPERTY, copy.toString());
+		try {
+			assertTrue(IncrementalStore.forClass(IncrementalStoreTest.class, null).isPassed("fingerprint"));
+		} finally {
+			Files.delete(copy.resolve(file.getFileName()));
+			Files.delete(copy);
+		}
+	}
+
+	@Test
+	public void testLoad_changedClassesRunAgain() throws IOException
+	{
+		Files.write(this.directory.resolve(IncrementalStoreTest.class.getName() + ".txt"),
+				Arrays.asList("other digest", "fingerprint"), StandardCharsets.UTF_8);
+
+		assertFalse(IncrementalStore.forClass(IncrementalStoreTest.class, null).isPassed("fingerprint"));
+	}
+
+	@Test
+	public void testLoad_unreadableFileRunsAgain() throws IOException
+	{
+		Files.write(this.directory.resolve(IncrementalStoreTest.class.getName() + ".txt"),
+				new byte[] { (byte) 0xC3, (byte) 0x28 });
+
+		assertFalse(IncrementalStore.forClass(IncrementalStoreTest.class, null).isPassed("fingerprint"));
+	}
+
+	@Test
+	public void testFlush_unwritableDirectoryFails() throws IOException
+	{
+		final Path file = Files.createFile(this.directory.resolve("file"));
+		System.setProperty(IncrementalStore.DIRECTORY_PROPERTY, file.resolve("sub").toString());
+
+		final IncrementalStore store = IncrementalStore.forClass(IncrementalStoreTest.class, null);
+		store.passed("fingerprint");
+		assertFalse(store.flush());
+		assertTrue(store.isPassed("fingerprint"));
+	}
+
+	@Test
+	public void testForClass_storePerShard()
+	{
+		final IncrementalStore store = IncrementalStore.forClass(IncrementalStoreTest.class,
+				new ScenarioShard(1, 2));
+		store.passed("fingerprint");
+		assertTrue(store.flush());
+
+		assertTrue(Files.isRegularFile(
+				this.directory.resolve(IncrementalStoreTest.class.getName() + "-1-2.txt")));
+		assertFalse(IncrementalStore.forClass(IncrementalStoreTest.class, null)
+				.isPassed("fingerprint"));
+	}
+
+	@Test
+	public void testAbstractTestCase_declaresNoRules()
+	{
+		for (final Field field : AbstractTestCase.class.getDeclaredFields()) {
+			assertFalse(field.getName(), field.isAnnotationPresent(org.junit.Rule.class)
+					|| field.isAnnotationPresent(ClassRule.class));
+		}
+		assertEquals(0, AbstractTestCase.class.getFields().length);
+	}
+
+	@Test
+	public void testFingerprint_changesWithTheRule()
+	{
+		final List<String> original = fingerprints("X:a~Y:b");
+
+		assertEquals(original, fingerprints("X: a ~Y: b"));
+		assertEquals(4, original.stream().distinct().count());
+		assertNotEquals(original.get(0), fingerprints("X:a&c~Y:b|d").get(0));
+	}
+
+	@Test
+	public void testDisabled()
+	{
+		System.clearProperty(IncrementalStore.DIRECTORY_PROPERTY);
+
+		assertNull(IncrementalStore.forClass(IncrementalStoreTest.class, null));
+		assertFalse(new ParameterGenerator<String>()
+				.genVarData("io.github.roycetech.junitcast.example.WorkerWithExemptTest")
+				.iterator().next()[0] instanceof TrackedParameter);
+	}
+}
@@ -0,0 +1,80 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class IndexedParameterTest {
+
+	private static final List<List<String>> GROUPS = Arrays.asList(Arrays.asList("a", "b"),
+			Arrays.asList("x", "y", "z"), Arrays.asList("1", "2"));
+
+	@Test
+	public void testIndexOf_roundTrip()
+	{
+		final CaseTable<String> sut = new CaseTable<>("case", Collections.singletonList("id"),
+				GROUPS);
+
+		assertEquals(0, sut.indexOf(Arrays.asList("a", "x", "1")));
+		assertEquals(11, sut.indexOf(Arrays.asList("b", "z", "2")));
+		for (long index = 0; index < 12; index++) {
+			assertEquals(index, sut.indexOf(sut.scenario(index)));
+		}
+		assertEquals(Arrays.asList("b", "x", "2"), sut.scenario(7));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testGetScenario_immutable()
+	{
+		final CaseTable<String> table = new CaseTable<>("case", Collections.singletonList("id"),
+				GROUPS);
+
+		new IndexedParameter<>(table, 3, "ok").getScenario().set(0, "b");
+	}
+
+	@Test
+	public void testFits()
+	{
+		final List<List<String>> groups = new ArrayList<>();
+		for (int i = 0; i < 62; i++) {
+			groups.add(Arrays.asList("off", "on"));
+		}
+		assertTrue(CaseTable.fits(groups));
+
+		groups.add(Arrays.asList("off", "on"));
+		assertFalse(CaseTable.fits(groups));
+	}
+
+	@Test
+	public void testCompact_sameAsParameter()
+	{
+		for (final String resourceUri : Arrays.asList(
+				"io.github.roycetech.junitcast.example.WorkerWithExemptTest",
+				"io.github.roycetech.junitcast.example.SimpleDividerTypedTest",
+				"io.github.roycetech.junitcast.ScenarioSourceTest")) {
+			final List<String> expected = describe(
+					new ParameterGenerator<>().genVarData(resourceUri));
+			final List<String> actual = describe(
+					new ParameterGenerator<>().compact(true).genVarData(resourceUri));
+
+			assertEquals(resourceUri, expected, actual);
+		}
+	}
+
+	private static List<String> describe(final Collection<Object[]> parameters)
+	{
+		return parameters.stream().map(paramArr -> {
+			final Parameter<?> parameter = (Parameter<?>) paramArr[0];
+			return parameter + " " + parameter.getIdentifier();
+		}).collect(Collectors.toList());
+	}
+}
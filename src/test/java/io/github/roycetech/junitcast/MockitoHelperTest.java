@@ -1,13 +1,74 @@
 package io.github.roycetech.junitcast;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import org.junit.After;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 public class MockitoHelperTest {
 
+	public static class Counter {
+
+		private final List<String> calls = new ArrayList<>();
+
+		private int count;
+
+		public int increment()
+		{
+			this.calls.add("increment");
+			return ++this.count;
+		}
+
+		public int getCount()
+		{
+			return this.count;
+		}
+
+		public List<String> getCalls()
+		{
+			return this.calls;
+		}
+	}
+
+	public static class CounterCase extends AbstractTestCase<Counter, String> {
+
+		public CounterCase() {
+			super(new Parameter<>("case", Collections.singletonList("token"), "1", null));
+		}
+
+		@Override
+		protected void setupTargetObject(final List<Object> constructorParams)
+		{
+			new MockitoHelper().pooled(true).setupTargetObject(this, constructorParams);
+		}
+
+		@Override
+		protected void prepare()
+		{
+		}
+
+		@Override
+		protected void execute()
+		{
+			setResult(getMockSubject().increment());
+		}
+	}
+
+	@After
+	public void tearDown()
+	{
+		SpyPool.clear();
+	}
+
 	@Test
 	public void testFindConstructor_notFound()
 	{
@@ -15,4 +76,45 @@ public class MockitoHelperTest {
 		assertNull(sut.findConstructor(Object.class, Arrays.asList(1, 2)));
 	}
 
+	@Test
+	public void testPooled_sameSpyWithFreshState()
+	{
+		final CounterCase first = new CounterCase();
+		first.setupTargetObject(null);
+		final Counter spy = first.getMockSubject();
+		first.cast();
+		Mockito.when(spy.getCount()).thenReturn(42);
+
+		final CounterCase second = new CounterCase();
+		second.setupTargetObject(null);
+
+		assertSame(spy, second.getMockSubject());
+		assertNotSame(first.getRealSubject(), second.getRealSubject());
+		assertEquals(0, spy.getCount());
+		assertEquals(Collections.emptyList(), spy.getCalls());
+		second.cast();
+		Mockito.verify(spy).increment();
+	}
+
+	@Test
+	public void testPooled_perThread() throws InterruptedException
+	{
+		final CounterCase first = new CounterCase();
+		first.setupTargetObject(null);
+
+		final CounterCase second = new CounterCase();
+		final Thread thread = new Thread(() -> second.setupTargetObject(null));
+		thread.start();
+		thread.join();
+
+		assertNotSame(first.getMockSubject(), second.getMockSubject());
+	}
+
+	@Test
+	public void testPooled_uncopyableTypeNotPooled()
+	{
+		final StringBuilder real = new StringBuilder("a");
+
+		assertNotSame(SpyPool.spy(real), SpyPool.spy(real));
+	}
 }
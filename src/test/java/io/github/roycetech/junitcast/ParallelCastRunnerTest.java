@@ -0,0 +1,218 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import io.github.roycetech.junitcast.example.RockPaperScissorsTest;
+import io.github.roycetech.junitcast.example.WorkerWithExemptTest;
+
+public class ParallelCastRunnerTest {
+
+	@RunWith(ParallelCastRunner.class)
+	public static class Mixed {
+
+		@Parameters
+		public static List<Object[]> parameters()
+		{
+			return Arrays.asList(new Object[] { 1 }, new Object[] { 2 }, new Object[] { 3 });
+		}
+
+		@Parameter
+		public int value;
+
+		@Test
+		public void testFailure()
+		{
+			assertTrue(this.value != 2);
+		}
+
+		@Test
+		public void testAssumption()
+		{
+			assumeTrue(this.value != 3);
+		}
+
+		@Ignore
+		@Test
+		public void testIgnored()
+		{
+			fail();
+		}
+	}
+
+	@After
+	public void tearDown()
+	{
+		System.clearProperty(ParallelCastRunner.THREADS_PROPERTY);
+	}
+
+	private static List<String> run(final Runner runner)
+	{
+		final List<String> retval = Collections.synchronizedList(new ArrayList<>());
+		final JUnitCore core = new JUnitCore();
+		core.addListener(new RunListener() {
+			@Override
+			public void testStarted(final Description description)
+			{
+				retval.add("started " + description.getDisplayName());
+			}
+
+			@Override
+			public void testFailure(final Failure failure)
+			{
+				retval.add("failed " + failure.getDescription().getDisplayName());
+			}
+
+			@Override
+			public void testAssumptionFailure(final Failure failure)
+			{
+				retval.add("assumed " + failure.getDescription().getDisplayName());
+			}
+
+			@Override
+			public void testIgnored(final Description description)
+			{
+				retval.add("ignored " + description.getDisplayName());
+			}
+
+			@Override
+			public void testFinished(final Description description)
+			{
+				retval.add("finished " + description.getDisplayName());
+			}
+		});
+		final Result result = core.run(Request.runner(runner));
+		retval.add("count " + result.getRunCount());
+		return retval;
+	}
+
+	@Test
+	public void testRun_sameReportAsSerial() throws Throwable
+	{
+		System.setProperty(ParallelCastRunner.THREADS_PROPERTY, "4");
+
+		for (final Class<?> testClass : new Class<?>[] { WorkerWithExemptTest.class,
+				RockPaperScissorsTest.class, Mixed.class }) {
+			final List<String> expected = run(new Parameterized(testClass));
+			final List<String> actual = run(new ParallelCastRunner(testClass));
+
+			assertFalse(expected.isEmpty());
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	public void testRun_reportsWhileRunning() throws Throwable
+	{
+		System.setProperty(ParallelCastRunner.THREADS_PROPERTY, "2");
+		final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+			@Override
+			public void testStarted(final Description description)
+			{
+				threads.add(Thread.currentThread().getName());
+			}
+		});
+
+		new ParallelCastRunner(WorkerWithExemptTest.class).run(notifier);
+
+		assertFalse(threads.isEmpty());
+		assertTrue(threads.get(0), threads.get(0).startsWith("junit-cast-worker-"));
+	}
+
+	@Test
+	public void testRun_pleaseStop() throws Throwable
+	{
+		System.setProperty(ParallelCastRunner.THREADS_PROPERTY, "1");
+		final int total = new Parameterized(WorkerWithExemptTest.class).getDescription()
+				.getChildren().size();
+		final List<String> started = Collections.synchronizedList(new ArrayList<>());
+		final RunNotifier notifier = new RunNotifier();
+		notifier.addListener(new RunListener() {
+			@Override
+			public void testStarted(final Description description)
+			{
+				started.add(description.getDisplayName());
+				notifier.pleaseStop();
+			}
+		});
+
+		final AtomicInteger ran = new AtomicInteger();
+		try {
+			new ParallelCastRunner(WorkerWithExemptTest.class) {
+				@Override
+				protected void runChild(final Runner runner, final RunNotifier runNotifier)
+				{
+					ran.incrementAndGet();
+					super.runChild(runner, runNotifier);
+				}
+			}.run(notifier);
+			fail("Expected a stop");
+		} catch (final StoppedByUserException e) {
+			assertEquals(1, started.size());
+			assertTrue("Ran: " + ran.get(), ran.get() <= 2 && ran.get() < total);
+		}
+	}
+
+	@Test
+	public void testRun_childErrorKeepsLaterReports() throws Throwable
+	{
+		System.setProperty(ParallelCastRunner.THREADS_PROPERTY, "2");
+		final Description first = new Parameterized(WorkerWithExemptTest.class).getDescription()
+				.getChildren().get(0);
+		final List<String> serial = run(new Parameterized(WorkerWithExemptTest.class));
+
+		final List<String> actual = run(new ParallelCastRunner(WorkerWithExemptTest.class) {
+			@Override
+			protected void runChild(final Runner runner, final RunNotifier runNotifier)
+			{
+				if (first.equals(runner.getDescription())) {
+					throw new IllegalStateException("child error");
+				}
+				super.runChild(runner, runNotifier);
+			}
+		});
+
+		assertEquals("failed " + first.getDisplayName(), actual.get(0));
+		final int firstEvents = first.getChildren().size() * 2;
+		assertEquals(serial.subList(firstEvents, serial.size() - 1),
+				actual.subList(1, actual.size() - 1));
+	}
+
+	@Test
+	public void testGetThreads()
+	{
+		System.setProperty(ParallelCastRunner.THREADS_PROPERTY, "0");
+		assertEquals(1, ParallelCastRunner.getThreads());
+
+		System.clearProperty(ParallelCastRunner.THREADS_PROPERTY);
+		assertEquals(Runtime.getRuntime().availableProcessors(), ParallelCastRunner.getThreads());
+	}
+}
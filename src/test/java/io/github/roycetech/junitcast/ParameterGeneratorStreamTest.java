@@ -0,0 +1,86 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.github.roycetech.ruleengine.Rule;
+
+import io.github.roycetech.junitcast.util.RuleUtil;
+
+public class ParameterGeneratorStreamTest {
+
+	private static final String WORKER_EXEMPT = "io.github.roycetech.junitcast.example.WorkerWithExemptTest";
+
+	@Test
+	public void testStreamVarData_sameParametersAsGenVarData()
+	{
+		final List<String> expected = new ParameterGenerator<String>().genVarData(WORKER_EXEMPT)
+				.stream().map(paramArr -> paramArr[0].toString()).sorted()
+				.collect(Collectors.toList());
+
+		final List<String> actual = new ParameterGenerator<String>().streamVarData(WORKER_EXEMPT)
+				.map(Parameter::toString).sorted().collect(Collectors.toList());
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testStreamFixedData_definedOrder()
+	{
+		final List<List<String>> actual = new ParameterGenerator<String>()
+				.streamFixedData("io.github.roycetech.junitcast.example.WorkerFixedTest")
+				.map(Parameter::getScenario).collect(Collectors.toList());
+
+		assertEquals(Arrays.asList(Arrays.asList("Is Holiday", "Sunday"),
+				Arrays.asList("Regular Day", "Wednesday")), actual);
+	}
+
+	@Test
+	public void testStreamData_lazyOnHugeProduct()
+	{
+		final List<List<String>> variables = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			variables.add(Arrays.asList("off" + i, "on" + i));
+		}
+		final CaseFixture<String> fixture = new CaseFixture<>("huge", variables,
+				new Rule(RuleUtil.parseRuleDefinition("ON:on0")), "ON:OFF");
+
+		final List<String> actual = new ParameterGenerator<String>()
+				.streamData(Collections.singletonList(fixture), true).limit(3)
+				.map(Parameter::getExpected).collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("OFF", "OFF", "OFF"), actual);
+	}
+
+	@Test
+	public void testGenVarData_generationOrder()
+	{
+		final List<String> expected = new ParameterGenerator<String>().streamVarData(WORKER_EXEMPT)
+				.map(Parameter::toString).collect(Collectors.toList());
+
+		final List<String> actual = new ParameterGenerator<String>().genVarData(WORKER_EXEMPT)
+				.stream().map(paramArr -> paramArr[0].toString()).collect(Collectors.toList());
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testGenVarData_sorted()
+	{
+		final List<String> expected = new ParameterGenerator<String>().streamVarData(WORKER_EXEMPT)
+				.map(Parameter::toString).sorted().collect(Collectors.toList());
+
+		final List<String> actual = new ParameterGenerator<String>().sorted(true)
+				.genVarData(WORKER_EXEMPT).stream().map(paramArr -> paramArr[0].toString())
+				.collect(Collectors.toList());
+
+		assertEquals(expected, actual);
+	}
+}
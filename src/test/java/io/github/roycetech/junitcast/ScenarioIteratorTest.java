@@ -0,0 +1,89 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import io.github.roycetech.junitcast.rule.ExemptionPredicate;
+
+public class ScenarioIteratorTest {
+
+	@Test
+	public void testNext_sameOrderAsCartesianProduct()
+	{
+		final List<List<String>> groups = Arrays.asList(Arrays.asList("a", "b"),
+				Arrays.asList("1", "2", "3"), Arrays.asList("x", "y"));
+
+		final List<List<String>> actual = new ArrayList<>();
+		new ScenarioIterator<>(groups).forEachRemaining(actual::add);
+
+		assertEquals(Lists.cartesianProduct(groups), actual);
+	}
+
+	@Test
+	public void testHasNext_emptyGroup()
+	{
+		final List<List<String>> groups = Arrays.asList(Arrays.asList("a", "b"),
+				Collections.emptyList());
+
+		assertFalse(new ScenarioIterator<>(groups).hasNext());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testNext_exhausted()
+	{
+		final ScenarioIterator<String> sut = new ScenarioIterator<>(
+				Arrays.asList(Arrays.asList("a")));
+		sut.next();
+		sut.next();
+	}
+
+	@Test
+	public void testNext_sameAsFilteredProduct()
+	{
+		final List<List<String>> groups = Arrays.asList(Arrays.asList("Is Holiday", "Regular Day"),
+				Arrays.asList("Sunday", "Monday", "Tuesday", "Friday"), Arrays.asList("AM", "PM"));
+		final List<String> exemptions = Arrays.asList("Friday",
+				"Regular Day&(Monday|PM)", "Is Holiday[0]&!AM[2]");
+
+		final ExemptionPredicate filter = new ExemptionPredicate(exemptions, null);
+		final List<List<String>> expected = Lists.cartesianProduct(groups).stream()
+				.filter(scenario -> !filter.test(scenario)).collect(Collectors.toList());
+
+		final ExemptionPredicate exemption = new ExemptionPredicate(exemptions, null);
+		final List<List<String>> actual = new ArrayList<>();
+		new ScenarioIterator<>(groups, exemption).forEachRemaining(actual::add);
+
+		assertEquals(expected, actual);
+		assertEquals(filter.getExemptedCount(), exemption.getExemptedCount());
+	}
+
+	@Test
+	public void testNext_prunesExemptedSubtrees()
+	{
+		final List<List<String>> groups = new ArrayList<>();
+		final List<String> exempted = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			groups.add(Arrays.asList("a" + i, "b" + i));
+			exempted.add("b" + i);
+		}
+		final ExemptionPredicate exemption = new ExemptionPredicate(
+				Arrays.asList(String.join("|", exempted)), null);
+
+		final List<List<String>> actual = new ArrayList<>();
+		new ScenarioIterator<>(groups, exemption).forEachRemaining(actual::add);
+
+		assertEquals(1, actual.size());
+		assertEquals((1L << 40) - 1, exemption.getExemptedCount());
+	}
+}
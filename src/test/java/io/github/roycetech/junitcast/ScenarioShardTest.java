@@ -0,0 +1,120 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.github.roycetech.ruleengine.Rule;
+
+import io.github.roycetech.junitcast.util.RuleUtil;
+
+public class ScenarioShardTest {
+
+	private static final String WORKER_EXEMPT = "io.github.roycetech.junitcast.example.WorkerWithExemptTest";
+
+	private static CaseFixture<String> fixture(final String caseDesc, final int groups)
+	{
+		final List<List<String>> variables = new ArrayList<>();
+		for (int i = 0; i < groups; i++) {
+			variables.add(Arrays.asList("off" + i, "on" + i));
+		}
+		final Map<String, Object> ruleDefinition = RuleUtil.parseRuleDefinition("ON:on0");
+		return new CaseFixture<>(caseDesc, variables, new Rule(ruleDefinition), "ON:OFF")
+				.ruleDefinition(ruleDefinition);
+	}
+
+	private static Set<String> names(final ParameterGenerator<String> generator,
+			final List<CaseFixture<String>> fixtures)
+	{
+		return generator.streamData(fixtures, true).map(Parameter::toString)
+				.collect(Collectors.toSet());
+	}
+
+	@Test
+	public void testShards_partitionTheScenarios()
+	{
+		final List<CaseFixture<String>> fixtures = Arrays.asList(fixture("first", 10),
+				fixture("second", 8));
+		final Set<String> all = names(new ParameterGenerator<>(), fixtures);
+
+		final Set<String> union = new HashSet<>();
+		int total = 0;
+		for (int index = 0; index < 4; index++) {
+			final Set<String> shard = names(new ParameterGenerator<String>().shard(index, 4),
+					fixtures);
+			assertTrue("Unbalanced shard: " + shard.size(), shard.size() > all.size() / 8);
+			total += shard.size();
+			union.addAll(shard);
+		}
+
+		assertEquals(all.size(), total);
+		assertEquals(all, union);
+	}
+
+	@Test
+	public void testShards_independentOfOtherCases()
+	{
+		final Set<String> alone = names(new ParameterGenerator<String>().shard(1, 3),
+				Collections.singletonList(fixture("first", 6)));
+		final Set<String> withOthers = names(new ParameterGenerator<String>().shard(1, 3),
+				Arrays.asList(fixture("added", 4), fixture("first", 6)));
+
+		withOthers.removeIf(name -> name.startsWith("added"));
+		assertEquals(alone, withOthers);
+	}
+
+	@Test
+	public void testShards_truthTableSameAsWalk()
+	{
+		final List<CaseFixture<String>> fixtures = Collections.singletonList(fixture("first", 8));
+
+		assertEquals(names(new ParameterGenerator<String>().shard(2, 5), fixtures),
+				names(new ParameterGenerator<String>().shard(2, 5).truthTable(true), fixtures));
+	}
+
+	@Test
+	public void testSystemProperties()
+	{
+		final int all = new ParameterGenerator<String>().genVarData(WORKER_EXEMPT).size();
+		System.setProperty(ScenarioShard.INDEX_PROPERTY, "1");
+		System.setProperty(ScenarioShard.COUNT_PROPERTY, "2");
+		try {
+			assertEquals("1/2", ScenarioShard.fromSystemProperties().toString());
+			final int second = ParameterGenerator.<String>fromSystemProperties()
+					.genVarData(WORKER_EXEMPT).size();
+			assertEquals(all, new ParameterGenerator<String>().genVarData(WORKER_EXEMPT).size());
+			final int first = new ParameterGenerator<String>().shard(0, 2)
+					.genVarData(WORKER_EXEMPT).size();
+			assertEquals(all, first + second);
+		} finally {
+			System.clearProperty(ScenarioShard.INDEX_PROPERTY);
+			System.clearProperty(ScenarioShard.COUNT_PROPERTY);
+		}
+		assertNull(ScenarioShard.fromSystemProperties());
+	}
+
+	@Test
+	public void testAssign_stable()
+	{
+		assertEquals(ScenarioShard.assign("case", Arrays.asList("a", 1), 16),
+				ScenarioShard.assign("case", Arrays.asList("a", "1"), 16));
+		assertTrue(new ScenarioShard(0, 1).owns("case", Arrays.asList("a", "b")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidShard()
+	{
+		new ScenarioShard(2, 2);
+	}
+}
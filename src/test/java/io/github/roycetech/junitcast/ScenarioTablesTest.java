@@ -0,0 +1,82 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScenarioTablesTest {
+
+	private static final String RESOURCE = "io.github.roycetech.junitcast.example.WorkerWithExemptTest";
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testWriteTable_sameAsGenerated()
+	{
+		final Path output = this.folder.getRoot().toPath();
+		final Path table = ScenarioTables.writeTable(RESOURCE, output, false);
+
+		assertEquals(output.resolve(ScenarioTables.DIRECTORY), table.getParent());
+		final List<String> expected = new ParameterGenerator<>().genVarData(RESOURCE).stream()
+				.map(paramArr -> paramArr[0].toString()).collect(Collectors.toList());
+		final List<String> actual = FixtureCache
+				.forResource(output.resolve(ScenarioTables.DIRECTORY), RESOURCE, "generated").read()
+				.stream().map(Object::toString).collect(Collectors.toList());
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testWriteTable_replacesOtherTables() throws IOException
+	{
+		final Path output = this.folder.getRoot().toPath();
+		final Path stale = output.resolve(ScenarioTables.DIRECTORY).resolve(RESOURCE + "-00.bin");
+		Files.createDirectories(stale.getParent());
+		Files.write(stale, new byte[] { 1 });
+
+		final Path table = ScenarioTables.writeTable(RESOURCE, output, true);
+		final long written = Files.getLastModifiedTime(table).toMillis();
+
+		assertFalse(Files.exists(stale));
+		assertEquals(table, ScenarioTables.writeTable(RESOURCE, output, true));
+		assertEquals(written, Files.getLastModifiedTime(table).toMillis());
+	}
+
+	@Test(expected = JUnitCastException.class)
+	public void testWriteTable_missingResource()
+	{
+		ScenarioTables.writeTable("no.such.Resource", this.folder.getRoot().toPath(), false);
+	}
+
+	@Test
+	public void testWriteSource() throws IOException
+	{
+		final Path source = ScenarioTables.writeSource(RESOURCE, this.folder.getRoot().toPath(),
+				true);
+		final String content = new String(Files.readAllBytes(source), StandardCharsets.UTF_8);
+
+		assertTrue(source.endsWith(
+				"io/github/roycetech/junitcast/example/WorkerWithExemptTestScenarios.java"));
+		assertTrue(content, content.startsWith("package io.github.roycetech.junitcast.example;"));
+		assertTrue(content, content.contains("public final class WorkerWithExemptTestScenarios {"));
+		assertTrue(content, content.contains(
+				"io.github.roycetech.junitcast.ParameterGenerator<Object>().sorted(true).genTableData(RESOURCE);"));
+	}
+
+	@Test(expected = JUnitCastException.class)
+	public void testGenTableData_noTable()
+	{
+		new ParameterGenerator<>().genTableData(RESOURCE);
+	}
+}
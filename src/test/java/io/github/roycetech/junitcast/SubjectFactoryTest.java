@@ -0,0 +1,142 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.github.roycetech.ruleengine.utils.StringUtil;
+
+public class SubjectFactoryTest {
+
+	public static class Subject {
+		private final String kind;
+
+		private Subject() {
+			this.kind = "none";
+		}
+
+		public Subject(final int value) {
+			this.kind = "int " + value;
+		}
+
+		public Subject(final Object value) {
+			this.kind = "object " + value;
+		}
+
+		public Subject(final CharSequence value) {
+			this.kind = "chars " + value;
+		}
+
+		public Subject(final String value, final long count) {
+			this.kind = "string long " + value + count;
+		}
+	}
+
+	public static class Widening {
+		private final String kind;
+
+		public Widening(final long value) {
+			this.kind = "long " + value;
+		}
+
+		public Widening(final double value) {
+			this.kind = "double " + value;
+		}
+	}
+
+	public static class Ambiguous {
+		public Ambiguous(final String first, final Object second) {}
+
+		public Ambiguous(final Object first, final String second) {}
+	}
+
+	@Test
+	public void testOf_sharedPerClass()
+	{
+		assertSame(SubjectFactory.of(Subject.class), SubjectFactory.of(Subject.class));
+	}
+
+	@Test
+	public void testNewInstance_noParametersUsesPrivateConstructor()
+	{
+		assertTrue(SubjectFactory.of(StringUtil.class).newInstance(null) instanceof StringUtil);
+		assertEquals("none", ((Subject) SubjectFactory.of(Subject.class).newInstance(null)).kind);
+		assertEquals("none", ((Subject) SubjectFactory.of(Subject.class)
+				.newInstance(Collections.emptyList())).kind);
+	}
+
+	@Test
+	public void testNewInstance_boxedToPrimitive()
+	{
+		assertEquals("int 3", ((Subject) SubjectFactory.of(Subject.class)
+				.newInstance(Arrays.asList(3))).kind);
+		assertEquals("string long x4", ((Subject) SubjectFactory.of(Subject.class)
+				.newInstance(Arrays.asList("x", 4L))).kind);
+	}
+
+	@Test
+	public void testNewInstance_unboxedThenWidened()
+	{
+		assertEquals("string long x5", ((Subject) SubjectFactory.of(Subject.class)
+				.newInstance(Arrays.asList("x", 5))).kind);
+		assertEquals("long 6", ((Widening) SubjectFactory.of(Widening.class)
+				.newInstance(Arrays.asList(6))).kind);
+		assertEquals("long 7", ((Widening) SubjectFactory.of(Widening.class)
+				.newInstance(Arrays.asList((byte) 7))).kind);
+		assertEquals("long 97", ((Widening) SubjectFactory.of(Widening.class)
+				.newInstance(Arrays.asList('a'))).kind);
+		assertEquals("double 1.5", ((Widening) SubjectFactory.of(Widening.class)
+				.newInstance(Arrays.asList(1.5f))).kind);
+	}
+
+	@Test
+	public void testNewInstance_mostSpecific()
+	{
+		assertEquals("chars a", ((Subject) SubjectFactory.of(Subject.class)
+				.newInstance(Arrays.asList("a"))).kind);
+		assertEquals("object 2.5", ((Subject) SubjectFactory.of(Subject.class)
+				.newInstance(Arrays.asList(2.5))).kind);
+	}
+
+	@Test
+	public void testNewInstance_nullSkipsPrimitive()
+	{
+		assertEquals("chars null", ((Subject) SubjectFactory.of(Subject.class)
+				.newInstance(Arrays.asList((Object) null))).kind);
+	}
+
+	@Test(expected = JUnitCastException.class)
+	public void testNewInstance_noMatch()
+	{
+		SubjectFactory.of(Subject.class).newInstance(Arrays.asList("x", "y"));
+	}
+
+	@Test(expected = JUnitCastException.class)
+	public void testNewInstance_ambiguous()
+	{
+		SubjectFactory.of(Ambiguous.class).newInstance(Arrays.asList("a", "b"));
+	}
+
+	@Test
+	public void testFindConstructor_resolvedOncePerSignature()
+	{
+		final SubjectFactory sut = SubjectFactory.of(Subject.class);
+
+		assertSame(sut.findConstructor(Arrays.asList("a")), sut.findConstructor(Arrays.asList("b")));
+	}
+
+	@Test
+	public void testFindConstructor_primitiveSignature()
+	{
+		assertArrayEquals(new Class<?>[] { String.class, long.class }, SubjectFactory
+				.of(Subject.class).findConstructor(Arrays.asList("x", 1L)).getParameterTypes());
+		assertNull(SubjectFactory.of(Subject.class).findConstructor(Arrays.asList(1, 2)));
+	}
+}
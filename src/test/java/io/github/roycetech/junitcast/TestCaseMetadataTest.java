@@ -0,0 +1,39 @@
+package io.github.roycetech.junitcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.github.roycetech.ruleengine.utils.StringUtil;
+
+import io.github.roycetech.junitcast.util.StringUtilTest;
+
+public class TestCaseMetadataTest {
+
+	@Test
+	public void testOf_resolvedOncePerClass()
+	{
+		assertSame(TestCaseMetadata.of(StringUtilTest.class),
+				TestCaseMetadata.of(StringUtilTest.class));
+	}
+
+	@Test
+	public void testOf_subjectTypeAndVariableEnum()
+	{
+		final TestCaseMetadata sut = TestCaseMetadata.of(StringUtilTest.class);
+
+		assertEquals(StringUtil.class, sut.getSubjectType());
+		assertEquals("Variable", sut.getVariableEnum().getSimpleName());
+	}
+
+	@Test
+	public void testOf_notATestCase()
+	{
+		final TestCaseMetadata sut = TestCaseMetadata.of(String.class);
+
+		assertNull(sut.getSubjectType());
+		assertNull(sut.getVariableEnum());
+	}
+}
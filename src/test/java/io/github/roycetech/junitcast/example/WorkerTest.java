@@ -22,15 +22,20 @@ import org.junit.runners.Parameterized.Parameters;
 import org.mockito.Mockito;
 
 import io.github.roycetech.junitcast.AbstractTestCase;
+import io.github.roycetech.junitcast.CastTokens;
 import io.github.roycetech.junitcast.MockitoHelper;
 import io.github.roycetech.junitcast.Parameter;
 import io.github.roycetech.junitcast.ParameterGenerator;
+import io.github.roycetech.junitcast.example.WorkerTestTokens.Outcome;
+import io.github.roycetech.junitcast.example.WorkerTestTokens.Variable;
 
 /**
- * Test class for Worker.
+ * Test class for Worker. The Variable and Outcome enums are generated from
+ * WorkerTest.properties.
  *
  * @author Royce Remulla
  */
+@CastTokens
 public class WorkerTest extends AbstractTestCase<Worker, String> {
 
 	/**
@@ -47,29 +52,6 @@ public class WorkerTest extends AbstractTestCase<Worker, String> {
 		new MockitoHelper().setupTargetObject(this, constructorParams);
 	}
 
-	/** */
-	enum Variable {
-		/** */
-		Is_Holiday, Regular_Day, Sunday, Monday, Tuesday, Wednesday, Thursday,
-		/** */
-		Friday, Saturday
-	}
-
-	/** Outputs. */
-	enum Result {
-
-		/** */
-		Rest,
-		/** */
-		Go_to_work;
-
-		/** */
-		public String value()
-		{
-			return super.name().replaceAll("_", " ");
-		}
-	}
-
 	/**
 	 * <pre>
 	 * Test data generator.
@@ -91,8 +73,7 @@ public class WorkerTest extends AbstractTestCase<Worker, String> {
 	{
 		for (final String scenarioToken : getParameter().getScenario()) {
 
-			final Variable variable = Variable.valueOf(scenarioToken
-				.replaceAll(" ", "_"));
+			final Variable variable = WorkerTestTokens.variable(scenarioToken);
 
 			switch (variable) {
 				case Is_Holiday:
@@ -119,9 +100,9 @@ public class WorkerTest extends AbstractTestCase<Worker, String> {
 	protected void execute()
 	{
 		if (getMockSubject().hasWork(null)) {
-			setResult(Result.Go_to_work.value());
+			setResult(Outcome.Go_to_work.value());
 		} else {
-			setResult(Result.Rest.value());
+			setResult(Outcome.Rest.value());
 		}
 	}
 
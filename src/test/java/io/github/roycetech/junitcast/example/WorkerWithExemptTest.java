@@ -6,7 +6,7 @@ import java.util.List;
 import org.junit.runners.Parameterized.Parameters;
 import org.mockito.Mockito;
 
-import io.github.roycetech.junitcast.AbstractTestCase;
+import io.github.roycetech.junitcast.IncrementalTestCase;
 import io.github.roycetech.junitcast.MockitoHelper;
 import io.github.roycetech.junitcast.Parameter;
 import io.github.roycetech.junitcast.ParameterGenerator;
@@ -16,7 +16,7 @@ import io.github.roycetech.junitcast.ParameterGenerator;
  *
  * @author Royce Remulla
  */
-public class WorkerWithExemptTest extends AbstractTestCase<Worker, String> {
+public class WorkerWithExemptTest extends IncrementalTestCase<Worker, String> {
 
 	/**
 	 * @param pParameter Data Transfer Object Parameter in Parameterized test.
@@ -68,7 +68,7 @@ public class WorkerWithExemptTest extends AbstractTestCase<Worker, String> {
 	{
 		final String currentClassName = new Object() {
 		}.getClass().getEnclosingClass().getName();
-		return new ParameterGenerator<String>().genVarData(currentClassName);
+		return ParameterGenerator.<String>fromSystemProperties().genVarData(currentClassName);
 	}
 
 	/** {@inheritDoc} */
@@ -0,0 +1,49 @@
+package io.github.roycetech.junitcast.initializer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.PropertyResourceBundle;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.github.roycetech.junitcast.ResourceFixture;
+import io.github.roycetech.junitcast.ResourceFixtureException;
+
+public class CasesInitializerDuplicateTest {
+
+	private static ResourceFixture fixture(final String properties) throws IOException
+	{
+		final ResourceFixture retval = Mockito.spy(new ResourceFixture(null));
+		Mockito.doReturn(new PropertyResourceBundle(new StringReader(properties))).when(retval)
+				.getResourceBundle();
+		return retval;
+	}
+
+	@Test
+	public void testInitialize_distinctCases() throws IOException
+	{
+		final ResourceFixture fixture = fixture("casedesc0=one\ncasedesc1=two\ncasedesc3=three");
+
+		new CasesInitializer(fixture).initialize();
+
+		assertEquals(2, fixture.getCaseList().size());
+	}
+
+	@Test
+	public void testInitialize_duplicateCase() throws IOException
+	{
+		final ResourceFixture fixture = fixture("casedesc0=one\ncasedesc1=two\ncasedesc2= one");
+
+		try {
+			new CasesInitializer(fixture).initialize();
+			fail("Expected a duplicate case description");
+		} catch (final ResourceFixtureException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("casedesc2"));
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package io.github.roycetech.junitcast.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TokenProcessorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static final String SOURCE = "package sample;\n"
+			+ "@io.github.roycetech.junitcast.CastTokens\n"
+			+ "public class SampleTest {}\n";
+
+	private final ByteArrayOutputStream messages = new ByteArrayOutputStream();
+
+	private String compile(final String properties, final StringWriter diagnostics)
+			throws IOException
+	{
+		final Path sources = this.folder.newFolder("src", "sample").toPath();
+		Files.write(sources.resolve("SampleTest.properties"),
+				properties.getBytes(StandardCharsets.UTF_8));
+		return compile(sources, diagnostics);
+	}
+
+	private String compile(final Path sources, final StringWriter diagnostics,
+			final String... extraSources) throws IOException
+	{
+		Files.write(sources.resolve("SampleTest.java"), SOURCE.getBytes(StandardCharsets.UTF_8));
+		final Path generated = this.folder.newFolder("generated").toPath();
+
+		final List<String> arguments = new ArrayList<>(Arrays.asList("-proc:only", "-processor",
+				TokenProcessor.class.getName(), "-classpath", System.getProperty("java.class.path"),
+				"-sourcepath", sources.getParent().toString(), "-s", generated.toString(),
+				sources.resolve("SampleTest.java").toString()));
+		for (final String extraSource : extraSources) {
+			arguments.add(sources.resolve(extraSource).toString());
+		}
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final int status = compiler.run(null, null, this.messages,
+				arguments.toArray(new String[0]));
+		diagnostics.write(String.valueOf(status));
+
+		final Path output = generated.resolve("sample/SampleTestTokens.java");
+		return Files.exists(output) ? new String(Files.readAllBytes(output), StandardCharsets.UTF_8)
+				: null;
+	}
+
+	@Test
+	public void testProcess_generatesEnumsAndSwitch() throws IOException
+	{
+		final StringWriter status = new StringWriter();
+		final String generated = compile("casedesc0=Sample\n"
+				+ "var0=Is Holiday, -4 | true, 4\n"
+				+ "rule0=Go to work:Is Holiday&!true[1]~-2.0:-4|4\n"
+				+ "pair0=Go to work:Rest\n", status);
+
+		assertEquals("0", status.toString());
+		assertTrue(generated, generated.contains("Is_Holiday(\"Is Holiday\"),"));
+		assertTrue(generated, generated.contains("minus4(\"-4\"),"));
+		assertTrue(generated, generated.contains("true_(\"true\"),"));
+		assertTrue(generated, generated.contains("_4(\"4\");"));
+		assertTrue(generated, generated.contains("Go_to_work(\"Go to work\"),"));
+		assertTrue(generated, generated.contains("minus2_0(\"-2.0\"),"));
+		assertTrue(generated, generated.contains("Rest(\"Rest\");"));
+		assertTrue(generated, generated.contains("case \"Is Holiday\":"));
+	}
+
+	@Test
+	public void testProcess_misspelledTokenFails() throws IOException
+	{
+		final StringWriter status = new StringWriter();
+		final String generated = compile("casedesc0=Sample\n"
+				+ "var0=Is Holiday, Regular Day | Sunday, Monday\n"
+				+ "rule0=Rest:Is Holiday|Sundy~Go to work:Regular Day&Monday\n", status);
+
+		assertFalse("0".equals(status.toString()));
+		assertEquals(null, generated);
+	}
+
+	@Test
+	public void testProcess_wrongGroupFails() throws IOException
+	{
+		final StringWriter status = new StringWriter();
+		compile("casedesc0=Sample\n"
+				+ "var0=rock, paper | rock, paper\n"
+				+ "rule0=draw:rock[0]&rock[2]\n", status);
+
+		assertFalse("0".equals(status.toString()));
+	}
+
+	@Test
+	public void testProcess_resourceNotFound() throws IOException
+	{
+		final StringWriter status = new StringWriter();
+		final String generated = compile(this.folder.newFolder("src", "sample").toPath(), status);
+
+		assertFalse("0".equals(status.toString()));
+		assertEquals(null, generated);
+		assertTrue(this.messages.toString(),
+				this.messages.toString().contains("Resource not found: sample/SampleTest.properties"));
+	}
+
+	@Test
+	public void testProcess_unreadableLocationIsSkipped() throws IOException
+	{
+		final Path sources = this.folder.newFolder("src", "sample").toPath();
+		Files.createDirectory(sources.resolve("SampleTest.properties"));
+
+		final StringWriter status = new StringWriter();
+		compile(sources, status);
+
+		assertFalse("0".equals(status.toString()));
+		assertTrue(this.messages.toString(),
+				this.messages.toString().contains("Resource not found: sample/SampleTest.properties"));
+	}
+
+	@Test
+	public void testProcess_writeFailure() throws IOException
+	{
+		final Path sources = this.folder.newFolder("src", "sample").toPath();
+		Files.write(sources.resolve("SampleTest.properties"),
+				"casedesc0=Sample\nvar0=a, b\nrule0=one:a\npair0=one:two\n"
+						.getBytes(StandardCharsets.UTF_8));
+		Files.write(sources.resolve("SampleTestTokens.java"),
+				"package sample;\npublic class SampleTestTokens {}\n"
+						.getBytes(StandardCharsets.UTF_8));
+
+		final StringWriter status = new StringWriter();
+		compile(sources, status, "SampleTestTokens.java");
+
+		assertFalse("0".equals(status.toString()));
+		assertTrue(this.messages.toString(),
+				this.messages.toString().contains("Failed to write sample.SampleTestTokens"));
+	}
+
+	@Test
+	public void testTokenResource_reportsMalformedCases()
+	{
+		final Properties properties = new Properties();
+		properties.setProperty("casedesc0", "Sample");
+		properties.setProperty("var0", "Is Holiday, Is_Holiday");
+		properties.setProperty("casedesc1", "Other");
+		properties.setProperty("var1", "x, y");
+		properties.setProperty("rule1", "~one:x~two");
+
+		assertEquals(Arrays.asList(
+				"Tokens 'Is Holiday' and 'Is_Holiday' share the constant Is_Holiday in sample",
+				"Missing rule0 in sample", "Missing outcome in rule1 of sample: two"),
+				new TokenResource("sample", properties).getErrors());
+	}
+
+	@Test
+	public void testTokenResource_noVariables()
+	{
+		assertEquals(Arrays.asList("No case variables found in sample"),
+				new TokenResource("sample", new Properties()).getErrors());
+	}
+
+	@Test
+	public void testLiteral()
+	{
+		assertEquals("\"say \\\"hi\\\" \\\\ bye\"", TokenResource.literal("say \"hi\" \\ bye"));
+	}
+
+	@Test
+	public void testConstantName()
+	{
+		assertEquals(Arrays.asList("Go_to_work", "minus4", "_4", "true_", "arg1__2"),
+				Arrays.asList(TokenResource.constantName("Go to work"),
+						TokenResource.constantName("-4"), TokenResource.constantName("4"),
+						TokenResource.constantName("true"), TokenResource.constantName("arg1=-2")));
+	}
+}
@@ -0,0 +1,103 @@
+package io.github.roycetech.junitcast.rule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.github.roycetech.ruleengine.Rule;
+import com.github.roycetech.ruleengine.RuleProcessor;
+import com.github.roycetech.ruleengine.converter.ElementConverter;
+import com.github.roycetech.ruleengine.converter.IntegerConverter;
+import com.google.common.collect.Lists;
+
+import io.github.roycetech.junitcast.CaseFixture;
+import io.github.roycetech.junitcast.ResourceFixture;
+import io.github.roycetech.junitcast.util.RuleUtil;
+
+public class CompiledRuleTest {
+
+	private static final String[] EXAMPLES = { "LogicCheckerTest", "MultiTypeTest",
+			"PositivityTest", "PositivityUsingFixedAndPairingTest", "PositivityUsingPairingTest",
+			"PrimeNumberTest", "RockPaperScissorsTest", "SimpleDividerTest",
+			"SimpleDividerTypedTest", "ThreeLogicCheckerTest", "WorkerFixedTest", "WorkerTest",
+			"WorkerWithExemptTest" };
+
+	@Test
+	public void testEvaluate_sameAsRuleEngineOnExamples()
+	{
+		int scenarios = 0; // NOPMD: counter.
+		for (final String example : EXAMPLES) {
+			for (final Object fixture : new ResourceFixture(
+					"io.github.roycetech.junitcast.example." + example).getFixtures()) {
+				final CaseFixture<?> caseFixture = (CaseFixture<?>) fixture;
+				for (final List<?> scenario : Lists.cartesianProduct(caseFixture.getVariables())) {
+					assertSameAsRuleEngine(example, caseFixture.getRule(),
+							caseFixture.getCompiledRule(), caseFixture.getRuleConverter(),
+							scenario);
+					scenarios++;
+				}
+			}
+		}
+		assertTrue(scenarios > 0);
+	}
+
+	@Test
+	public void testEvaluate_sameAsRuleEngineOnTypedScenarios()
+	{
+		final Map<String, ElementConverter> converters = new HashMap<>();
+		converters.put("2", new IntegerConverter());
+		final String definition = "one:1 & !x~two:2[1]|y\tz~three:1[0]|3.0~four:2&!1";
+
+		final List<List<Object>> scenarios = Arrays.asList(Arrays.asList(1, 2),
+				Arrays.asList("1", 2), Arrays.asList(2, "y\tz"), Arrays.asList(3.0, "x"),
+				Arrays.asList(1L, "2"), Arrays.asList(null, 2), Arrays.asList('1', 3));
+		for (final Map<String, ElementConverter> conv : Arrays.asList(null, converters)) {
+			final Map<String, Object> ruleDefinition = RuleUtil.parseRuleDefinition(definition);
+			for (final List<Object> scenario : scenarios) {
+				assertSameAsRuleEngine(definition, new Rule(ruleDefinition),
+						RuleCompiler.compile(ruleDefinition, conv), conv, scenario);
+			}
+		}
+	}
+
+	@Test
+	public void testMask_sameAsTest()
+	{
+		final CompiledRule sut = RuleCompiler
+				.compile(RuleUtil.parseRuleDefinition("one:1 & !2[1]~two:x|2"), null);
+		final TruthTable table = new TruthTable(
+				Arrays.asList(Arrays.asList(1, "1", 'x'), Arrays.asList(2, "2", 1)));
+
+		for (int clause = 0; clause < sut.getOutcomes().size(); clause++) {
+			final List<Boolean> masked = new ArrayList<>();
+			final List<Boolean> tested = new ArrayList<>();
+			for (int i = 0; i < table.size(); i++) {
+				masked.add(sut.getClause(clause).mask(table).get(i));
+				tested.add(sut.getClause(clause).test(table.scenario(i)));
+			}
+			assertEquals(tested, masked);
+		}
+	}
+
+	private static void assertSameAsRuleEngine(final String source, final Rule rule,
+			final CompiledRule compiled, final Map<String, ElementConverter> converters,
+			final List<?> scenario)
+	{
+		@SuppressWarnings("unchecked")
+		final List<Object> objects = (List<Object>) scenario;
+		final Boolean[] expected = new RuleProcessor(rule, converters).evaluate(objects);
+		final List<String> outcomes = new ArrayList<>(rule.getOutcomes());
+		for (int i = 0; i < expected.length; i++) {
+			final int index = compiled.getOutcomes().indexOf(outcomes.get(i));
+			assertEquals(source + ' ' + outcomes.get(i) + ' ' + scenario, expected[i],
+					compiled.getClause(index).test(scenario));
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package io.github.roycetech.junitcast.rule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.github.roycetech.ruleengine.Rule;
+
+import io.github.roycetech.junitcast.CaseFixture;
+import io.github.roycetech.junitcast.ParameterGenerator;
+import io.github.roycetech.junitcast.ResourceFixture;
+import io.github.roycetech.junitcast.util.RuleUtil;
+
+public class ExemptionPredicateTest {
+
+	@Test
+	public void testTest_countsFirstMatchingExemption()
+	{
+		final ExemptionPredicate sut = new ExemptionPredicate(
+				Arrays.asList("Friday", "Regular Day&(Friday|Tuesday)"), null);
+
+		assertTrue(sut.test(Arrays.asList("Regular Day", "Friday")));
+		assertTrue(sut.test(Arrays.asList("Regular Day", "Tuesday")));
+		assertFalse(sut.test(Arrays.asList("Is Holiday", "Tuesday")));
+
+		final Map<String, Long> expected = new LinkedHashMap<>();
+		expected.put("Friday", 1L);
+		expected.put("Regular Day&(Friday|Tuesday)", 1L);
+		assertEquals(expected, sut.getExemptedCounts());
+		assertEquals(2, sut.getExemptedCount());
+	}
+
+	@Test
+	public void testDecide_undecidedEarlierExemption()
+	{
+		final List<List<String>> groups = Arrays.asList(Arrays.asList("a", "b"),
+				Arrays.asList("x", "y"));
+		final ExemptionPredicate sut = new ExemptionPredicate(Arrays.asList("y", "a"), null);
+
+		assertEquals(Decision.UNDECIDED,
+				sut.decide(new Object[] { "a", Clause.UNSET }, groups, 2));
+		assertEquals(Decision.TRUE, sut.decide(new Object[] { "a", Clause.UNSET }, groups));
+		assertEquals(Decision.TRUE, sut.decide(new Object[] { "a", "x" }, groups, 1));
+		assertEquals(Decision.TRUE, sut.decide(new Object[] { "a", "y" }, groups, 1));
+
+		final Map<String, Long> expected = new LinkedHashMap<>();
+		expected.put("y", 1L);
+		expected.put("a", 1L);
+		assertEquals(expected, sut.getExemptedCounts());
+	}
+
+	@Test
+	public void testStreamData_exactCountsWhenPruning()
+	{
+		final List<CaseFixture<String>> fixtures = Arrays.asList(new CaseFixture<>("case",
+				Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("x", "y"),
+						Arrays.asList("1", "2", "3")),
+				new Rule(RuleUtil.parseRuleDefinition("one:a")), "one:two").exemptions(Arrays.asList("y", "a"))
+						.ruleDefinition(RuleUtil.parseRuleDefinition("one:a")));
+
+		assertEquals(3, new ParameterGenerator<String>().streamData(fixtures, true).count());
+
+		final Map<String, Long> expected = new LinkedHashMap<>();
+		expected.put("y", 6L);
+		expected.put("a", 3L);
+		assertEquals(expected, fixtures.get(0).getExemptionPredicate().getExemptedCounts());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testGetExemptionPredicate_fromResource()
+	{
+		final List<CaseFixture<String>> fixtures = (List<CaseFixture<String>>) new ResourceFixture(
+				"io.github.roycetech.junitcast.example.WorkerWithExemptTest").getFixtures();
+
+		assertEquals(10, new ParameterGenerator<String>().streamData(fixtures, true).count());
+
+		final Map<String, Long> expected = new LinkedHashMap<>();
+		expected.put("Friday", 2L);
+		expected.put("Regular Day&(Tuesday|Thursday)", 2L);
+		assertEquals(expected, fixtures.get(0).getExemptionPredicate().getExemptedCounts());
+	}
+}
@@ -0,0 +1,124 @@
+package io.github.roycetech.junitcast.rule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.github.roycetech.ruleengine.converter.ElementConverter;
+import com.github.roycetech.ruleengine.converter.IntegerConverter;
+
+import io.github.roycetech.junitcast.JUnitCastException;
+import io.github.roycetech.junitcast.util.RuleUtil;
+
+public class RuleCompilerTest {
+
+	@Test
+	public void testEvaluate_uniqueOutcome()
+	{
+		final CompiledRule sut = RuleCompiler.compile(RuleUtil.parseRuleDefinition(
+				"Rest:Is Holiday|Sunday~Go to work:Regular Day&(Monday|Tuesday)"), null);
+
+		assertEquals(0, sut.evaluate(Arrays.asList("Is Holiday", "Monday")));
+		assertEquals(1, sut.evaluate(Arrays.asList("Regular Day", "Tuesday")));
+		assertEquals(CompiledRule.NO_MATCH, sut.evaluate(Arrays.asList("Regular Day", "Friday")));
+	}
+
+	@Test
+	public void testEvaluate_ambiguous()
+	{
+		final CompiledRule sut = RuleCompiler
+				.compile(RuleUtil.parseRuleDefinition("one:a|b~two:b"), null);
+
+		assertEquals(CompiledRule.AMBIGUOUS, sut.evaluate(Arrays.asList("b")));
+		assertEquals(Arrays.asList("one", "two"), sut.matchedOutcomes(Arrays.asList("b")));
+	}
+
+	@Test
+	public void testEvaluate_precedence()
+	{
+		final CompiledRule sut = RuleCompiler
+				.compile(RuleUtil.parseRuleDefinition("yes:a | b & !c"), null);
+
+		assertEquals(0, sut.evaluate(Arrays.asList("a", "c")));
+		assertEquals(0, sut.evaluate(Arrays.asList("x", "b")));
+		assertEquals(CompiledRule.NO_MATCH, sut.evaluate(Arrays.asList("b", "c")));
+	}
+
+	@Test
+	public void testEvaluate_positionalWithConverter()
+	{
+		final Map<String, ElementConverter> converters = new HashMap<>();
+		converters.put("0", new IntegerConverter());
+		converters.put("1", new IntegerConverter());
+		final CompiledRule sut = RuleCompiler
+				.compile(RuleUtil.parseRuleDefinition("ERROR:0[1]~zero:0 [0] & !0[1]"), converters);
+
+		assertEquals(0, sut.evaluate(Arrays.asList(1, 0)));
+		assertEquals(1, sut.evaluate(Arrays.asList(0, 1)));
+		assertEquals(CompiledRule.NO_MATCH, sut.evaluate(Arrays.asList(1, 1)));
+	}
+
+	@Test
+	public void testCompile_sharesParsedRule()
+	{
+		final Map<String, ElementConverter> converters = new HashMap<>();
+		converters.put("1", new IntegerConverter());
+
+		final CompiledRule strings = RuleCompiler
+				.compile(RuleUtil.parseRuleDefinition("one:1 | (2)"), null);
+		final CompiledRule integers = RuleCompiler
+				.compile(RuleUtil.parseRuleDefinition("one: 1|(2 )"), converters);
+
+		assertSame(strings.getOutcomes(), integers.getOutcomes());
+		assertTrue(strings.getClause(0).test(Arrays.asList("1")));
+		assertFalse(integers.getClause(0).test(Arrays.asList("1")));
+		assertTrue(integers.getClause(0).test(Arrays.asList(1)));
+	}
+
+	@Test
+	public void testNormalize()
+	{
+		assertEquals(Arrays.asList(Arrays.asList("a", "x y&(b|!c)"), Arrays.asList("d", "e")),
+				RuleCompiler.normalize(RuleUtil.parseRuleDefinition("a: x y & ( b | ! c ) ~d:e")));
+	}
+
+	@Test
+	public void testNormalize_separatorInOutcome()
+	{
+		final Map<String, Object> first = new LinkedHashMap<>();
+		first.put("a:b", "c");
+		final Map<String, Object> second = new LinkedHashMap<>();
+		second.put("a", "b:c");
+
+		assertNotEquals(RuleCompiler.normalize(first), RuleCompiler.normalize(second));
+		assertEquals(Arrays.asList("a:b"), RuleCompiler.compile(first, null).getOutcomes());
+		assertEquals(Arrays.asList("a"), RuleCompiler.compile(second, null).getOutcomes());
+	}
+
+	@Test(expected = JUnitCastException.class)
+	public void testCompile_missingToken()
+	{
+		RuleCompiler.compile(RuleUtil.parseRuleDefinition("a:b&|c"), null);
+	}
+
+	@Test(expected = JUnitCastException.class)
+	public void testCompile_unbalanced()
+	{
+		RuleCompiler.compile(RuleUtil.parseRuleDefinition("a:(b|c"), null);
+	}
+
+	@Test(expected = JUnitCastException.class)
+	public void testCompile_trailingParenthesis()
+	{
+		RuleCompiler.compile(RuleUtil.parseRuleDefinition("a:b|c)"), null);
+	}
+}
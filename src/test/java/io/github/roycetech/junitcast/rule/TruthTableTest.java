@@ -0,0 +1,141 @@
+package io.github.roycetech.junitcast.rule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import io.github.roycetech.junitcast.CaseFixture;
+import io.github.roycetech.junitcast.Parameter;
+import io.github.roycetech.junitcast.ParameterGenerator;
+import io.github.roycetech.junitcast.ResourceFixture;
+import io.github.roycetech.junitcast.util.RuleUtil;
+
+public class TruthTableTest {
+
+	private static final List<List<String>> WORKER = Arrays.asList(
+			Arrays.asList("Is Holiday", "Regular Day"),
+			Arrays.asList("Monday", "Tuesday", "Friday"));
+
+	@Test
+	public void testScenario_lastGroupFastest()
+	{
+		final TruthTable sut = new TruthTable(WORKER);
+
+		assertEquals(6, sut.size());
+		assertEquals(Arrays.asList("Is Holiday", "Monday"), sut.scenario(0));
+		assertEquals(Arrays.asList("Is Holiday", "Friday"), sut.scenario(2));
+		assertEquals(Arrays.asList("Regular Day", "Tuesday"), sut.scenario(4));
+	}
+
+	@Test
+	public void testMask_sameAsScenarioTest()
+	{
+		final TruthTable sut = new TruthTable(WORKER);
+		final Clause clause = RuleCompiler.compileClause("!Is Holiday & (Monday | Friday[1])", null);
+
+		final List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < sut.size(); i++) {
+			if (clause.test(sut.scenario(i))) {
+				expected.add(i);
+			}
+		}
+
+		assertEquals(expected, clause.mask(sut).stream().boxed().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testToken_notKept()
+	{
+		final TruthTable sut = new TruthTable(WORKER);
+
+		final BitSet first = sut.token("Monday", -1);
+		assertNotSame(first, sut.token("Monday", -1));
+		assertNotSame(sut.token("Monday", 1), sut.token("Monday", 1));
+		first.clear();
+		assertEquals(Arrays.asList(0, 3), RuleCompiler.compileClause("Monday", null).mask(sut)
+				.stream().boxed().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testEvaluate_exemptionsAndAmbiguity()
+	{
+		final Map<String, Object> ruleDefinition = RuleUtil
+				.parseRuleDefinition("Work:Regular Day~Rest:Is Holiday|Friday");
+		final ExemptionPredicate exemption = new ExemptionPredicate(
+				Collections.singletonList("Monday"), null);
+
+		final TruthTable.Evaluation sut = new TruthTable(WORKER)
+				.evaluate(RuleCompiler.compile(ruleDefinition, null), exemption);
+
+		assertEquals(4, sut.validCount());
+		assertEquals(1, sut.invalidCount());
+		assertFalse(sut.isUnique(5));
+		assertTrue(sut.isUnique(4));
+		assertEquals(0, sut.outcome(4));
+		assertEquals(1, sut.outcome(2));
+		assertEquals(2, exemption.getExemptedCount());
+	}
+
+	@Test
+	public void testFits()
+	{
+		final List<List<String>> variables = new ArrayList<>();
+		for (int i = 0; i < 24; i++) {
+			variables.add(Arrays.asList("off", "on"));
+		}
+		assertTrue(TruthTable.fits(variables));
+
+		variables.add(Arrays.asList("off", "on"));
+		assertFalse(TruthTable.fits(variables));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testTruthTable_sameParametersAsScenarioWalk()
+	{
+		for (final String resourceUri : Arrays.asList(
+				"io.github.roycetech.junitcast.example.WorkerWithExemptTest",
+				"io.github.roycetech.junitcast.example.RockPaperScissorsTest",
+				"io.github.roycetech.junitcast.example.LogicCheckerTest",
+				"io.github.roycetech.junitcast.example.ThreeLogicCheckerTest",
+				"io.github.roycetech.junitcast.example.PositivityTest")) {
+
+			final Map<String, Long> exempted = new LinkedHashMap<>();
+			final List<String> expected = generate(resourceUri, false, exempted);
+			final Map<String, Long> actualExempted = new LinkedHashMap<>();
+			final List<String> actual = generate(resourceUri, true, actualExempted);
+
+			assertEquals(resourceUri, expected, actual);
+			assertEquals(resourceUri, exempted, actualExempted);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> generate(final String resourceUri, final boolean truthTable,
+			final Map<String, Long> exempted)
+	{
+		final List<CaseFixture<String>> fixtures = (List<CaseFixture<String>>) new ResourceFixture(
+				resourceUri).getFixtures();
+		final List<String> retval = new ParameterGenerator<String>().truthTable(truthTable)
+				.streamData(fixtures, true).map(Parameter::toString).collect(Collectors.toList());
+		for (final CaseFixture<String> fixture : fixtures) {
+			if (fixture.getExemptionPredicate() != null) {
+				fixture.getExemptionPredicate().getExemptedCounts()
+						.forEach((key, value) -> exempted.merge(key, value, Long::sum));
+			}
+		}
+		return retval;
+	}
+}